@@ -18,9 +18,11 @@ package software.amazon.smithy.linters;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceLocation;
@@ -99,6 +101,11 @@ public final class NoninclusiveTermsValidator extends AbstractValidator {
         }
     }
 
+    @Override
+    public Set<Severity> getEmittedSeverities() {
+        return EnumSet.of(Severity.WARNING);
+    }
+
     /**
      * Runs a full text scan on a given model and stores the resulting TextOccurrences objects.
      *
@@ -17,8 +17,10 @@ package software.amazon.smithy.linters;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.node.NodeMapper;
@@ -26,6 +28,7 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.shapes.UnionShape;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidatorService;
 
@@ -62,6 +65,11 @@ public final class RepeatedShapeNameValidator extends AbstractValidator {
         this.config = config;
     }
 
+    @Override
+    public Set<Severity> getEmittedSeverities() {
+        return EnumSet.of(Severity.WARNING);
+    }
+
     @Override
     public List<ValidationEvent> validate(Model model) {
         List<ValidationEvent> events = new ArrayList<>();
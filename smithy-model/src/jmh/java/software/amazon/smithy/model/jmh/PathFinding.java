@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.selector.PathFinder;
+import software.amazon.smithy.model.selector.Selector;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * Finds paths through deep, recursive structures.
+ *
+ * <p>Each structure of the model targets the next structure and every
+ * structure before it, and has a sensitive string member. Many unrelated
+ * structures also target the same string, so the string is connected to shapes
+ * that can't be reached from the starting shape.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class PathFinding {
+
+    @State(Scope.Thread)
+    public static class PathFindingState {
+        @Param({"8"})
+        public int depth;
+
+        @Param({"2000"})
+        public int unrelated;
+
+        public Model model;
+        public PathFinder pathFinder;
+        public Selector selector = Selector.parse("[trait|sensitive]");
+        public ShapeId start = ShapeId.from("smithy.example#Struct0");
+
+        @Setup
+        public void prepare() {
+            StringBuilder contents = new StringBuilder("namespace smithy.example\n\n@sensitive\nstring Secret\n");
+            for (int i = 0; i < depth; i++) {
+                contents.append("structure Struct").append(i).append(" {\n");
+                contents.append("    secret: Secret,\n");
+                for (int j = 0; j <= Math.min(i + 1, depth - 1); j++) {
+                    contents.append("    next").append(j).append(": Struct").append(j).append(",\n");
+                }
+                contents.append("}\n");
+            }
+            for (int i = 0; i < unrelated; i++) {
+                contents.append("structure Unrelated").append(i).append(" { secret: Secret }\n");
+            }
+            model = Model.assembler()
+                    .addUnparsedModel("recursive.smithy", contents.toString())
+                    .assemble()
+                    .unwrap();
+            pathFinder = PathFinder.create(model);
+        }
+    }
+
+    @Benchmark
+    public List<PathFinder.Path> searchAllPaths(PathFindingState state) {
+        return state.pathFinder.search(state.start, state.selector);
+    }
+
+    @Benchmark
+    public List<PathFinder.Path> searchShallowPaths(PathFindingState state) {
+        return state.pathFinder.withMaxDepth(6).search(state.start, state.selector);
+    }
+
+    @Benchmark
+    public PathFinder.Path findFirstPath(PathFindingState state) {
+        Iterator<PathFinder.Path> paths = state.pathFinder.iteratePaths(state.start, state.selector);
+        return paths.hasNext() ? paths.next() : null;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.ModelAssembler;
+import software.amazon.smithy.utils.IoUtils;
+
+/**
+ * Measures the heap retained by a model that is assembled from many model
+ * files.
+ *
+ * <p>Each test model is loaded as many copies that each use a different
+ * namespace, which approximates a model made of many files that repeat
+ * the same member names, node keys, and trait values. The live heap after
+ * a full GC while the model is held is reported by the {@code liveHeapBytes}
+ * secondary result, which includes a fixed baseline for the benchmark.
+ *
+ * <p>The {@code lazyTraits} parameter compares creating every trait while
+ * the model is loaded with {@link ModelAssembler#LAZY_TRAITS}, which only
+ * creates traits when they're first read.
+ */
+@Warmup(iterations = 2)
+@Measurement(iterations = 5, timeUnit = TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(1)
+public class RetainedModelSize {
+
+    @State(Scope.Thread)
+    public static class ModelState {
+        @Param({"test-model.smithy", "test-model.json", "http-model.smithy"})
+        public String modelFile;
+
+        @Param({"1000"})
+        public int copies;
+
+        @Param({"false", "true"})
+        public boolean lazyTraits;
+
+        public String contents;
+        public Model model;
+
+        @Setup
+        public void prepare() throws Exception {
+            try (InputStream in = RetainedModelSize.class.getResourceAsStream(modelFile)) {
+                contents = IoUtils.toUtf8String(in);
+            }
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class HeapCounters {
+        public long liveHeapBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            liveHeapBytes = 0;
+        }
+    }
+
+    @Benchmark
+    public void loadCopies(ModelState state, HeapCounters counters) {
+        String extension = state.modelFile.substring(state.modelFile.lastIndexOf('.'));
+        ModelAssembler assembler = Model.assembler()
+                .disableValidation()
+                .putProperty(ModelAssembler.LAZY_TRAITS, state.lazyTraits);
+        for (int i = 0; i < state.copies; i++) {
+            String copy = state.contents.replace("smithy.example", "smithy.example" + i);
+            assembler.addUnparsedModel("copy" + i + extension, copy);
+        }
+
+        // The live heap is measured while the model is held rather than
+        // comparing to the heap before loading, since the model shares
+        // values with global caches like the ShapeId cache.
+        state.model = assembler.assemble().unwrap();
+        counters.liveHeapBytes = usedHeap();
+        state.model = null;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.ModelAssembler;
+import software.amazon.smithy.model.selector.Selector;
+import software.amazon.smithy.model.selector.SelectorBatch;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.utils.IoUtils;
+
+/**
+ * Compares evaluating many selectors one at a time to evaluating them
+ * together with a {@link SelectorBatch}.
+ *
+ * <p>The selectors are similar to the linters commonly defined in model
+ * metadata using {@code EmitEachSelector}: each combination of a few
+ * traversals and filters, which makes 150 selectors.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class SelectorBatching {
+
+    private static final String[] PREFIXES = {
+            "operation -[input]-> structure > member",
+            "operation -[output]-> structure > member",
+            "structure > member",
+            "service ~> operation",
+            "list > member"
+    };
+
+    private static final String[] FILTERS = {
+            "[trait|required]",
+            "[trait|httpLabel]",
+            ":not([trait|documentation])",
+            "[trait|documentation]",
+            ":test(> string)",
+            ":test(> list)",
+            "[id|member = name]",
+            "[id|name ^= Get]",
+            "[trait|readonly]",
+            "[trait|http|method = GET]"
+    };
+
+    private static final String[] SUFFIXES = {"", " :not([trait|deprecated])", " [id|namespace ^= smithy]"};
+
+    @State(Scope.Thread)
+    public static class BatchingState {
+        @Param({"500"})
+        public int copies;
+
+        public Model model;
+        public List<Selector> selectors;
+        public SelectorBatch batch;
+
+        @Setup
+        public void prepare() throws Exception {
+            String contents;
+            try (InputStream in = SelectorBatching.class.getResourceAsStream("planner-model.smithy")) {
+                contents = IoUtils.toUtf8String(in);
+            }
+
+            ModelAssembler assembler = Model.assembler();
+            for (int i = 0; i < copies; i++) {
+                String copy = contents.replace("smithy.example", "smithy.example" + i);
+                assembler.addUnparsedModel("copy" + i + ".smithy", copy);
+            }
+            model = assembler.assemble().unwrap();
+
+            selectors = new ArrayList<>();
+            for (String prefix : PREFIXES) {
+                for (String filter : FILTERS) {
+                    for (String suffix : SUFFIXES) {
+                        selectors.add(Selector.parse(prefix + ' ' + filter + suffix));
+                    }
+                }
+            }
+            batch = SelectorBatch.of(selectors);
+        }
+    }
+
+    @Benchmark
+    public List<Set<Shape>> selectEach(BatchingState state) {
+        List<Set<Shape>> result = new ArrayList<>(state.selectors.size());
+        for (Selector selector : state.selectors) {
+            result.add(selector.select(state.model));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Set<Shape>> selectBatch(BatchingState state) {
+        return state.batch.select(state.model);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.jmh;
+
+import java.io.InputStream;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.ModelAssembler;
+import software.amazon.smithy.model.selector.Selector;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.utils.IoUtils;
+
+/**
+ * Compares planned selector evaluation to evaluating every shape.
+ *
+ * <p>The model is made of many copies of a small HTTP service that each
+ * use a different namespace. Prefixing a selector with {@code *} prevents
+ * it from being planned, since the planner only starts from indexes and
+ * reverses traversals when the selector starts with a filter.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 3, timeUnit = TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+public class SelectorPlanning {
+
+    @State(Scope.Thread)
+    public static class PlanningState {
+        @Param({
+                "[trait|http] -[input]-> structure > member [trait|httpLabel]",
+                "structure > member [trait|httpLabel]",
+                "structure <-[input]- operation [trait|readonly]",
+                "[id|namespace = smithy.example1] structure"
+        })
+        public String expression;
+
+        @Param({"500"})
+        public int copies;
+
+        public Model model;
+        public Selector planned;
+        public Selector unplanned;
+
+        @Setup
+        public void prepare() throws Exception {
+            String contents;
+            try (InputStream in = SelectorPlanning.class.getResourceAsStream("planner-model.smithy")) {
+                contents = IoUtils.toUtf8String(in);
+            }
+
+            ModelAssembler assembler = Model.assembler();
+            for (int i = 0; i < copies; i++) {
+                String copy = contents.replace("smithy.example", "smithy.example" + i);
+                assembler.addUnparsedModel("copy" + i + ".smithy", copy);
+            }
+            model = assembler.assemble().unwrap();
+            planned = Selector.parse(expression);
+            unplanned = Selector.parse("* " + expression);
+        }
+    }
+
+    @Benchmark
+    public Set<Shape> selectPlanned(PlanningState state) {
+        return state.planned.select(state.model);
+    }
+
+    @Benchmark
+    public Set<Shape> selectUnplanned(PlanningState state) {
+        return state.unplanned.select(state.model);
+    }
+}
@@ -48,6 +48,8 @@ public class Selectors {
         public Model model;
         public Selector suboptimalHttpBindingSelector = createSuboptimalHttpBindingIncompatibilitySelector();
         public Selector httpBindingSelector = createHttpBindingIncompatibilitySelector();
+        public Selector idAttributeSelector = Selector.parse(":not([id|namespace = 'smithy.api']) [id|name $= Input]");
+        public Selector traitAttributeSelector = Selector.parse("[trait|http|method = 'get' i]");
         public String testIdlModelLocation = "test-model.smithy";
         public String testJsonModelLocation = "test-model.json";
 
@@ -123,6 +125,18 @@ public class Selectors {
         return state.suboptimalHttpBindingSelector.select(state.model);
     }
 
+    // Compares shape ID attributes of every shape.
+    @Benchmark
+    public Set<Shape> evaluateIdAttributeSelector(SelectorState state) {
+        return state.idAttributeSelector.select(state.model);
+    }
+
+    // Compares a nested trait value of every shape with the trait.
+    @Benchmark
+    public Set<Shape> evaluateTraitAttributeSelector(SelectorState state) {
+        return state.traitAttributeSelector.select(state.model);
+    }
+
     // The is the hand-written alternative to evaluateHttpBindingSelector to provide
     // a baseline.
     @Benchmark
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.validation.ValidatedResult;
+
+/**
+ * Measures the cold start cost of loading the prelude.
+ *
+ * <p>Each fork runs a single invocation in a fresh JVM, so these
+ * benchmarks include class loading and interpreted execution, which is
+ * what a short-lived process like {@code smithy validate} experiences.
+ */
+@Warmup(iterations = 0)
+@Measurement(iterations = 1, timeUnit = TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(20)
+public class PreludeLoading {
+
+    @Benchmark
+    public Model loadPreludeFromSnapshot() {
+        return PreludeSnapshot.load();
+    }
+
+    @Benchmark
+    public Model parsePrelude() {
+        return Prelude.parsePrelude();
+    }
+
+    @Benchmark
+    public ValidatedResult<Model> validateTrivialModel() {
+        return Model.assembler()
+                .addUnparsedModel("trivial.smithy", "namespace smithy.example\n\nstring Foo\n")
+                .assemble();
+    }
+}
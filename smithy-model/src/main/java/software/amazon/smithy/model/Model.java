@@ -16,9 +16,11 @@
 package software.amazon.smithy.model;
 
 import java.util.AbstractSet;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -26,8 +28,12 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.knowledge.KnowledgeIndex;
@@ -66,6 +72,7 @@ import software.amazon.smithy.model.traits.TraitFactory;
 import software.amazon.smithy.model.validation.ValidatorFactory;
 import software.amazon.smithy.utils.BuilderRef;
 import software.amazon.smithy.utils.SmithyBuilder;
+import software.amazon.smithy.utils.SmithyInternalApi;
 import software.amazon.smithy.utils.ToSmithyBuilder;
 
 /**
@@ -80,14 +87,14 @@ public final class Model implements ToSmithyBuilder<Model> {
     /** The map of metadata keys to their "node" values. */
     private final Map<String, Node> metadata;
 
-    /** A map of shape ID to shapes that backs the shape map. */
-    private final Map<ShapeId, Shape> shapeMap;
+    /** A map of shape ID to shapes that shares structure with the models it's derived from. */
+    private final PersistentMap<ShapeId, Shape> shapeMap;
 
     /** A cache of shapes of a specific type. */
     private final Map<Class<? extends Shape>, Set<? extends Shape>> cachedTypes = new ConcurrentHashMap<>();
 
-    /** Cache of computed {@link KnowledgeIndex} instances. */
-    private final Map<Class<? extends KnowledgeIndex>, KnowledgeIndex> blackboard
+    /** Cache of computed or in-progress {@link KnowledgeIndex} instances. */
+    private final ConcurrentMap<Class<? extends KnowledgeIndex>, KnowledgeTask> blackboard
             = new ConcurrentSkipListMap<>(Comparator.comparing(Class::getCanonicalName));
 
     /** Lazily computed trait mappings. */
@@ -97,7 +104,7 @@ public final class Model implements ToSmithyBuilder<Model> {
     private int hash;
 
     private Model(Builder builder) {
-        shapeMap = builder.shapeMap.copy();
+        shapeMap = builder.shapeMap.build();
         metadata = builder.metadata.copy();
     }
 
@@ -840,7 +847,63 @@ public final class Model implements ToSmithyBuilder<Model> {
      */
     @SuppressWarnings("unchecked")
     public <T extends KnowledgeIndex> T getKnowledge(Class<T> type, Function<Model, T> constructor) {
-        return (T) blackboard.computeIfAbsent(type, t -> constructor.apply(this));
+        KnowledgeTask task = blackboard.get(type);
+
+        if (task == null) {
+            // Only the thread that adds a task computes the index. Other
+            // threads that need the index at the same time wait for it.
+            KnowledgeTask created = new KnowledgeTask(() -> constructor.apply(this));
+            task = blackboard.putIfAbsent(type, created);
+            if (task == null) {
+                task = created;
+                created.compute();
+            }
+        }
+
+        try {
+            return (T) task.getIndex(type);
+        } catch (RuntimeException | Error e) {
+            // Don't cache failures so that the index can be computed again. Tasks
+            // that are still being computed, like when recursion is detected, are kept.
+            if (task.isDone()) {
+                blackboard.remove(type, task);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Computes knowledge indexes in parallel ahead of time.
+     *
+     * <p>Knowledge indexes are otherwise computed the first time they're
+     * needed. Computing indexes that are known to be needed ahead of time,
+     * like before validating a model, builds them concurrently with each
+     * other rather than blocking whatever needs them first.
+     *
+     * <pre>{@code
+     * model.precomputeKnowledge(ListUtils.of(TopDownIndex::of, HttpBindingIndex::of));
+     * }</pre>
+     *
+     * @param indexes Functions used to get each index, typically the {@code of} method of the index.
+     */
+    public void precomputeKnowledge(Collection<Function<Model, ? extends KnowledgeIndex>> indexes) {
+        indexes.parallelStream().forEach(index -> index.apply(this));
+    }
+
+    /**
+     * Checks if the current thread is computing a {@link KnowledgeIndex}.
+     *
+     * <p>Work shouldn't be forked to a {@link java.util.concurrent.ForkJoinPool}
+     * while computing an index. A thread that joins forked work can run other
+     * queued tasks, and those tasks could need the index that the thread is
+     * still computing. Selectors are evaluated sequentially when this returns
+     * true.
+     *
+     * @return Returns true if the current thread is computing an index.
+     */
+    @SmithyInternalApi
+    public static boolean isComputingKnowledge() {
+        return KnowledgeTask.COMPUTING.get() != null;
     }
 
     /**
@@ -848,7 +911,7 @@ public final class Model implements ToSmithyBuilder<Model> {
      */
     public static final class Builder implements SmithyBuilder<Model> {
         private final BuilderRef<Map<String, Node>> metadata = BuilderRef.forUnorderedMap();
-        private final BuilderRef<Map<ShapeId, Shape>> shapeMap = BuilderRef.forUnorderedMap();
+        private PersistentMap.Builder<ShapeId, Shape> shapeMap = PersistentMap.<ShapeId, Shape>empty().toBuilder();
 
         private Builder() {}
 
@@ -888,10 +951,10 @@ public final class Model implements ToSmithyBuilder<Model> {
         public Builder addShape(Shape shape) {
             // Members must be added by their containing shapes.
             if (!shape.isMemberShape()) {
-                shapeMap.get().put(shape.getId(), shape);
+                shapeMap.put(shape.getId(), shape);
                 // Automatically add members of the shape.
                 for (MemberShape memberShape : shape.members()) {
-                    shapeMap.get().put(memberShape.getId(), memberShape);
+                    shapeMap.put(memberShape.getId(), memberShape);
                 }
             }
 
@@ -905,7 +968,14 @@ public final class Model implements ToSmithyBuilder<Model> {
          * @return Returns the builder.
          */
         public Builder addShapes(Model model) {
-            shapeMap.get().putAll(model.shapeMap);
+            if (shapeMap.size() == 0) {
+                // Share the shapes of the model rather than copying them.
+                shapeMap = model.shapeMap.toBuilder();
+            } else {
+                for (Map.Entry<ShapeId, Shape> entry : model.shapeMap.entrySet()) {
+                    shapeMap.put(entry.getKey(), entry.getValue());
+                }
+            }
             return this;
         }
 
@@ -946,13 +1016,13 @@ public final class Model implements ToSmithyBuilder<Model> {
          * @return Returns the builder.
          */
         public Builder removeShape(ShapeId shapeId) {
-            if (shapeMap.hasValue() && shapeMap.peek().containsKey(shapeId)) {
-                Shape previous = shapeMap.peek().get(shapeId);
-                shapeMap.get().remove(shapeId);
+            Shape previous = shapeMap.get(shapeId);
+            if (previous != null) {
+                shapeMap.remove(shapeId);
 
                 // Automatically remove any members contained in the shape.
                 for (MemberShape memberShape : previous.members()) {
-                    shapeMap.get().remove(memberShape.getId());
+                    shapeMap.remove(memberShape.getId());
                 }
             }
 
@@ -965,6 +1035,67 @@ public final class Model implements ToSmithyBuilder<Model> {
         }
     }
 
+    // Computes a knowledge index once, even when it's requested by multiple threads at the same time.
+    private static final class KnowledgeTask extends FutureTask<KnowledgeIndex> {
+        // The tasks being computed by each thread, innermost first. Work isn't
+        // forked while computing an index (see isComputingKnowledge), so a thread
+        // only runs code that needs a task in its own stack when an index needs
+        // itself, and it never runs unrelated tasks stolen from a pool.
+        private static final ThreadLocal<Deque<KnowledgeTask>> COMPUTING = new ThreadLocal<>();
+
+        KnowledgeTask(Callable<KnowledgeIndex> callable) {
+            super(callable);
+        }
+
+        void compute() {
+            Deque<KnowledgeTask> computing = COMPUTING.get();
+            if (computing == null) {
+                computing = new ArrayDeque<>();
+                COMPUTING.set(computing);
+            }
+            computing.push(this);
+            try {
+                run();
+            } finally {
+                computing.pop();
+                if (computing.isEmpty()) {
+                    COMPUTING.remove();
+                }
+            }
+        }
+
+        KnowledgeIndex getIndex(Class<?> type) {
+            Deque<KnowledgeTask> computing = COMPUTING.get();
+            if (!isDone() && computing != null && computing.contains(this)) {
+                throw new IllegalStateException("Recursive computation of KnowledgeIndex " + type.getName());
+            }
+
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        return get();
+                    } catch (InterruptedException e) {
+                        // Wait for the index like other threads that need it, but preserve the interrupt.
+                        interrupted = true;
+                    } catch (ExecutionException e) {
+                        Throwable cause = e.getCause();
+                        if (cause instanceof RuntimeException) {
+                            throw (RuntimeException) cause;
+                        } else if (cause instanceof Error) {
+                            throw (Error) cause;
+                        }
+                        throw new RuntimeException(cause);
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
     private static final class TraitCache {
         private final Map<ShapeId, Set<Shape>> traitIdsToShapes = new HashMap<>();
         private final Map<Class<? extends Trait>, Set<Shape>> traitsToShapes = new HashMap<>();
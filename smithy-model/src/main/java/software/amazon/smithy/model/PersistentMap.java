@@ -0,0 +1,547 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * An immutable hash array mapped trie that shares structure with the maps
+ * it's derived from.
+ *
+ * <p>Maps are created and updated using a {@link Builder}. A builder
+ * updates the nodes it created in place and copies the path to any other
+ * node it updates, so creating a builder from a map, changing a few
+ * entries, and building a new map only copies the nodes that changed.
+ * Nodes are never updated after they're part of a built map.
+ *
+ * <p>Null keys and values are not supported.
+ *
+ * @param <K> Type of key.
+ * @param <V> Type of value.
+ */
+final class PersistentMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS = 6;
+    private static final int MASK = (1 << BITS) - 1;
+
+    // Enough for a bitmap node at each level of a 32-bit hash plus a collision node.
+    private static final int MAX_DEPTH = 8;
+
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(BitmapNode.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+    private Set<Entry<K, V>> entrySet;
+    private Set<K> keySet;
+    private Collection<V> values;
+
+    private PersistentMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Gets an empty map.
+     *
+     * @param <K> Type of key.
+     * @param <V> Type of value.
+     * @return Returns the empty map.
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Creates a builder that starts with the entries of this map.
+     *
+     * <p>This doesn't copy the map.
+     *
+     * @return Returns the created builder.
+     */
+    Builder<K, V> toBuilder() {
+        return new Builder<>(this);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        return key == null ? null : (V) root.find(0, hash(key), key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> result = entrySet;
+        if (result == null) {
+            entrySet = result = new AbstractSet<Entry<K, V>>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new TrieIterator<K, V, Entry<K, V>>(root, SimpleImmutableEntry::new);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    if (!(o instanceof Entry)) {
+                        return false;
+                    }
+                    Entry<?, ?> entry = (Entry<?, ?>) o;
+                    V value = get(entry.getKey());
+                    return value != null && value.equals(entry.getValue());
+                }
+            };
+        }
+        return result;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> result = keySet;
+        if (result == null) {
+            keySet = result = new AbstractSet<K>() {
+                @Override
+                public Iterator<K> iterator() {
+                    return new TrieIterator<K, V, K>(root, (key, value) -> key);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    return containsKey(o);
+                }
+            };
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<V> values() {
+        Collection<V> result = values;
+        if (result == null) {
+            values = result = new AbstractCollection<V>() {
+                @Override
+                public Iterator<V> iterator() {
+                    return new TrieIterator<K, V, V>(root, (key, value) -> value);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        // Maps derived from each other without changes share the same root.
+        if (other instanceof PersistentMap && ((PersistentMap<?, ?>) other).root == root) {
+            return true;
+        }
+        return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static long bitpos(int hash, int shift) {
+        return 1L << ((hash >>> shift) & MASK);
+    }
+
+    private static boolean keyEquals(Object a, Object b) {
+        return a == b || a.equals(b);
+    }
+
+    /**
+     * Builds a {@link PersistentMap}.
+     *
+     * @param <K> Type of key.
+     * @param <V> Type of value.
+     */
+    static final class Builder<K, V> {
+        private Node root;
+        private int size;
+        private Edit edit = new Edit();
+        private PersistentMap<K, V> built;
+
+        private Builder(PersistentMap<K, V> map) {
+            root = map.root;
+            size = map.size;
+            built = map;
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(Object key) {
+            return key == null ? null : (V) root.find(0, hash(key), key);
+        }
+
+        int size() {
+            return size;
+        }
+
+        void put(K key, V value) {
+            Objects.requireNonNull(key);
+            Objects.requireNonNull(value);
+            edit.sizeChange = 0;
+            Node result = root.put(edit, 0, hash(key), key, value);
+            if (result != root || edit.sizeChange != 0) {
+                root = result;
+                size += edit.sizeChange;
+                built = null;
+            }
+        }
+
+        void remove(Object key) {
+            if (key != null) {
+                edit.sizeChange = 0;
+                Node result = root.remove(edit, 0, hash(key), key);
+                if (edit.sizeChange != 0) {
+                    root = result == null ? BitmapNode.EMPTY : result;
+                    size += edit.sizeChange;
+                    built = null;
+                }
+            }
+        }
+
+        void clear() {
+            root = BitmapNode.EMPTY;
+            size = 0;
+            built = null;
+        }
+
+        PersistentMap<K, V> build() {
+            if (built == null) {
+                built = new PersistentMap<>(root, size);
+                // Nodes that are part of a built map must not be changed, so
+                // further changes start a new edit that copies them.
+                edit = new Edit();
+            }
+            return built;
+        }
+    }
+
+    // Identifies the nodes that a builder can update in place, and tracks
+    // the change in size of the most recent update.
+    private static final class Edit {
+        int sizeChange;
+    }
+
+    private abstract static class Node {
+        final Edit edit;
+
+        // Pairs of keys and values. A null key means the value is a child node.
+        Object[] array;
+
+        Node(Edit edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node put(Edit edit, int shift, int hash, Object key, Object value);
+
+        // Returns null if the node is empty after removing the key.
+        abstract Node remove(Edit edit, int shift, int hash, Object key);
+    }
+
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+        long bitmap;
+
+        BitmapNode(Edit edit, long bitmap, Object[] array) {
+            super(edit, array);
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            long bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int index = index(bit) * 2;
+            Object k = array[index];
+            Object v = array[index + 1];
+            if (k == null) {
+                return ((Node) v).find(shift + BITS, hash, key);
+            }
+            return keyEquals(key, k) ? v : null;
+        }
+
+        @Override
+        Node put(Edit edit, int shift, int hash, Object key, Object value) {
+            long bit = bitpos(hash, shift);
+            int index = index(bit) * 2;
+
+            if ((bitmap & bit) == 0) {
+                int count = Long.bitCount(bitmap) * 2;
+                Object[] newArray = new Object[count + 2];
+                System.arraycopy(array, 0, newArray, 0, index);
+                newArray[index] = key;
+                newArray[index + 1] = value;
+                System.arraycopy(array, index, newArray, index + 2, count - index);
+                edit.sizeChange = 1;
+                if (this.edit == edit) {
+                    bitmap |= bit;
+                    array = newArray;
+                    return this;
+                }
+                return new BitmapNode(edit, bitmap | bit, newArray);
+            }
+
+            Object k = array[index];
+            Object v = array[index + 1];
+            if (k == null) {
+                Node child = ((Node) v).put(edit, shift + BITS, hash, key, value);
+                return child == v ? this : set(edit, index + 1, child);
+            } else if (keyEquals(key, k)) {
+                return v == value ? this : set(edit, index + 1, value);
+            }
+
+            edit.sizeChange = 1;
+            Node child = createNode(edit, shift + BITS, k, v, hash, key, value);
+            BitmapNode result = (BitmapNode) set(edit, index + 1, child);
+            result.array[index] = null;
+            return result;
+        }
+
+        @Override
+        Node remove(Edit edit, int shift, int hash, Object key) {
+            long bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            int index = index(bit) * 2;
+            Object k = array[index];
+            Object v = array[index + 1];
+            if (k == null) {
+                Node child = ((Node) v).remove(edit, shift + BITS, hash, key);
+                if (child == v) {
+                    return this;
+                } else if (child != null) {
+                    return set(edit, index + 1, child);
+                }
+            } else if (keyEquals(key, k)) {
+                edit.sizeChange = -1;
+            } else {
+                return this;
+            }
+
+            // Remove the entry or the now empty child node.
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, newArray.length - index);
+            if (this.edit == edit) {
+                bitmap ^= bit;
+                array = newArray;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap ^ bit, newArray);
+        }
+
+        private int index(long bit) {
+            return Long.bitCount(bitmap & (bit - 1));
+        }
+
+        private Node set(Edit edit, int index, Object value) {
+            if (this.edit == edit) {
+                array[index] = value;
+                return this;
+            }
+            BitmapNode result = new BitmapNode(edit, bitmap, array.clone());
+            result.array[index] = value;
+            return result;
+        }
+
+        private static Node createNode(Edit edit, int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+            int h1 = hash(k1);
+            if (h1 == h2) {
+                return new CollisionNode(edit, h1, new Object[] {k1, v1, k2, v2});
+            }
+            return new BitmapNode(edit, 0, new Object[0])
+                    .put(edit, shift, h1, k1, v1)
+                    .put(edit, shift, h2, k2, v2);
+        }
+    }
+
+    // Holds entries whose keys have the same hash.
+    private static final class CollisionNode extends Node {
+        final int hash;
+
+        CollisionNode(Edit edit, int hash, Object[] array) {
+            super(edit, array);
+            this.hash = hash;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int index = indexOf(key);
+            return index == -1 ? null : array[index + 1];
+        }
+
+        @Override
+        Node put(Edit edit, int shift, int hash, Object key, Object value) {
+            if (hash != this.hash) {
+                // Nest this node in a bitmap node so that it can hold both hashes.
+                return new BitmapNode(edit, bitpos(this.hash, shift), new Object[] {null, this})
+                        .put(edit, shift, hash, key, value);
+            }
+
+            int index = indexOf(key);
+            if (index != -1) {
+                if (array[index + 1] == value) {
+                    return this;
+                }
+                Object[] newArray = this.edit == edit ? array : array.clone();
+                newArray[index + 1] = value;
+                return update(edit, newArray);
+            }
+
+            Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            edit.sizeChange = 1;
+            return update(edit, newArray);
+        }
+
+        @Override
+        Node remove(Edit edit, int shift, int hash, Object key) {
+            int index = indexOf(key);
+            if (index == -1) {
+                return this;
+            }
+            edit.sizeChange = -1;
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, newArray.length - index);
+            return update(edit, newArray);
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (keyEquals(key, array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private Node update(Edit edit, Object[] newArray) {
+            if (this.edit == edit) {
+                array = newArray;
+                return this;
+            }
+            return new CollisionNode(edit, hash, newArray);
+        }
+    }
+
+    private static final class TrieIterator<K, V, T> implements Iterator<T> {
+        private final Object[][] arrays = new Object[MAX_DEPTH][];
+        private final int[] positions = new int[MAX_DEPTH];
+        private final BiFunction<K, V, T> mapper;
+        private int depth;
+        private T next;
+
+        TrieIterator(Node root, BiFunction<K, V, T> mapper) {
+            this.mapper = mapper;
+            arrays[0] = root.array;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            T result = next;
+            if (result == null) {
+                throw new NoSuchElementException();
+            }
+            advance();
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            while (depth >= 0) {
+                Object[] array = arrays[depth];
+                int position = positions[depth];
+                if (position == array.length) {
+                    arrays[depth--] = null;
+                    continue;
+                }
+                positions[depth] = position + 2;
+                Object key = array[position];
+                Object value = array[position + 1];
+                if (key == null) {
+                    depth++;
+                    arrays[depth] = ((Node) value).array;
+                    positions[depth] = 0;
+                } else {
+                    next = mapper.apply((K) key, (V) value);
+                    return;
+                }
+            }
+            next = null;
+        }
+    }
+}
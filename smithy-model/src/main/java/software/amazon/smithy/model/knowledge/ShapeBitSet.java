@@ -0,0 +1,252 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * A mutable set of the shapes of a single model that is backed by a bitset
+ * of {@link ShapeOrdinalIndex shape ordinals}.
+ *
+ * <p>Adding, removing, and checking for a shape doesn't allocate, and the
+ * set takes one bit per shape in the model. Shapes are iterated in ordinal
+ * order. Only shapes of the model the set was created for can be added to
+ * the set.
+ *
+ * <p>This class is not thread safe.
+ */
+public final class ShapeBitSet extends AbstractSet<Shape> {
+
+    private final ShapeOrdinalIndex ordinals;
+    private final long[] words;
+    private int size;
+    private int modCount;
+
+    /**
+     * Creates an empty set for the shapes of a model.
+     *
+     * @param model Model that contains the shapes of the set.
+     */
+    public ShapeBitSet(Model model) {
+        this(ShapeOrdinalIndex.of(model));
+    }
+
+    /**
+     * Creates an empty set for shapes with the given ordinals.
+     *
+     * @param ordinals Ordinals of the shapes of the set.
+     */
+    public ShapeBitSet(ShapeOrdinalIndex ordinals) {
+        this.ordinals = ordinals;
+        words = new long[(ordinals.size() + 63) >>> 6];
+    }
+
+    /**
+     * Gets the ordinals used by the set.
+     *
+     * @return Returns the ordinals of the set.
+     */
+    public ShapeOrdinalIndex getOrdinals() {
+        return ordinals;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Shape)) {
+            return false;
+        }
+        int ordinal = ordinals.getOrdinal((Shape) o);
+        return ordinal != -1 && containsOrdinal(ordinal);
+    }
+
+    /**
+     * Adds a shape to the set.
+     *
+     * @param shape Shape to add.
+     * @return Returns true if the shape wasn't already in the set.
+     * @throws IllegalArgumentException if the shape isn't part of the model.
+     */
+    @Override
+    public boolean add(Shape shape) {
+        int ordinal = ordinals.getOrdinal(shape);
+        if (ordinal == -1) {
+            throw new IllegalArgumentException("Shape is not part of the model of the set: " + shape.getId());
+        }
+        return addOrdinal(ordinal);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof Shape)) {
+            return false;
+        }
+        int ordinal = ordinals.getOrdinal((Shape) o);
+        return ordinal != -1 && removeOrdinal(ordinal);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Shape> shapes) {
+        if (!(shapes instanceof ShapeBitSet) || ((ShapeBitSet) shapes).ordinals != ordinals) {
+            return super.addAll(shapes);
+        }
+
+        long[] other = ((ShapeBitSet) shapes).words;
+        int previousSize = size;
+        size = 0;
+        for (int i = 0; i < words.length; i++) {
+            words[i] |= other[i];
+            size += Long.bitCount(words[i]);
+        }
+        modCount++;
+        return size != previousSize;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(words, 0);
+            size = 0;
+            modCount++;
+        }
+    }
+
+    /**
+     * Checks if the shape with the given ordinal is in the set.
+     *
+     * @param ordinal Ordinal of the shape.
+     * @return Returns true if the shape is in the set.
+     */
+    public boolean containsOrdinal(int ordinal) {
+        return (words[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    /**
+     * Adds the shape with the given ordinal to the set.
+     *
+     * @param ordinal Ordinal of the shape.
+     * @return Returns true if the shape wasn't already in the set.
+     */
+    public boolean addOrdinal(int ordinal) {
+        int index = ordinal >>> 6;
+        long word = words[index];
+        long updated = word | (1L << ordinal);
+        if (updated == word) {
+            return false;
+        }
+        words[index] = updated;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Removes the shape with the given ordinal from the set.
+     *
+     * @param ordinal Ordinal of the shape.
+     * @return Returns true if the shape was in the set.
+     */
+    public boolean removeOrdinal(int ordinal) {
+        int index = ordinal >>> 6;
+        long word = words[index];
+        long updated = word & ~(1L << ordinal);
+        if (updated == word) {
+            return false;
+        }
+        words[index] = updated;
+        size--;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Gets the next ordinal in the set that is greater than or equal to
+     * the given ordinal.
+     *
+     * <pre>{@code
+     * for (int i = set.nextOrdinal(0); i != -1; i = set.nextOrdinal(i + 1)) {
+     *     // use i
+     * }
+     * }</pre>
+     *
+     * @param from Ordinal to start searching from.
+     * @return Returns the next ordinal, or -1 if there are no more ordinals.
+     */
+    public int nextOrdinal(int from) {
+        int index = from >>> 6;
+        if (index >= words.length) {
+            return -1;
+        }
+
+        long word = words[index] & (-1L << from);
+        while (word == 0) {
+            if (++index == words.length) {
+                return -1;
+            }
+            word = words[index];
+        }
+        return (index << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    @Override
+    public Iterator<Shape> iterator() {
+        return new Iterator<Shape>() {
+            private int next = nextOrdinal(0);
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return next != -1;
+            }
+
+            @Override
+            public Shape next() {
+                if (next == -1) {
+                    throw new NoSuchElementException();
+                } else if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                last = next;
+                next = nextOrdinal(next + 1);
+                return ordinals.getShape(last);
+            }
+
+            @Override
+            public void remove() {
+                if (last == -1) {
+                    throw new IllegalStateException();
+                } else if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                removeOrdinal(last);
+                last = -1;
+                expectedModCount = modCount;
+            }
+        };
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ToShapeId;
+
+/**
+ * Assigns each shape in a model a dense integer ordinal.
+ *
+ * <p>Shapes are numbered from 0 to {@link #size()} - 1 in the order they
+ * are iterated from the model. Ordinals allow graph algorithms to track
+ * shapes using arrays and bitsets like {@link ShapeBitSet} rather than hash
+ * maps and hash sets. Ordinals are only meaningful for the model they were
+ * computed from.
+ */
+public final class ShapeOrdinalIndex implements KnowledgeIndex {
+
+    private final Shape[] shapes;
+    private final ShapeId[] ids;
+
+    // Open addressing table where each slot holds the mixed hash of a shape
+    // ID in the upper 32 bits and the ordinal + 1 in the lower 32 bits, so
+    // that most mismatches are rejected without loading the shape ID.
+    private final long[] table;
+
+    public ShapeOrdinalIndex(Model model) {
+        shapes = model.toSet().toArray(new Shape[0]);
+        ids = new ShapeId[shapes.length];
+        table = new long[Integer.highestOneBit(Math.max(shapes.length, 1) * 2 + 1) << 1];
+        int mask = table.length - 1;
+        for (int i = 0; i < shapes.length; i++) {
+            ids[i] = shapes[i].getId();
+            int hash = mix(ids[i].hashCode());
+            int slot = hash & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = ((long) hash << 32) | (i + 1);
+        }
+    }
+
+    public static ShapeOrdinalIndex of(Model model) {
+        return model.getKnowledge(ShapeOrdinalIndex.class, ShapeOrdinalIndex::new);
+    }
+
+    /**
+     * Gets the number of shapes in the model.
+     *
+     * @return Returns the number of ordinals.
+     */
+    public int size() {
+        return shapes.length;
+    }
+
+    /**
+     * Gets the ordinal of a shape ID.
+     *
+     * @param id Shape ID to find.
+     * @return Returns the ordinal, or -1 if the shape isn't in the model.
+     */
+    public int getOrdinal(ToShapeId id) {
+        ShapeId shapeId = id.toShapeId();
+        int hash = mix(shapeId.hashCode());
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        long entry;
+        while ((entry = table[slot]) != 0) {
+            if ((int) (entry >>> 32) == hash) {
+                int ordinal = (int) entry - 1;
+                if (ids[ordinal] == shapeId || ids[ordinal].equals(shapeId)) {
+                    return ordinal;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the ordinal of a shape.
+     *
+     * <p>Unlike {@link #getOrdinal(ToShapeId)}, the shape must be equal to
+     * the shape in the model that has the same ID.
+     *
+     * @param shape Shape to find.
+     * @return Returns the ordinal, or -1 if the shape isn't in the model.
+     */
+    public int getOrdinal(Shape shape) {
+        int ordinal = getOrdinal(shape.getId());
+        if (ordinal != -1 && shapes[ordinal] != shape && !shapes[ordinal].equals(shape)) {
+            return -1;
+        }
+        return ordinal;
+    }
+
+    /**
+     * Gets the shape that has the given ordinal.
+     *
+     * @param ordinal Ordinal of the shape.
+     * @return Returns the shape.
+     * @throws IndexOutOfBoundsException if the ordinal is out of range.
+     */
+    public Shape getShape(int ordinal) {
+        return shapes[ordinal];
+    }
+
+    // ShapeId hash codes of similarly named shapes are close together, so
+    // the hash is mixed to avoid long probe sequences.
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -23,7 +23,6 @@ import java.util.Set;
 import java.util.TreeSet;
 import java.util.function.Predicate;
 import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.neighbor.NeighborProvider;
 import software.amazon.smithy.model.neighbor.Relationship;
 import software.amazon.smithy.model.neighbor.Walker;
 import software.amazon.smithy.model.shapes.OperationShape;
@@ -43,8 +42,7 @@ public final class TopDownIndex implements KnowledgeIndex {
     private final Map<ShapeId, Set<OperationShape>> operations = new HashMap<>();
 
     public TopDownIndex(Model model) {
-        NeighborProvider provider = NeighborProviderIndex.of(model).getProvider();
-        Walker walker = new Walker(provider);
+        Walker walker = new Walker(model);
 
         // Only traverse resource and operation bindings.
         Predicate<Relationship> filter = rel -> {
@@ -62,12 +60,17 @@ public final class TopDownIndex implements KnowledgeIndex {
             }
         };
 
+        // The same set is cleared and reused to walk each service and resource.
+        ShapeBitSet closure = new ShapeBitSet(model);
+
         for (ResourceShape resource : model.getResourceShapes()) {
-            findContained(resource.getId(), walker.walkShapes(resource, filter));
+            closure.clear();
+            findContained(resource.getId(), walker.walkShapeSet(resource, filter, closure));
         }
 
         for (ServiceShape service : model.getServiceShapes()) {
-            findContained(service.getId(), walker.walkShapes(service, filter));
+            closure.clear();
+            findContained(service.getId(), walker.walkShapeSet(service, filter, closure));
         }
     }
 
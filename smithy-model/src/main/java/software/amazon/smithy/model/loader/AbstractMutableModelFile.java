@@ -45,15 +45,27 @@ abstract class AbstractMutableModelFile implements ModelFile {
     private final List<ValidationEvent> events = new ArrayList<>();
     private final MetadataContainer metadata = new MetadataContainer(events);
     private final TraitFactory traitFactory;
+    private final InternPool pool;
 
     /**
      * @param traitFactory Factory used to create traits when merging traits.
+     * @param pool Pool used to intern the strings and shape IDs of the model file.
      */
-    AbstractMutableModelFile(TraitFactory traitFactory) {
+    AbstractMutableModelFile(TraitFactory traitFactory, InternPool pool) {
         this.traitFactory = Objects.requireNonNull(traitFactory, "traitFactory must not be null");
+        this.pool = Objects.requireNonNull(pool, "pool must not be null");
         traitContainer = new TraitContainer.TraitHashMap(traitFactory, events);
     }
 
+    /**
+     * Gets the pool used to intern the strings and shape IDs of the model file.
+     *
+     * @return Returns the pool.
+     */
+    final InternPool pool() {
+        return pool;
+    }
+
     /**
      * Adds a shape to the ModelFile, checking for conflicts with other shapes.
      *
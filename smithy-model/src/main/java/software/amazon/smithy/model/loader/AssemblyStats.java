@@ -0,0 +1,219 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.validation.ValidatedResult;
+
+/**
+ * Timings and counts collected while assembling a model.
+ *
+ * <p>Stats are provided to the listener registered using
+ * {@link ModelAssembler#statsListener} each time a model is assembled.
+ * Times are wall-clock times. Model files are parsed and validators are
+ * run concurrently, so the sum of the times of each file or validator can
+ * exceed the time of the phase that contains them.
+ */
+public final class AssemblyStats {
+
+    /**
+     * The phases of assembling a model, in the order they occur.
+     */
+    public enum Phase {
+        /** Parsing each model file. */
+        PARSE,
+
+        /** Resolving forward references and creating traits. */
+        RESOLVE_SHAPES,
+
+        /** Building shapes and the model. */
+        CREATE_SHAPES,
+
+        /** Checking that every trait is defined and applied to a shape that exists. */
+        VALIDATE_TRAITS,
+
+        /** Running validators and applying suppressions. */
+        VALIDATE
+    }
+
+    private final Map<String, Duration> fileTimes;
+    private final Map<Phase, Duration> phaseTimes;
+    private final Map<String, Duration> validatorTimes;
+    private final Duration totalTime;
+    private final int shapeCount;
+    private final int traitCount;
+    private final int eventCount;
+
+    private AssemblyStats(Recorder recorder, ValidatedResult<Model> result, long totalNanos) {
+        fileTimes = toDurations(recorder.fileNanos);
+        validatorTimes = toDurations(recorder.validatorNanos);
+        Map<Phase, Duration> phases = new EnumMap<>(Phase.class);
+        recorder.phaseNanos.forEach((phase, nanos) -> phases.put(phase, Duration.ofNanos(nanos)));
+        phaseTimes = Collections.unmodifiableMap(phases);
+        totalTime = Duration.ofNanos(totalNanos);
+        eventCount = result.getValidationEvents().size();
+
+        int shapes = 0;
+        int traits = 0;
+        if (result.getResult().isPresent()) {
+            for (Shape shape : result.getResult().get().toSet()) {
+                shapes++;
+                traits += shape.getAllTraits().size();
+            }
+        }
+        shapeCount = shapes;
+        traitCount = traits;
+    }
+
+    /**
+     * Gets the time taken to parse each model file, sorted by filename.
+     *
+     * <p>Only files that were imported or added as unparsed models are
+     * included. A file that is loaded from a cache is parsed in little to
+     * no time.
+     *
+     * @return Returns the time taken to parse each file.
+     */
+    public Map<String, Duration> getFileTimes() {
+        return fileTimes;
+    }
+
+    /**
+     * Gets the time taken by each phase of assembling the model.
+     *
+     * <p>Phases that weren't performed, like {@link Phase#VALIDATE} when
+     * validation is disabled or when loading the model failed, are not
+     * present.
+     *
+     * @return Returns the time taken by each phase.
+     */
+    public Map<Phase, Duration> getPhaseTimes() {
+        return phaseTimes;
+    }
+
+    /**
+     * Gets the time taken by each validator, sorted by name.
+     *
+     * <p>Validators are named using the ID of the validator definition if
+     * the validator was defined in model metadata, or otherwise the name of
+     * the validator. The times of validators with the same name are summed.
+     *
+     * <p>The selectors of validators that only evaluate a selector, like
+     * {@code EmitEachSelector}, are evaluated together, and the time taken
+     * to do so is recorded as {@code BatchedSelector}. Each of those
+     * validators is recorded for the time taken to create events from the
+     * shapes that matched its selector.
+     *
+     * @return Returns the time taken by each validator.
+     */
+    public Map<String, Duration> getValidatorTimes() {
+        return validatorTimes;
+    }
+
+    /**
+     * Gets the total time taken to assemble the model.
+     *
+     * @return Returns the total time.
+     */
+    public Duration getTotalTime() {
+        return totalTime;
+    }
+
+    /**
+     * Gets the number of shapes in the assembled model, including the prelude.
+     *
+     * @return Returns the number of shapes, or 0 if no model was assembled.
+     */
+    public int getShapeCount() {
+        return shapeCount;
+    }
+
+    /**
+     * Gets the number of traits applied to shapes in the assembled model.
+     *
+     * @return Returns the number of traits, or 0 if no model was assembled.
+     */
+    public int getTraitCount() {
+        return traitCount;
+    }
+
+    /**
+     * Gets the number of validation events in the result.
+     *
+     * @return Returns the number of events.
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("Assembled ").append(shapeCount).append(" shapes, ")
+                .append(traitCount).append(" traits, and ")
+                .append(eventCount).append(" events in ").append(totalTime.toMillis()).append(" ms");
+        phaseTimes.forEach((phase, time) -> {
+            builder.append(System.lineSeparator()).append("  ").append(phase).append(": ")
+                    .append(time.toMillis()).append(" ms");
+        });
+        return builder.toString();
+    }
+
+    private static Map<String, Duration> toDurations(Map<String, Long> nanos) {
+        Map<String, Duration> result = new TreeMap<>();
+        nanos.forEach((key, value) -> result.put(key, Duration.ofNanos(value)));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Records times while a model is assembled. Times can be recorded
+     * from multiple threads.
+     */
+    static final class Recorder {
+        private final long start = System.nanoTime();
+        private final ConcurrentMap<String, Long> fileNanos = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, Long> validatorNanos = new ConcurrentHashMap<>();
+        private final Map<Phase, Long> phaseNanos = new EnumMap<>(Phase.class);
+
+        void recordFile(String filename, long nanos) {
+            fileNanos.merge(filename, nanos, Long::sum);
+        }
+
+        void recordValidator(String name, long nanos) {
+            validatorNanos.merge(name, nanos, Long::sum);
+        }
+
+        // Phases are only recorded by the thread that assembles the model.
+        // The current time is returned so that it can start the next phase.
+        long recordPhase(Phase phase, long startNanos) {
+            long now = System.nanoTime();
+            phaseNanos.merge(phase, now - startNanos, Long::sum);
+            return now;
+        }
+
+        AssemblyStats finish(ValidatedResult<Model> result) {
+            return new AssemblyStats(this, result, System.nanoTime() - start);
+        }
+    }
+}
@@ -15,6 +15,8 @@
 
 package software.amazon.smithy.model.loader;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -25,6 +27,7 @@ import software.amazon.smithy.model.SourceException;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.node.internal.NodeHandler;
 import software.amazon.smithy.model.shapes.AbstractShapeBuilder;
 import software.amazon.smithy.model.shapes.BigDecimalShape;
 import software.amazon.smithy.model.shapes.BigIntegerShape;
@@ -45,6 +48,7 @@ import software.amazon.smithy.model.shapes.ResourceShape;
 import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.SetShape;
 import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeIdSyntaxException;
 import software.amazon.smithy.model.shapes.ShortShape;
 import software.amazon.smithy.model.shapes.StringShape;
 import software.amazon.smithy.model.shapes.StructureShape;
@@ -87,13 +91,61 @@ enum AstModelLoader {
             TYPE, "version", "operations", "resources", "rename", ERRORS, TRAITS);
 
     ModelFile load(TraitFactory traitFactory, ObjectNode model) {
-        FullyResolvedModelFile modelFile = new FullyResolvedModelFile(traitFactory);
+        return load(traitFactory, new InternPool(), model);
+    }
+
+    ModelFile load(TraitFactory traitFactory, InternPool pool, ObjectNode model) {
+        FullyResolvedModelFile modelFile = new FullyResolvedModelFile(traitFactory, pool);
         LoaderUtils.checkForAdditionalProperties(model, null, TOP_LEVEL_PROPERTIES, modelFile.events());
         loadMetadata(model, modelFile);
         loadShapes(model, modelFile);
         return modelFile;
     }
 
+    /**
+     * Loads a JSON AST model from a reader, loading each shape as soon as
+     * it's parsed rather than first parsing the entire model into a Node.
+     *
+     * <p>Only the metadata of the model and the values of traits are
+     * retained as Nodes, so the memory needed to load a model scales with
+     * the size of its largest shape rather than the size of the model.
+     *
+     * @param traitFactory Factory used to create traits.
+     * @param pool Pool used to intern strings and shape IDs.
+     * @param filename Filename of the model.
+     * @param reader Reader that provides the model.
+     * @return Returns the loaded model file.
+     * @throws IOException if the reader can't be read.
+     */
+    ModelFile load(TraitFactory traitFactory, InternPool pool, String filename, Reader reader) throws IOException {
+        FullyResolvedModelFile modelFile = new FullyResolvedModelFile(traitFactory, pool);
+        RuntimeException[] shapeError = new RuntimeException[1];
+        Node node = NodeHandler.parseStreamingMember(filename, reader, SHAPES, pool, (id, definition) -> {
+            if (shapeError[0] == null) {
+                try {
+                    loadShapeEntry(id, definition, modelFile);
+                } catch (RuntimeException e) {
+                    shapeError[0] = e;
+                }
+            }
+        });
+
+        // The version isn't required to be defined before shapes, so errors
+        // encountered while loading shapes are only thrown once the document
+        // is known to be a supported Smithy model.
+        ObjectNode model = ModelLoader.expectSupportedDocument(node);
+        // Shape entries were streamed out of "shapes", so only its type is left to validate.
+        model.getMember(SHAPES).ifPresent(shapes -> shapes.expectObjectNode(
+                "Expected `" + SHAPES + "` to be an object; found {type}"));
+        if (shapeError[0] != null) {
+            throw shapeError[0];
+        }
+
+        LoaderUtils.checkForAdditionalProperties(model, null, TOP_LEVEL_PROPERTIES, modelFile.events());
+        loadMetadata(model, modelFile);
+        return modelFile;
+    }
+
     private void loadMetadata(ObjectNode model, FullyResolvedModelFile modelFile) {
         try {
             model.getObjectMember(METADATA).ifPresent(metadata -> {
@@ -109,19 +161,23 @@ enum AstModelLoader {
     private void loadShapes(ObjectNode model, FullyResolvedModelFile modelFile) {
         model.getObjectMember(SHAPES).ifPresent(shapes -> {
             for (Map.Entry<StringNode, Node> entry : shapes.getMembers().entrySet()) {
-                ShapeId id = entry.getKey().expectShapeId();
-                ObjectNode definition = entry.getValue().expectObjectNode();
-                String type = definition.expectStringMember(TYPE).getValue();
-                try {
-                    loadShape(id, type, definition, modelFile);
-                } catch (SourceException e) {
-                    ValidationEvent event = ValidationEvent.fromSourceException(e).toBuilder().shapeId(id).build();
-                    modelFile.events().add(event);
-                }
+                loadShapeEntry(entry.getKey(), entry.getValue(), modelFile);
             }
         });
     }
 
+    private void loadShapeEntry(StringNode key, Node value, FullyResolvedModelFile modelFile) {
+        ShapeId id = expectShapeId(modelFile, key);
+        ObjectNode definition = value.expectObjectNode();
+        String type = definition.expectStringMember(TYPE).getValue();
+        try {
+            loadShape(id, type, definition, modelFile);
+        } catch (SourceException e) {
+            ValidationEvent event = ValidationEvent.fromSourceException(e).toBuilder().shapeId(id).build();
+            modelFile.events().add(event);
+        }
+    }
+
     private void loadShape(ShapeId id, String type, ObjectNode value, FullyResolvedModelFile modelFile) {
         switch (type) {
             case "blob":
@@ -198,7 +254,7 @@ enum AstModelLoader {
 
     private void applyTraits(ShapeId id, ObjectNode traits, FullyResolvedModelFile modelFile) {
         for (Map.Entry<StringNode, Node> traitNode : traits.getMembers().entrySet()) {
-            ShapeId traitId = traitNode.getKey().expectShapeId();
+            ShapeId traitId = expectShapeId(modelFile, traitNode.getKey());
             // JSON AST model traits are never considered annotation traits, meaning
             // that a null value provided in the AST is not coerced in the same way
             // as an omitted value in the IDL (e.g., "@foo").
@@ -213,7 +269,7 @@ enum AstModelLoader {
     private void loadMember(FullyResolvedModelFile modelFile, ShapeId id, ObjectNode targetNode) {
         LoaderUtils.checkForAdditionalProperties(targetNode, id, MEMBER_PROPERTIES, modelFile.events());
         MemberShape.Builder builder = MemberShape.builder().source(targetNode.getSourceLocation()).id(id);
-        ShapeId target = targetNode.expectStringMember(TARGET).expectShapeId();
+        ShapeId target = expectShapeId(modelFile, targetNode.expectStringMember(TARGET));
         builder.target(target);
         applyShapeTraits(id, targetNode, modelFile);
         modelFile.onShape(builder);
@@ -334,7 +390,16 @@ enum AstModelLoader {
     private ShapeId loadReferenceBody(FullyResolvedModelFile modelFile, ShapeId id, Node reference) {
         ObjectNode referenceObject = reference.expectObjectNode();
         LoaderUtils.checkForAdditionalProperties(referenceObject, id, REFERENCE_PROPERTIES, modelFile.events());
-        return referenceObject.expectStringMember(TARGET).expectShapeId();
+        return expectShapeId(modelFile, referenceObject.expectStringMember(TARGET));
+    }
+
+    // Shape IDs are pooled so that their strings are shared with other shape IDs.
+    private static ShapeId expectShapeId(FullyResolvedModelFile modelFile, StringNode node) {
+        try {
+            return modelFile.pool().shapeId(node.getValue());
+        } catch (ShapeIdSyntaxException e) {
+            throw new SourceException(e.getMessage(), node);
+        }
     }
 
     private List<ShapeId> loadOptionalTargetList(
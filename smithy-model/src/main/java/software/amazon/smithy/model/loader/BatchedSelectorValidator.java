@@ -0,0 +1,142 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.selector.Selector;
+import software.amazon.smithy.model.selector.SelectorBatch;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.model.validation.Validator;
+import software.amazon.smithy.model.validation.linters.SelectorValidator;
+
+/**
+ * Runs many {@link SelectorValidator}s by evaluating their selectors
+ * together with a {@link SelectorBatch}.
+ *
+ * <p>Models commonly define many validators in metadata that only
+ * evaluate a selector, like {@code EmitEachSelector}. Evaluating each of
+ * their selectors on its own traverses the model once per validator, while
+ * a batch shares the traversal. Selectors of validators that don't apply
+ * to the model being validated aren't added to the batch.
+ *
+ * <p>When timed, the shared traversal is recorded as this validator and
+ * each validator is recorded under its own name for the time it takes to
+ * create events from its matches.
+ */
+final class BatchedSelectorValidator implements Validator {
+
+    private final List<Validator> validators;
+    private final List<SelectorValidator> selectorValidators = new ArrayList<>();
+    private final AssemblyStats.Recorder recorder;
+
+    /**
+     * @param validators Validators that are selector validators or wrap one.
+     * @param recorder Recorder used to time each validator, or {@code null} to not time validators.
+     */
+    BatchedSelectorValidator(List<Validator> validators, AssemblyStats.Recorder recorder) {
+        this.validators = validators;
+        this.recorder = recorder;
+        for (Validator validator : validators) {
+            selectorValidators.add(unwrap(validator));
+        }
+    }
+
+    /**
+     * Gets the selector validator of a validator.
+     *
+     * @param validator Validator to check.
+     * @return Returns the selector validator, or null if the validator isn't one and doesn't wrap one.
+     */
+    static SelectorValidator unwrap(Validator validator) {
+        if (validator instanceof ValidatorFromDefinitionFactory.DefinitionValidator) {
+            validator = ((ValidatorFromDefinitionFactory.DefinitionValidator) validator).getUpstream();
+        }
+        return validator instanceof SelectorValidator ? (SelectorValidator) validator : null;
+    }
+
+    @Override
+    public List<ValidationEvent> validate(Model model) {
+        long start = recorder == null ? 0 : System.nanoTime();
+
+        // Selectors evaluated with select() and consumeMatches(), along with
+        // the position of the validator each selector belongs to.
+        List<Selector> selectSelectors = new ArrayList<>();
+        List<Selector> matchSelectors = new ArrayList<>();
+        int[] selectPositions = new int[validators.size()];
+        int[] matchPositions = new int[validators.size()];
+        List<List<Selector.ShapeMatch>> matches = new ArrayList<>(validators.size());
+
+        for (int i = 0; i < validators.size(); i++) {
+            SelectorValidator validator = selectorValidators.get(i);
+            if (!validator.appliesTo(model)) {
+                matches.add(null);
+            } else if (validator.usesVariables()) {
+                matchPositions[matchSelectors.size()] = i;
+                matchSelectors.add(validator.getSelector());
+                matches.add(new ArrayList<>());
+            } else {
+                selectPositions[selectSelectors.size()] = i;
+                selectSelectors.add(validator.getSelector());
+                matches.add(new ArrayList<>());
+            }
+        }
+
+        List<Set<Shape>> selected = SelectorBatch.of(selectSelectors).select(model);
+        for (int i = 0; i < selected.size(); i++) {
+            List<Selector.ShapeMatch> result = matches.get(selectPositions[i]);
+            for (Shape shape : selected.get(i)) {
+                result.add(new Selector.ShapeMatch(shape, Collections.emptyMap()));
+            }
+        }
+
+        SelectorBatch.of(matchSelectors)
+                .consumeMatches(model, (match, i) -> matches.get(matchPositions[i]).add(match));
+
+        if (recorder != null) {
+            recorder.recordValidator(ModelValidator.getValidatorName(this), System.nanoTime() - start);
+        }
+
+        List<ValidationEvent> events = new ArrayList<>();
+        for (int i = 0; i < validators.size(); i++) {
+            if (matches.get(i) != null) {
+                events.addAll(validateMatches(model, i, matches.get(i)));
+            }
+        }
+
+        return events;
+    }
+
+    private List<ValidationEvent> validateMatches(Model model, int position, List<Selector.ShapeMatch> matches) {
+        Validator validator = validators.get(position);
+        long start = recorder == null ? 0 : System.nanoTime();
+        try {
+            List<ValidationEvent> result = selectorValidators.get(position).validateMatches(model, matches);
+            if (validator instanceof ValidatorFromDefinitionFactory.DefinitionValidator) {
+                result = ((ValidatorFromDefinitionFactory.DefinitionValidator) validator).map(model, result);
+            }
+            return result;
+        } finally {
+            if (recorder != null) {
+                recorder.recordValidator(ModelValidator.getValidatorName(validator), System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeType;
+import software.amazon.smithy.model.traits.TraitFactory;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+/**
+ * A ModelFile loaded from a {@link ModelFileSnapshot} rather than parsed.
+ *
+ * <p>If the snapshot was created while other model files were present
+ * that changed how forward references resolved, then the original model
+ * file is parsed when shapes are resolved and used instead.
+ */
+final class CachedModelFile implements ModelFile {
+
+    private static final Logger LOGGER = Logger.getLogger(CachedModelFile.class.getName());
+
+    private final ModelFileSnapshot snapshot;
+    private final Supplier<ModelFile> parser;
+    private ModelFile delegate;
+
+    /**
+     * @param traitFactory Factory used to create traits.
+     * @param pool Pool used to share strings and shape IDs across model files.
+     * @param snapshot Snapshot to load.
+     * @param parser Supplier used to parse the original model file if the snapshot can't be used.
+     */
+    CachedModelFile(
+            TraitFactory traitFactory,
+            InternPool pool,
+            ModelFileSnapshot snapshot,
+            Supplier<ModelFile> parser
+    ) {
+        this.snapshot = snapshot;
+        this.parser = parser;
+        this.delegate = AstModelLoader.INSTANCE.load(traitFactory, pool, snapshot.document());
+    }
+
+    @Override
+    public Set<ShapeId> shapeIds() {
+        return delegate.shapeIds();
+    }
+
+    @Override
+    public ShapeType getShapeType(ShapeId id) {
+        return delegate.getShapeType(id);
+    }
+
+    @Override
+    public Map<String, Node> metadata() {
+        return delegate.metadata();
+    }
+
+    @Override
+    public TraitContainer resolveShapes(Set<ShapeId> ids, Function<ShapeId, ShapeType> typeProvider) {
+        if (!snapshot.isValidFor(ids, typeProvider)) {
+            // The shapes and metadata defined in the parsed file are the same
+            // as the snapshot, so swapping the delegate here is safe.
+            LOGGER.fine("Model cache entry no longer resolves the same way; parsing the original model file");
+            delegate = parser.get();
+        }
+
+        return delegate.resolveShapes(ids, typeProvider);
+    }
+
+    @Override
+    public Collection<Shape> createShapes(TraitContainer resolvedTraits) {
+        return delegate.createShapes(resolvedTraits);
+    }
+
+    @Override
+    public List<ValidationEvent> events() {
+        return delegate.events();
+    }
+}
@@ -48,9 +48,10 @@ final class ForwardReferenceModelFile extends AbstractMutableModelFile {
 
     /**
      * @param traitFactory Factory used to create traits when merging traits.
+     * @param pool Pool used to intern the strings and shape IDs of the model file.
      */
-    ForwardReferenceModelFile(TraitFactory traitFactory) {
-        super(traitFactory);
+    ForwardReferenceModelFile(TraitFactory traitFactory, InternPool pool) {
+        super(traitFactory, pool);
     }
 
     /**
@@ -68,7 +69,7 @@ final class ForwardReferenceModelFile extends AbstractMutableModelFile {
      * @param namespace Namespace to set.
      */
     void setNamespace(String namespace) {
-        this.namespace = namespace;
+        this.namespace = pool().intern(namespace);
     }
 
     /**
@@ -138,17 +139,17 @@ final class ForwardReferenceModelFile extends AbstractMutableModelFile {
             ShapeId resolved;
             // Use absolute IDs as-is.
             if (name.contains("#")) {
-                resolved = ShapeId.from(name);
+                resolved = pool().shapeId(name);
             } else if (useShapes.containsKey(name)) {
                 // Check use statements.
                 resolved = useShapes.get(name).left;
             } else {
                 // Check if there's a shape with this name in the current namespace.
-                resolved = ShapeId.from(namespace() + "#" + name);
+                resolved = pool().shapeId(namespace() + "#" + name);
 
                 // If not defined in the namespace, then check the prelude.
                 if (!ids.contains(resolved)) {
-                    ShapeId preludeTest = ShapeId.from(Prelude.NAMESPACE + '#' + name);
+                    ShapeId preludeTest = pool().shapeId(Prelude.NAMESPACE + '#' + name);
                     if (ids.contains(preludeTest)) {
                         resolved = preludeTest;
                     }
@@ -39,7 +39,15 @@ final class FullyResolvedModelFile extends AbstractMutableModelFile {
      * @param traitFactory Factory used to create traits when merging traits.
      */
     FullyResolvedModelFile(TraitFactory traitFactory) {
-        super(traitFactory);
+        this(traitFactory, new InternPool());
+    }
+
+    /**
+     * @param traitFactory Factory used to create traits when merging traits.
+     * @param pool Pool used to intern the strings and shape IDs of the model file.
+     */
+    FullyResolvedModelFile(TraitFactory traitFactory, InternPool pool) {
+        super(traitFactory, pool);
     }
 
     /**
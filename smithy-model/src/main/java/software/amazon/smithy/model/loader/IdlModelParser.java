@@ -126,9 +126,13 @@ final class IdlModelParser extends SimpleParser {
     }
 
     IdlModelParser(TraitFactory traitFactory, String filename, String model) {
+        this(traitFactory, new InternPool(), filename, model);
+    }
+
+    IdlModelParser(TraitFactory traitFactory, InternPool pool, String filename, String model) {
         super(model, MAX_NESTING_LEVEL);
-        this.filename = filename;
-        this.modelFile = new ForwardReferenceModelFile(traitFactory);
+        this.filename = pool.intern(filename);
+        this.modelFile = new ForwardReferenceModelFile(traitFactory, pool);
     }
 
     ModelFile parse() {
@@ -286,7 +290,7 @@ final class IdlModelParser extends SimpleParser {
             clearPendingDocs();
             ws();
 
-            modelFile.useShape(ShapeId.from(lexeme), location);
+            modelFile.useShape(modelFile.pool().shapeId(lexeme), location);
         }
     }
 
@@ -430,7 +434,7 @@ final class IdlModelParser extends SimpleParser {
 
     private ShapeId parseShapeName() {
         String name = ParserUtils.parseIdentifier(this);
-        return ShapeId.fromRelative(modelFile.namespace(), name);
+        return modelFile.pool().shapeId(modelFile.namespace() + "#" + name);
     }
 
     private void parseSimpleShape(ShapeId id, SourceLocation location, AbstractShapeBuilder builder) {
@@ -493,7 +497,7 @@ final class IdlModelParser extends SimpleParser {
         // Parse optional member traits.
         List<TraitEntry> memberTraits = parseDocsAndTraits();
         SourceLocation memberLocation = currentLocation();
-        String memberName = ParserUtils.parseIdentifier(this);
+        String memberName = intern(ParserUtils.parseIdentifier(this));
 
         if (defined.contains(memberName)) {
             // This is a duplicate member name.
@@ -622,7 +626,7 @@ final class IdlModelParser extends SimpleParser {
             joiner.add(parseDocCommentLine());
         } while (peekDocComment());
         pendingDocumentationComment = new TraitEntry(
-                DocumentationTrait.ID.toString(), new StringNode(joiner.toString(), location), false);
+                DocumentationTrait.ID.toString(), new StringNode(intern(joiner.toString()), location), false);
     }
 
     private boolean peekDocComment() {
@@ -722,6 +726,10 @@ final class IdlModelParser extends SimpleParser {
         return new SourceLocation(filename, line(), column());
     }
 
+    String intern(String value) {
+        return modelFile.pool().intern(value);
+    }
+
     NumberNode parseNumberNode() {
         SourceLocation location = currentLocation();
         String lexeme = ParserUtils.parseNumber(this);
@@ -48,7 +48,7 @@ final class IdlNodeParser {
                     return parseTextBlock(parser);
                 } else {
                     SourceLocation location = parser.currentLocation();
-                    return new StringNode(IdlTextParser.parseQuotedString(parser), location);
+                    return new StringNode(parser.intern(IdlTextParser.parseQuotedString(parser)), location);
                 }
             }
             case '0':
@@ -112,7 +112,7 @@ final class IdlNodeParser {
         parser.expect('"');
         parser.expect('"');
         parser.expect('"');
-        return new StringNode(IdlTextParser.parseQuotedTextAndTextBlock(parser, true), location);
+        return new StringNode(parser.intern(IdlTextParser.parseQuotedTextAndTextBlock(parser, true)), location);
     }
 
     static ObjectNode parseObjectNode(IdlModelParser parser, String parent) {
@@ -156,9 +156,9 @@ final class IdlNodeParser {
 
     static String parseNodeObjectKey(IdlModelParser parser) {
         if (parser.peek() == '"') {
-            return IdlTextParser.parseQuotedString(parser);
+            return parser.intern(IdlTextParser.parseQuotedString(parser));
         } else {
-            return ParserUtils.parseIdentifier(parser);
+            return parser.intern(ParserUtils.parseIdentifier(parser));
         }
     }
 
@@ -108,13 +108,13 @@ final class IdlTraitParser {
         if (parser.peek() == ':') {
             parser.expect(':');
             parser.ws();
-            return parseStructuredTrait(parser, new StringNode(key, location));
+            return parseStructuredTrait(parser, new StringNode(parser.intern(key), location));
         } else if (unquoted) {
             // It's a node_value that's either a keyword or shape ID.
             return IdlNodeParser.parseNodeTextWithKeywords(parser, location, key);
         } else {
             // It's a quoted string node_value.
-            return new StringNode(key, location);
+            return new StringNode(parser.intern(key), location);
         }
     }
 
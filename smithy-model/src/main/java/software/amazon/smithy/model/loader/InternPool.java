@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeIdSyntaxException;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * Interns the strings and shape IDs that are parsed while assembling a
+ * model so that values repeated across model files are only retained once.
+ *
+ * <p>Models loaded from many files repeat the same namespaces, member
+ * names, node object keys, filenames, and even documentation. Each parser
+ * otherwise creates a new copy of these values that the model retains.
+ *
+ * <p>A pool is created for each call to {@link ModelAssembler#assemble()}
+ * and is safe to use from multiple threads so that it can be shared by
+ * model files that are parsed in parallel. Unlike {@link String#intern()},
+ * values are only kept alive by the pool while the model is being
+ * assembled.
+ */
+@SmithyInternalApi
+public final class InternPool {
+
+    private final ConcurrentMap<String, String> strings = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ShapeId> shapeIds = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the pooled instance of a string.
+     *
+     * @param value String to intern.
+     * @return Returns the pooled string that is equal to the given value.
+     */
+    public String intern(String value) {
+        // Check for an existing value first to avoid locking on a hit.
+        String result = strings.get(value);
+        if (result == null) {
+            result = strings.putIfAbsent(value, value);
+            if (result == null) {
+                result = value;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the pooled shape ID for an absolute shape ID string.
+     *
+     * <p>The namespace, name, and member of pooled shape IDs are interned,
+     * so shape IDs in the same namespace or that refer to the same member
+     * name share their strings. Pooled shape IDs aren't added to the
+     * global cache of {@link ShapeId#from}, which would otherwise retain a
+     * second copy of recently parsed shape IDs.
+     *
+     * @param id Absolute shape ID to parse.
+     * @return Returns the pooled shape ID.
+     * @throws ShapeIdSyntaxException if the shape ID is invalid.
+     */
+    ShapeId shapeId(String id) {
+        ShapeId result = shapeIds.get(id);
+        if (result == null) {
+            ShapeId created = createShapeId(id);
+            result = shapeIds.putIfAbsent(id, created);
+            if (result == null) {
+                result = created;
+            }
+        }
+        return result;
+    }
+
+    private ShapeId createShapeId(String id) {
+        int namespaceEnd = id.indexOf('#');
+        if (namespaceEnd > 0) {
+            int memberStart = id.indexOf('$', namespaceEnd);
+            String namespace = intern(id.substring(0, namespaceEnd));
+            String name = intern(memberStart == -1
+                                 ? id.substring(namespaceEnd + 1)
+                                 : id.substring(namespaceEnd + 1, memberStart));
+            String member = memberStart == -1 ? null : intern(id.substring(memberStart + 1));
+            try {
+                return ShapeId.fromParts(namespace, name, member);
+            } catch (ShapeIdSyntaxException e) {
+                // Invalid shape IDs are parsed below to fail the same way as ShapeId#from.
+            }
+        }
+
+        return ShapeId.from(id);
+    }
+}
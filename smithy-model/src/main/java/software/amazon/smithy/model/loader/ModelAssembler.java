@@ -16,6 +16,7 @@
 package software.amazon.smithy.model.loader;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
@@ -28,7 +29,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -44,6 +47,7 @@ import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.ShapeType;
+import software.amazon.smithy.model.traits.LazyTrait;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.traits.TraitFactory;
 import software.amazon.smithy.model.validation.Severity;
@@ -85,6 +89,74 @@ public final class ModelAssembler {
      */
     public static final String DISABLE_JAR_CACHE = "assembler.disableJarCache";
 
+    /**
+     * Parses imported model files concurrently rather than one at a time.
+     *
+     * <p>Each import is parsed into a {@link ModelFile} using the common
+     * fork-join pool, and the parsed files are merged in the same order
+     * that they would have been merged when loading serially. The assembled
+     * model and the validation events that are emitted are the same
+     * regardless of whether this setting is enabled.
+     */
+    public static final String PARALLEL_LOADING = "assembler.parallelLoading";
+
+    /**
+     * Caches a binary snapshot of each parsed model file in the given
+     * directory, provided as a {@link Path} or a string.
+     *
+     * <p>Cache entries are keyed by a hash of the contents and filename of
+     * each model file and the version of Smithy, so a model file is only
+     * parsed again when it changes. Cache entries are validated against the
+     * other model files being assembled before they are used, and the model
+     * file is parsed as normal if a cache entry can't be used.
+     *
+     * <p>When smithy-model isn't loaded from its own JAR, like when running
+     * from source or from a shaded JAR, a hash of its classes is used as the
+     * version of Smithy. The cache isn't used if neither is available.
+     */
+    public static final String MODEL_CACHE_DIRECTORY = "assembler.modelCacheDirectory";
+
+    /**
+     * Creates traits from their Node values the first time they're accessed
+     * rather than when a model is loaded.
+     *
+     * <p>Each trait is created the first time it's accessed through a
+     * shape, so models that are loaded with validation disabled only
+     * create the traits that are actually used. Invalid trait values are
+     * still reported as validation events when validation is enabled, but
+     * are otherwise thrown as a {@link SourceException} when the trait is
+     * first accessed.
+     */
+    public static final String LAZY_TRAITS = "assembler.lazyTraits";
+
+    /**
+     * Stops validating a model once an ERROR event that isn't suppressed
+     * is emitted.
+     *
+     * <p>Validators that haven't started running when the first ERROR
+     * event is emitted are skipped, so the result only contains some of
+     * the events that would otherwise be emitted. The result contains an
+     * ERROR event if and only if it would when fully validating the model,
+     * which is all that's needed to check if a model is valid.
+     */
+    public static final String FAIL_FAST = "assembler.failFast";
+
+    /**
+     * Only reports validation events that have at least the given
+     * {@link Severity}, provided as a {@code Severity} or its name.
+     *
+     * <p>Validators that can only emit events with a lower severity, as
+     * declared by {@link Validator#getEmittedSeverities()}, are not run.
+     * For example, setting this to {@code DANGER} skips validators that
+     * only emit NOTE and WARNING events.
+     *
+     * <p>Events are compared using the severity they were emitted with,
+     * before suppressions are applied. A suppressed event is reported
+     * with a severity of {@code SUPPRESSED} if its original severity is
+     * at least the minimum severity, and it is dropped otherwise.
+     */
+    public static final String MINIMUM_SEVERITY = "assembler.minimumSeverity";
+
     private static final Logger LOGGER = Logger.getLogger(ModelAssembler.class.getName());
 
     private static final Consumer<ValidationEvent> DEFAULT_EVENT_LISTENER = ValidationEvent -> {
@@ -103,7 +175,9 @@ public final class ModelAssembler {
     private final Map<String, Node> metadata = new HashMap<>();
     private final Map<String, Object> properties = new HashMap<>();
     private boolean disablePrelude;
+    private ModelFileCache.Memory parseCache;
     private Consumer<ValidationEvent> validationEventListener = DEFAULT_EVENT_LISTENER;
+    private Consumer<AssemblyStats> statsListener;
 
     // Lazy initialization holder class idiom to hold a default trait factory.
     static final class LazyTraitFactoryHolder {
@@ -129,7 +203,11 @@ public final class ModelAssembler {
         assembler.disablePrelude = disablePrelude;
         assembler.properties.putAll(properties);
         assembler.disableValidation = disableValidation;
+        if (parseCache != null) {
+            assembler.parseCache = new ModelFileCache.Memory(parseCache);
+        }
         assembler.validationEventListener = validationEventListener;
+        assembler.statsListener = statsListener;
         return assembler;
     }
 
@@ -149,6 +227,8 @@ public final class ModelAssembler {
      *     <li>Metadata registered via {@link #putMetadata}</li>
      *     <li>Validation is re-enabled if it was disabled.</li>
      *     <li>Validation event listener via {@link #validationEventListener(Consumer)}</li>
+     *     <li>Stats listener via {@link #statsListener(Consumer)}</li>
+     *     <li>Parsed model files retained by {@link #enableParseCache()}</li>
      * </ul>
      *
      * <p>The state of {@link #disablePrelude} is reset such that the prelude
@@ -162,11 +242,15 @@ public final class ModelAssembler {
         metadata.clear();
         mergeModels.clear();
         inputStreamModels.clear();
+        if (parseCache != null) {
+            parseCache.clear();
+        }
         validators.clear();
         documentNodes.clear();
         disablePrelude = false;
         disableValidation = false;
         validationEventListener = DEFAULT_EVENT_LISTENER;
+        statsListener = null;
         return this;
     }
 
@@ -303,21 +387,7 @@ public final class ModelAssembler {
     public ModelAssembler addImport(URL url) {
         Objects.requireNonNull(url, "The provided url to ModelAssembler#addImport was null");
 
-        // Format the key used to de-dupe files. Note that a "jar:" prefix
-        // can't be removed since it's needed in order to load files from JARs
-        // and differentiate between top-level JARs and contents of JARs.
-        String key = url.toExternalForm();
-
-        if (key.startsWith("file:")) {
-            try {
-                // Paths.get ensures paths are normalized for Windows too.
-                key = Paths.get(url.toURI()).toString();
-            } catch (URISyntaxException e) {
-                key = key.substring(5);
-            }
-        }
-
-        inputStreamModels.put(key, () -> {
+        inputStreamModels.put(createImportKey(url), () -> {
             try {
                 URLConnection connection = url.openConnection();
                 if (properties.containsKey(ModelAssembler.DISABLE_JAR_CACHE)) {
@@ -332,6 +402,24 @@ public final class ModelAssembler {
         return this;
     }
 
+    // Format the key used to de-dupe files. Note that a "jar:" prefix
+    // can't be removed since it's needed in order to load files from JARs
+    // and differentiate between top-level JARs and contents of JARs.
+    static String createImportKey(URL url) {
+        String key = url.toExternalForm();
+
+        if (key.startsWith("file:")) {
+            try {
+                // Paths.get ensures paths are normalized for Windows too.
+                key = Paths.get(url.toURI()).toString();
+            } catch (URISyntaxException e) {
+                key = key.substring(5);
+            }
+        }
+
+        return key;
+    }
+
     /**
      * Disables automatically loading the prelude models.
      *
@@ -496,6 +584,87 @@ public final class ModelAssembler {
         return this;
     }
 
+    /**
+     * Sets a listener that is invoked with the {@link AssemblyStats} of
+     * each assembled model.
+     *
+     * <p>The listener is invoked after the model is assembled and validated,
+     * including when the model could not be assembled. Stats include how
+     * long it took to parse each file, to perform each phase of assembling
+     * the model, and to run each validator, which can be used to find what
+     * makes a model slow to build.
+     *
+     * @param statsListener Listener invoked with the stats of each assembly.
+     * @return Returns the assembler.
+     */
+    public ModelAssembler statsListener(Consumer<AssemblyStats> statsListener) {
+        this.statsListener = statsListener;
+        return this;
+    }
+
+    /**
+     * Retains a snapshot of each parsed model file in memory so that
+     * subsequent assemblies don't parse model files that haven't changed.
+     *
+     * <p>This is only a parse cache. Every ".smithy" and ".json" import is
+     * still read on each assembly, and a snapshot is only used if the
+     * contents of the file are unchanged and the shapes defined across
+     * all of the other model files still resolve the same way. Forward
+     * references are then resolved, every shape is built, and the entire
+     * model is validated, just like assembling every file from scratch.
+     *
+     * @return Returns the assembler.
+     */
+    public ModelAssembler enableParseCache() {
+        if (parseCache == null) {
+            parseCache = new ModelFileCache.Memory();
+        }
+        return this;
+    }
+
+    /**
+     * Assembles the model again after the given files changed, were
+     * added, or were removed.
+     *
+     * <p>Each given path that exists is imported again, replacing any
+     * previous import of the same path. Each given path that no longer
+     * exists is removed from the assembler, along with any files that
+     * were imported from it if it was a directory. Paths must be given
+     * in the same form that they were originally imported.
+     *
+     * <p>This method enables the parse cache if it isn't already enabled,
+     * so model files that didn't change aren't parsed again if the model
+     * was previously assembled. The entire model is still built and
+     * validated.
+     *
+     * @param changedFiles Files or directories that changed.
+     * @return Returns the validated result that optionally contains a Model
+     *  and validation events.
+     * @see #enableParseCache()
+     */
+    public ValidatedResult<Model> reassemble(Collection<Path> changedFiles) {
+        enableParseCache();
+
+        for (Path path : changedFiles) {
+            if (Files.exists(path)) {
+                addImport(path);
+            } else {
+                String removed = path.toString();
+                String removedChildren = removed.endsWith(File.separator) ? removed : removed + File.separator;
+                Iterator<String> iterator = inputStreamModels.keySet().iterator();
+                while (iterator.hasNext()) {
+                    String key = iterator.next();
+                    if (key.equals(removed) || key.startsWith(removedChildren)) {
+                        iterator.remove();
+                        parseCache.invalidate(key);
+                    }
+                }
+            }
+        }
+
+        return assemble();
+    }
+
     /**
      * Assembles the model and returns the validated result.
      *
@@ -540,20 +709,43 @@ public final class ModelAssembler {
      *  and validation events.
      */
     public ValidatedResult<Model> assemble() {
+        // Nothing is timed unless something is listening for the stats.
+        if (statsListener == null) {
+            return assemble(null);
+        }
+
+        AssemblyStats.Recorder recorder = new AssemblyStats.Recorder();
+        ValidatedResult<Model> result = assemble(recorder);
+        statsListener.accept(recorder.finish(result));
+        return result;
+    }
+
+    private ValidatedResult<Model> assemble(AssemblyStats.Recorder recorder) {
         if (traitFactory == null) {
             traitFactory = LazyTraitFactoryHolder.INSTANCE;
         }
 
+        TraitFactory modelTraitFactory = isLazyTraitsEnabled() ? LazyTrait.createFactory(traitFactory) : traitFactory;
+
         // Create "model files" for the prelude, manually added shapes, imports, etc.
-        CompositeModelFile composite = new CompositeModelFile(traitFactory, createModelFiles());
+        // Strings and shape IDs parsed from each file are interned in a pool shared by every file.
+        long time = System.nanoTime();
+        List<ModelFile> modelFiles = createModelFiles(modelTraitFactory, new InternPool(), recorder);
+        CompositeModelFile composite = new CompositeModelFile(modelTraitFactory, modelFiles);
+        time = recordPhase(recorder, AssemblyStats.Phase.PARSE, time);
 
         try {
             TraitContainer traits = composite.resolveShapes(composite.shapeIds(), composite::getShapeType);
+            List<ValidationEvent> lazyTraitEvents = createLazyTraits(traits);
+            time = recordPhase(recorder, AssemblyStats.Phase.RESOLVE_SHAPES, time);
             Model model = Model.builder()
                     .metadata(composite.metadata())
                     .addShapes(composite.createShapes(traits))
                     .build();
-            return validate(model, traits, composite.events());
+            recordPhase(recorder, AssemblyStats.Phase.CREATE_SHAPES, time);
+            List<ValidationEvent> events = composite.events();
+            events.addAll(lazyTraitEvents);
+            return validate(model, traits, events, recorder);
         } catch (SourceException e) {
             List<ValidationEvent> events = new ArrayList<>();
             events.add(ValidationEvent.fromSourceException(e));
@@ -562,7 +754,11 @@ public final class ModelAssembler {
         }
     }
 
-    private List<ModelFile> createModelFiles() {
+    private List<ModelFile> createModelFiles(
+            TraitFactory traitFactory,
+            InternPool pool,
+            AssemblyStats.Recorder recorder
+    ) {
         List<ModelFile> modelFiles = new ArrayList<>();
 
         if (!disablePrelude) {
@@ -599,24 +795,74 @@ public final class ModelAssembler {
         }
 
         // Load model files and merge them into the assembler.
-        for (Map.Entry<String, Supplier<InputStream>> entry : inputStreamModels.entrySet()) {
-            try {
-                ModelFile loaded = ModelLoader.load(traitFactory, properties, entry.getKey(), entry.getValue());
-                if (loaded == null) {
-                    LOGGER.warning(() -> "No ModelLoader was able to load " + entry.getKey());
-                } else {
-                    modelFiles.add(loaded);
-                }
-            } catch (SourceException e) {
-                assemblerModelFile.events().add(ValidationEvent.fromSourceException(e));
+        ModelFileCache cache = parseCache != null
+                ? parseCache
+                : ModelFileCache.fromProperties(properties);
+        if (isParallelLoadingEnabled()) {
+            // Parsing happens concurrently, but results are merged using the
+            // iteration order of the imports, just like the serial path.
+            List<Map.Entry<String, Supplier<InputStream>>> entries = new ArrayList<>(inputStreamModels.entrySet());
+            List<Pair<ModelFile, SourceException>> results = entries.parallelStream()
+                    .map(entry -> loadImportCapturingErrors(traitFactory, pool, entry, cache, recorder))
+                    .collect(Collectors.toList());
+            for (int i = 0; i < entries.size(); i++) {
+                addLoadedModelFile(entries.get(i).getKey(), results.get(i), modelFiles, assemblerModelFile);
+            }
+        } else {
+            for (Map.Entry<String, Supplier<InputStream>> entry : inputStreamModels.entrySet()) {
+                Pair<ModelFile, SourceException> result = loadImportCapturingErrors(
+                        traitFactory, pool, entry, cache, recorder);
+                addLoadedModelFile(entry.getKey(), result, modelFiles, assemblerModelFile);
             }
         }
 
         return modelFiles;
     }
 
-    private ValidatedResult<Model> validate(Model model, TraitContainer traits, List<ValidationEvent> events) {
+    private Pair<ModelFile, SourceException> loadImportCapturingErrors(
+            TraitFactory traitFactory,
+            InternPool pool,
+            Map.Entry<String, Supplier<InputStream>> entry,
+            ModelFileCache cache,
+            AssemblyStats.Recorder recorder
+    ) {
+        String filename = entry.getKey();
+        long start = recorder == null ? 0 : System.nanoTime();
+        try {
+            return Pair.of(ModelLoader.load(traitFactory, pool, properties, filename, entry.getValue(), cache), null);
+        } catch (SourceException e) {
+            return Pair.of(null, e);
+        } finally {
+            if (recorder != null) {
+                recorder.recordFile(filename, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private void addLoadedModelFile(
+            String filename,
+            Pair<ModelFile, SourceException> result,
+            List<ModelFile> modelFiles,
+            ModelFile assemblerModelFile
+    ) {
+        if (result.right != null) {
+            assemblerModelFile.events().add(ValidationEvent.fromSourceException(result.right));
+        } else if (result.left == null) {
+            LOGGER.warning(() -> "No ModelLoader was able to load " + filename);
+        } else {
+            modelFiles.add(result.left);
+        }
+    }
+
+    private ValidatedResult<Model> validate(
+            Model model,
+            TraitContainer traits,
+            List<ValidationEvent> events,
+            AssemblyStats.Recorder recorder
+    ) {
+        long time = System.nanoTime();
         validateTraits(model.getShapeIds(), traits, events);
+        time = recordPhase(recorder, AssemblyStats.Phase.VALIDATE_TRAITS, time);
 
         // If ERROR validation events occur while loading, then performing more
         // granular semantic validation will only obscure the root cause of errors.
@@ -635,8 +881,12 @@ public final class ModelAssembler {
                 .validatorFactory(validatorFactory)
                 .eventListener(validationEventListener)
                 .includeEvents(events)
+                .recorder(recorder)
+                .failFast(isFailFastEnabled())
+                .minimumSeverity(getMinimumSeverity())
                 .createValidator()
                 .validate(model);
+        recordPhase(recorder, AssemblyStats.Phase.VALIDATE, time);
 
         return new ValidatedResult<>(model, mergedEvents);
     }
@@ -647,7 +897,7 @@ public final class ModelAssembler {
             ShapeId target = entry.getKey();
             for (Trait trait : entry.getValue().values()) {
                 // Find trait values that weren't defined, and ignore synthetic traits.
-                if (!trait.isSynthetic() && !ids.contains(trait.toShapeId())) {
+                if (!ids.contains(trait.toShapeId()) && !trait.isSynthetic()) {
                     events.add(ValidationEvent.builder()
                             .id(Validator.MODEL_ERROR)
                             .severity(severity)
@@ -672,8 +922,73 @@ public final class ModelAssembler {
         }
     }
 
+    private static long recordPhase(AssemblyStats.Recorder recorder, AssemblyStats.Phase phase, long startNanos) {
+        return recorder == null ? startNanos : recorder.recordPhase(phase, startNanos);
+    }
+
+    // Validation needs every trait, so lazy traits are created before shapes
+    // are built when validation is enabled and replaced by the created trait.
+    // Invalid trait values are then reported and omitted from shapes just like
+    // when traits aren't lazy.
+    private List<ValidationEvent> createLazyTraits(TraitContainer resolvedTraits) {
+        List<ValidationEvent> events = new ArrayList<>();
+        if (disableValidation || !isLazyTraitsEnabled()) {
+            return events;
+        }
+
+        for (Map.Entry<ShapeId, Map<ShapeId, Trait>> entry : resolvedTraits.traits().entrySet()) {
+            Map<ShapeId, Trait> preludeTraits = resolvedTraits.getTraitsAppliedToPrelude().get(entry.getKey());
+            Iterator<Map.Entry<ShapeId, Trait>> iterator = entry.getValue().entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<ShapeId, Trait> traitEntry = iterator.next();
+                if (traitEntry.getValue() instanceof LazyTrait) {
+                    ShapeId traitId = traitEntry.getKey();
+                    try {
+                        Trait trait = ((LazyTrait) traitEntry.getValue()).get();
+                        traitEntry.setValue(trait);
+                        if (preludeTraits != null && preludeTraits.containsKey(traitId)) {
+                            preludeTraits.put(traitId, trait);
+                        }
+                    } catch (SourceException e) {
+                        events.add(TraitContainer.createTraitError(entry.getKey(), traitId, e));
+                        iterator.remove();
+                        if (preludeTraits != null) {
+                            preludeTraits.remove(traitId);
+                        }
+                    }
+                }
+            }
+        }
+
+        return events;
+    }
+
     private boolean areUnknownTraitsAllowed() {
         Object allowUnknown = properties.get(ModelAssembler.ALLOW_UNKNOWN_TRAITS);
         return allowUnknown != null && (boolean) allowUnknown;
     }
+
+    private boolean isParallelLoadingEnabled() {
+        Object parallel = properties.get(ModelAssembler.PARALLEL_LOADING);
+        return parallel != null && (boolean) parallel;
+    }
+
+    private boolean isLazyTraitsEnabled() {
+        Object lazy = properties.get(ModelAssembler.LAZY_TRAITS);
+        return lazy != null && (boolean) lazy;
+    }
+
+    private boolean isFailFastEnabled() {
+        Object failFast = properties.get(ModelAssembler.FAIL_FAST);
+        return failFast != null && (boolean) failFast;
+    }
+
+    private Severity getMinimumSeverity() {
+        Object value = properties.get(ModelAssembler.MINIMUM_SEVERITY);
+        if (value == null || value instanceof Severity) {
+            return (Severity) value;
+        }
+        return Severity.fromString(value.toString()).orElseThrow(() -> new IllegalArgumentException(
+                "Invalid " + ModelAssembler.MINIMUM_SEVERITY + " severity: " + value));
+    }
 }
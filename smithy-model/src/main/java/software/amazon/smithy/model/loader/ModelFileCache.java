@@ -0,0 +1,351 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.traits.TraitFactory;
+
+/**
+ * A cache of {@link ModelFileSnapshot}s used to avoid parsing model files
+ * that haven't changed.
+ *
+ * <p>Two kinds of caches are supported: a persistent, content-addressed
+ * cache that stores snapshots in a directory, and an in-memory cache that
+ * retains the latest snapshot of each file across assemblies. Both only
+ * skip parsing; the loaded model files are still resolved, built, and
+ * validated as part of each assembly.
+ *
+ * @see ModelAssembler#MODEL_CACHE_DIRECTORY
+ * @see ModelAssembler#enableParseCache()
+ */
+abstract class ModelFileCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ModelFileCache.class.getName());
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Creates a cache using the directory configured in the given
+     * assembler properties.
+     *
+     * @param properties Bag of loading properties.
+     * @return Returns the cache, or {@code null} if caching is not enabled or not supported.
+     */
+    static ModelFileCache fromProperties(Map<String, Object> properties) {
+        Object value = properties.get(ModelAssembler.MODEL_CACHE_DIRECTORY);
+        if (value == null || Directory.SMITHY_VERSION == null) {
+            return null;
+        } else if (value instanceof Path) {
+            return new Directory((Path) value);
+        } else {
+            return new Directory(Paths.get(value.toString()));
+        }
+    }
+
+    /**
+     * Loads a model file from the cache, or parses it and populates the
+     * cache once the model file has been resolved.
+     *
+     * @param traitFactory Factory used to create traits.
+     * @param pool Pool used to share strings and shape IDs across model files.
+     * @param filename Filename of the model file.
+     * @param contentSupplier Supplier that reads the contents of the model file.
+     * @return Returns the loaded model file.
+     */
+    final ModelFile load(
+            TraitFactory traitFactory,
+            InternPool pool,
+            String filename,
+            Supplier<String> contentSupplier
+    ) {
+        // Contents are read at most once, and only if they're actually needed.
+        String[] contents = new String[1];
+        Supplier<String> memoized = () -> {
+            if (contents[0] == null) {
+                contents[0] = contentSupplier.get();
+            }
+            return contents[0];
+        };
+
+        String key = computeKey(filename, memoized);
+        Function<TraitFactory, ModelFile> parser = factory -> ModelLoader.parse(
+                factory, pool, filename, memoized.get());
+        ModelFileSnapshot snapshot = read(filename, key);
+
+        if (snapshot != null) {
+            LOGGER.finest(() -> "Loading " + filename + " from model cache");
+            return new CachedModelFile(traitFactory, pool, snapshot, () -> parser.apply(traitFactory));
+        }
+
+        return new SnapshottingModelFile(traitFactory, parser, created -> write(filename, key, created));
+    }
+
+    /**
+     * Computes the key used to store the snapshot of a model file.
+     *
+     * @param filename Filename of the model file.
+     * @param contents Supplier of the contents of the model file.
+     * @return Returns the computed key.
+     */
+    abstract String computeKey(String filename, Supplier<String> contents);
+
+    /**
+     * Reads a snapshot from the cache.
+     *
+     * @param filename Filename of the model file.
+     * @param key Key of the snapshot to read.
+     * @return Returns the snapshot, or {@code null} if not found.
+     */
+    abstract ModelFileSnapshot read(String filename, String key);
+
+    /**
+     * Writes a snapshot to the cache.
+     *
+     * @param filename Filename of the model file.
+     * @param key Key of the snapshot to write.
+     * @param snapshot Snapshot to write.
+     */
+    abstract void write(String filename, String key, ModelFileSnapshot snapshot);
+
+    /**
+     * Computes a hex encoded SHA-256 digest of the given values.
+     *
+     * @param values Values to digest.
+     * @return Returns the digest.
+     */
+    static String digest(String... values) {
+        MessageDigest digest = createDigest();
+        for (String value : values) {
+            updateDigest(digest, value.getBytes(StandardCharsets.UTF_8));
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void updateDigest(MessageDigest digest, byte[] bytes) {
+        // Prefix each value with its length so that values can't bleed into each other.
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+
+    private static String toHex(byte[] hash) {
+        char[] result = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            result[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+            result[i * 2 + 1] = HEX[hash[i] & 0xF];
+        }
+        return new String(result);
+    }
+
+    /**
+     * A persistent, content-addressed cache that stores snapshots in a directory.
+     *
+     * <p>Each snapshot is stored in its own file named after a hash of the
+     * snapshot format, the version of Smithy that created it, the filename
+     * of the model file, and the contents of the model file. Changing any of
+     * these inputs results in a cache miss.
+     *
+     * <p>The version of Smithy is read from the manifest of the smithy-model
+     * JAR. When that isn't available, like when running from source or from
+     * a shaded JAR, a hash of the classes of smithy-model is used instead so
+     * that different builds never share cache entries. The cache is disabled
+     * if neither can be determined.
+     */
+    static final class Directory extends ModelFileCache {
+        private static final String FORMAT_VERSION = "1";
+        private static final String MODULE_NAME = "software.amazon.smithy.model";
+        private static final String SMITHY_VERSION = resolveSmithyVersion();
+
+        private final Path directory;
+
+        Directory(Path directory) {
+            this.directory = directory;
+        }
+
+        @Override
+        String computeKey(String filename, Supplier<String> contents) {
+            return digest(FORMAT_VERSION, SMITHY_VERSION, filename, contents.get());
+        }
+
+        @Override
+        ModelFileSnapshot read(String filename, String key) {
+            Path entry = directory.resolve(key + ".bin");
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(entry))) {
+                return ModelFileSnapshot.read(in);
+            } catch (NoSuchFileException e) {
+                return null;
+            } catch (IOException | RuntimeException e) {
+                // A corrupt or unreadable cache entry is treated like a miss and is overwritten.
+                LOGGER.warning(() -> "Ignoring invalid model cache entry " + entry + ": " + e.getMessage());
+                return null;
+            }
+        }
+
+        @Override
+        void write(String filename, String key, ModelFileSnapshot snapshot) {
+            Path entry = directory.resolve(key + ".bin");
+            try {
+                Files.createDirectories(directory);
+                // Write to a temporary file and move it into place so that
+                // concurrent readers never observe a partially written entry.
+                Path temp = Files.createTempFile(directory, key, ".tmp");
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                    snapshot.write(out);
+                }
+                try {
+                    Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                LOGGER.warning(() -> "Unable to write model cache entry " + entry + ": " + e.getMessage());
+            }
+        }
+
+        private static String resolveSmithyVersion() {
+            Package modelPackage = Model.class.getPackage();
+            if (modelPackage != null
+                    && MODULE_NAME.equals(modelPackage.getImplementationTitle())
+                    && modelPackage.getImplementationVersion() != null) {
+                return modelPackage.getImplementationVersion();
+            }
+
+            try {
+                return "build-" + hashCodeSource();
+            } catch (IOException | URISyntaxException | RuntimeException e) {
+                LOGGER.warning(() -> "Disabling the model cache because the version of Smithy can't be "
+                                     + "determined: " + e);
+                return null;
+            }
+        }
+
+        // Hashes the JAR or directory that contains the classes of smithy-model.
+        private static String hashCodeSource() throws IOException, URISyntaxException {
+            CodeSource codeSource = Model.class.getProtectionDomain().getCodeSource();
+            if (codeSource == null || codeSource.getLocation() == null) {
+                throw new IOException("The location of smithy-model is unknown");
+            }
+
+            Path location = Paths.get(codeSource.getLocation().toURI());
+            MessageDigest digest = createDigest();
+            if (Files.isDirectory(location)) {
+                List<Path> files;
+                try (Stream<Path> walk = Files.walk(location)) {
+                    files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+                }
+                for (Path file : files) {
+                    updateDigest(digest, location.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                    updateDigest(digest, Files.readAllBytes(file));
+                }
+            } else {
+                updateDigest(digest, Files.readAllBytes(location));
+            }
+
+            return toHex(digest.digest());
+        }
+    }
+
+    /**
+     * An in-memory cache that retains the latest snapshot of each model file.
+     *
+     * <p>Each snapshot is stored along with a hash of the contents of the
+     * model file that created it, so a model file that changed on disk is
+     * parsed again even if its snapshot was never invalidated.
+     */
+    static final class Memory extends ModelFileCache {
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+        Memory() {}
+
+        Memory(Memory other) {
+            entries.putAll(other.entries);
+        }
+
+        /**
+         * Removes the snapshot of a model file.
+         *
+         * @param filename Filename of the model file to remove.
+         */
+        void invalidate(String filename) {
+            entries.remove(filename);
+        }
+
+        /**
+         * Removes every snapshot.
+         */
+        void clear() {
+            entries.clear();
+        }
+
+        @Override
+        String computeKey(String filename, Supplier<String> contents) {
+            return digest(contents.get());
+        }
+
+        @Override
+        ModelFileSnapshot read(String filename, String key) {
+            Entry entry = entries.get(filename);
+            return entry != null && entry.key.equals(key) ? entry.snapshot : null;
+        }
+
+        @Override
+        void write(String filename, String key, ModelFileSnapshot snapshot) {
+            entries.put(filename, new Entry(key, snapshot));
+        }
+
+        private static final class Entry {
+            private final String key;
+            private final ModelFileSnapshot snapshot;
+
+            Entry(String key, ModelFileSnapshot snapshot) {
+                this.key = key;
+                this.snapshot = snapshot;
+            }
+        }
+    }
+}
@@ -0,0 +1,462 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.BooleanNode;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.NodeVisitor;
+import software.amazon.smithy.model.node.NullNode;
+import software.amazon.smithy.model.node.NumberNode;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeType;
+
+/**
+ * A compact, binary snapshot of a single loaded {@link ModelFile}.
+ *
+ * <p>A snapshot stores the model file as a JSON AST document in which
+ * every node retains the source location of the original file, allowing
+ * the document to be loaded using the {@link AstModelLoader} without
+ * losing any source information. Traits are stored as the raw node values
+ * that were given to the {@link software.amazon.smithy.model.traits.TraitFactory}.
+ *
+ * <p>Resolving forward references in an IDL file depends on the shapes
+ * defined in other model files (for example, a relative shape name might
+ * resolve to a shape in the current namespace or to a prelude shape). A
+ * snapshot records every such observation about other files so that it is
+ * only reused when each observation still holds.
+ */
+final class ModelFileSnapshot {
+
+    private static final int MAGIC = 0x534D4331;
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte STRING = 3;
+    private static final byte NUMBER = 4;
+    private static final byte ARRAY = 5;
+    private static final byte OBJECT = 6;
+
+    private static final byte INTEGER = 0;
+    private static final byte LONG = 1;
+    private static final byte DOUBLE = 2;
+    private static final byte FLOAT = 3;
+    private static final byte SHORT = 4;
+    private static final byte BYTE = 5;
+    private static final byte BIG_INTEGER = 6;
+    private static final byte BIG_DECIMAL = 7;
+
+    private final ObjectNode document;
+    private final Map<ShapeId, Boolean> observedIds;
+    private final Map<ShapeId, ShapeType> observedTypes;
+
+    /**
+     * @param document JSON AST document of the model file.
+     * @param observedIds Shape IDs that were checked for existence while resolving the file.
+     * @param observedTypes Shape types that were queried while resolving the file, with null for missing shapes.
+     */
+    ModelFileSnapshot(ObjectNode document, Map<ShapeId, Boolean> observedIds, Map<ShapeId, ShapeType> observedTypes) {
+        this.document = document;
+        this.observedIds = observedIds;
+        this.observedTypes = observedTypes;
+    }
+
+    /**
+     * Gets the JSON AST document of the snapshot.
+     *
+     * @return Returns the document.
+     */
+    ObjectNode document() {
+        return document;
+    }
+
+    /**
+     * Checks if every observation made while creating the snapshot still
+     * holds for the given set of shape IDs and type provider.
+     *
+     * @param ids All of the shape IDs found across all ModelFiles being assembled.
+     * @param typeProvider A function that can return type information about shapes.
+     * @return Returns true if the snapshot can be used in place of parsing the file.
+     */
+    boolean isValidFor(Set<ShapeId> ids, Function<ShapeId, ShapeType> typeProvider) {
+        for (Map.Entry<ShapeId, Boolean> entry : observedIds.entrySet()) {
+            if (ids.contains(entry.getKey()) != entry.getValue()) {
+                return false;
+            }
+        }
+
+        for (Map.Entry<ShapeId, ShapeType> entry : observedTypes.entrySet()) {
+            if (typeProvider.apply(entry.getKey()) != entry.getValue()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Writes the snapshot to the given stream.
+     *
+     * <p>Strings are written once to a table at the start of the snapshot
+     * and referenced by index everywhere else, which keeps repeated values
+     * like filenames, namespaces, and trait names from bloating the output.
+     *
+     * @param out Stream to write to.
+     * @throws IOException if the snapshot cannot be written.
+     */
+    void write(OutputStream out) throws IOException {
+        Writer writer = new Writer();
+        writer.writeVarInt(observedIds.size());
+        for (Map.Entry<ShapeId, Boolean> entry : observedIds.entrySet()) {
+            writer.writeString(entry.getKey().toString());
+            writer.body.writeBoolean(entry.getValue());
+        }
+        writer.writeVarInt(observedTypes.size());
+        for (Map.Entry<ShapeId, ShapeType> entry : observedTypes.entrySet()) {
+            writer.writeString(entry.getKey().toString());
+            writer.writeString(entry.getValue() == null ? "" : entry.getValue().toString());
+        }
+        document.accept(writer);
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        writeVarInt(data, writer.strings.size());
+        for (String value : writer.strings.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(data, bytes.length);
+            data.write(bytes);
+        }
+        writer.bytes.writeTo(data);
+        data.flush();
+    }
+
+    /**
+     * Reads a snapshot from the given stream.
+     *
+     * @param in Stream to read from.
+     * @return Returns the read snapshot.
+     * @throws IOException if the stream does not contain a valid snapshot.
+     */
+    static ModelFileSnapshot read(InputStream in) throws IOException {
+        return read(in, UnaryOperator.identity());
+    }
+
+    /**
+     * Reads a snapshot from the given stream, relocating the filename of
+     * every source location in the snapshot.
+     *
+     * <p>This is used when a snapshot is created somewhere other than where
+     * the model file is loaded from, like when it is created at build time.
+     *
+     * @param in Stream to read from.
+     * @param filenameMapper Function that maps stored filenames to the filenames to use.
+     * @return Returns the read snapshot.
+     * @throws IOException if the stream does not contain a valid snapshot.
+     */
+    static ModelFileSnapshot read(InputStream in, UnaryOperator<String> filenameMapper) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Invalid model file snapshot");
+        }
+
+        Reader reader = new Reader(data, filenameMapper);
+        int stringCount = readVarInt(data);
+        reader.strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            byte[] bytes = new byte[readVarInt(data)];
+            data.readFully(bytes);
+            reader.strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int idCount = readVarInt(data);
+        Map<ShapeId, Boolean> observedIds = new LinkedHashMap<>(idCount);
+        for (int i = 0; i < idCount; i++) {
+            observedIds.put(ShapeId.from(reader.readString()), data.readBoolean());
+        }
+
+        int typeCount = readVarInt(data);
+        Map<ShapeId, ShapeType> observedTypes = new LinkedHashMap<>(typeCount);
+        for (int i = 0; i < typeCount; i++) {
+            ShapeId id = ShapeId.from(reader.readString());
+            String type = reader.readString();
+            observedTypes.put(id, type.isEmpty() ? null : ShapeType.fromString(type)
+                    .orElseThrow(() -> new IOException("Invalid shape type in model file snapshot: " + type)));
+        }
+
+        return new ModelFileSnapshot(reader.readNode().expectObjectNode(), observedIds, observedTypes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof ModelFileSnapshot)) {
+            return false;
+        }
+        ModelFileSnapshot other = (ModelFileSnapshot) o;
+        return document.equals(other.document)
+               && observedIds.equals(other.observedIds)
+               && observedTypes.equals(other.observedTypes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(document, observedIds, observedTypes);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed variable length integer in model file snapshot");
+    }
+
+    private static final class Writer implements NodeVisitor<Void> {
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream body = new DataOutputStream(bytes);
+
+        private void writeVarInt(int value) {
+            try {
+                ModelFileSnapshot.writeVarInt(body, value);
+            } catch (IOException e) {
+                // Writing to a ByteArrayOutputStream never fails.
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void writeString(String value) {
+            Integer index = strings.get(value);
+            if (index == null) {
+                index = strings.size();
+                strings.put(value, index);
+            }
+            writeVarInt(index);
+        }
+
+        private void writeHeader(byte tag, Node node) {
+            SourceLocation location = node.getSourceLocation();
+            try {
+                body.writeByte(tag);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            writeString(location.getFilename());
+            writeVarInt(location.getLine());
+            writeVarInt(location.getColumn());
+        }
+
+        @Override
+        public Void arrayNode(ArrayNode node) {
+            writeHeader(ARRAY, node);
+            writeVarInt(node.size());
+            for (Node element : node.getElements()) {
+                element.accept(this);
+            }
+            return null;
+        }
+
+        @Override
+        public Void booleanNode(BooleanNode node) {
+            writeHeader(node.getValue() ? TRUE : FALSE, node);
+            return null;
+        }
+
+        @Override
+        public Void nullNode(NullNode node) {
+            writeHeader(NULL, node);
+            return null;
+        }
+
+        @Override
+        public Void numberNode(NumberNode node) {
+            writeHeader(NUMBER, node);
+            Number value = node.getValue();
+            try {
+                if (value instanceof Integer) {
+                    body.writeByte(INTEGER);
+                    body.writeInt(value.intValue());
+                } else if (value instanceof Long) {
+                    body.writeByte(LONG);
+                    body.writeLong(value.longValue());
+                } else if (value instanceof Double) {
+                    body.writeByte(DOUBLE);
+                    body.writeDouble(value.doubleValue());
+                } else if (value instanceof Float) {
+                    body.writeByte(FLOAT);
+                    body.writeFloat(value.floatValue());
+                } else if (value instanceof Short) {
+                    body.writeByte(SHORT);
+                    body.writeShort(value.shortValue());
+                } else if (value instanceof Byte) {
+                    body.writeByte(BYTE);
+                    body.writeByte(value.byteValue());
+                } else if (value instanceof BigInteger) {
+                    body.writeByte(BIG_INTEGER);
+                    writeString(value.toString());
+                } else {
+                    body.writeByte(BIG_DECIMAL);
+                    writeString(new BigDecimal(value.toString()).toString());
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        }
+
+        @Override
+        public Void objectNode(ObjectNode node) {
+            writeHeader(OBJECT, node);
+            writeVarInt(node.size());
+            for (Map.Entry<StringNode, Node> entry : node.getMembers().entrySet()) {
+                entry.getKey().accept(this);
+                entry.getValue().accept(this);
+            }
+            return null;
+        }
+
+        @Override
+        public Void stringNode(StringNode node) {
+            writeHeader(STRING, node);
+            writeString(node.getValue());
+            return null;
+        }
+    }
+
+    private static final class Reader {
+        private final DataInputStream data;
+        private final UnaryOperator<String> filenameMapper;
+        private final Map<String, SourceLocation> files = new HashMap<>();
+        private String[] strings;
+
+        private Reader(DataInputStream data, UnaryOperator<String> filenameMapper) {
+            this.data = data;
+            this.filenameMapper = filenameMapper;
+        }
+
+        private String readString() throws IOException {
+            int index = readVarInt(data);
+            if (index < 0 || index >= strings.length) {
+                throw new IOException("Invalid string reference in model file snapshot: " + index);
+            }
+            return strings[index];
+        }
+
+        private SourceLocation readLocation() throws IOException {
+            String filename = filenameMapper.apply(readString());
+            int line = readVarInt(data);
+            int column = readVarInt(data);
+            if (line == 0 && column == 0) {
+                // Reuse locations that only refer to a file, like SourceLocation.NONE.
+                return files.computeIfAbsent(filename, SourceLocation::new);
+            }
+            return new SourceLocation(filename, line, column);
+        }
+
+        private Node readNode() throws IOException {
+            byte tag = data.readByte();
+            SourceLocation location = readLocation();
+            switch (tag) {
+                case NULL:
+                    return new NullNode(location);
+                case TRUE:
+                    return new BooleanNode(true, location);
+                case FALSE:
+                    return new BooleanNode(false, location);
+                case STRING:
+                    return new StringNode(readString(), location);
+                case NUMBER:
+                    return new NumberNode(readNumber(), location);
+                case ARRAY:
+                    int size = readVarInt(data);
+                    List<Node> elements = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        elements.add(readNode());
+                    }
+                    return new ArrayNode(elements, location);
+                case OBJECT:
+                    int members = readVarInt(data);
+                    Map<StringNode, Node> values = new LinkedHashMap<>(members);
+                    for (int i = 0; i < members; i++) {
+                        StringNode key = readNode().expectStringNode();
+                        values.put(key, readNode());
+                    }
+                    return new ObjectNode(values, location);
+                default:
+                    throw new IOException("Invalid node type in model file snapshot: " + tag);
+            }
+        }
+
+        private Number readNumber() throws IOException {
+            byte type = data.readByte();
+            switch (type) {
+                case INTEGER:
+                    return data.readInt();
+                case LONG:
+                    return data.readLong();
+                case DOUBLE:
+                    return data.readDouble();
+                case FLOAT:
+                    return data.readFloat();
+                case SHORT:
+                    return data.readShort();
+                case BYTE:
+                    return data.readByte();
+                case BIG_INTEGER:
+                    return new BigInteger(readString());
+                case BIG_DECIMAL:
+                    return new BigDecimal(readString());
+                default:
+                    throw new IOException("Invalid number type in model file snapshot: " + type);
+            }
+        }
+    }
+}
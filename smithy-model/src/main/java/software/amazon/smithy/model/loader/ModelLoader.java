@@ -17,8 +17,12 @@ package software.amazon.smithy.model.loader;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -43,38 +47,53 @@ final class ModelLoader {
     private ModelLoader() {}
 
     /**
-     * Loads the contents of a model into a {@code ModelFile}.
+     * Loads the contents of a model into a {@code ModelFile}, using the
+     * given cache to avoid parsing the model if possible.
      *
      * <p>The format contained in the supplied {@code InputStream} is
      * determined based on the file extension in the provided
      * {@code filename}.
      *
      * @param traitFactory Factory used to create traits.
+     * @param pool Pool used to intern strings and shape IDs.
      * @param properties Bag of loading properties.
      * @param filename Filename to assign to the model.
      * @param contentSupplier The supplier that provides an InputStream. The
      *   supplied {@code InputStream} is automatically closed when the loader
      *   has finished reading from it.
+     * @param cache Nullable cache used to load and store model files.
      * @return Returns a {@code ModelFile} if the model could be loaded, or {@code null}.
      * @throws SourceException if there is an error reading from the contents.
      */
     static ModelFile load(
             TraitFactory traitFactory,
+            InternPool pool,
             Map<String, Object> properties,
             String filename,
-            Supplier<InputStream> contentSupplier
+            Supplier<InputStream> contentSupplier,
+            ModelFileCache cache
     ) {
+        if (cache != null && isCacheable(filename)) {
+            return cache.load(traitFactory, pool, filename, () -> {
+                try (InputStream inputStream = contentSupplier.get()) {
+                    return IoUtils.toUtf8String(inputStream);
+                } catch (IOException e) {
+                    throw new ModelImportException("Error loading " + filename + ": " + e.getMessage(), e);
+                }
+            });
+        }
+
         try (InputStream inputStream = contentSupplier.get()) {
             if (filename.endsWith(".json")) {
-                return loadParsedNode(traitFactory, Node.parse(inputStream, filename));
+                return loadJson(traitFactory, pool, filename, inputStream);
             } else if (filename.endsWith(".smithy")) {
                 String contents = IoUtils.toUtf8String(inputStream);
-                return new IdlModelParser(traitFactory, filename, contents).parse();
+                return new IdlModelParser(traitFactory, pool, filename, contents).parse();
             } else if (filename.endsWith(".jar")) {
-                return loadJar(traitFactory, properties, filename);
+                return loadJar(traitFactory, pool, properties, filename, cache);
             } else if (filename.equals(SourceLocation.NONE.getFilename())) {
                 // Assume it's JSON if there's a N/A filename.
-                return loadParsedNode(traitFactory, Node.parse(inputStream, filename));
+                return loadJson(traitFactory, pool, filename, inputStream);
             } else {
                 return null;
             }
@@ -83,6 +102,38 @@ final class ModelLoader {
         }
     }
 
+    // JSON models are streamed rather than parsed into a Node to reduce the
+    // amount of memory needed to load large models.
+    private static ModelFile loadJson(
+            TraitFactory traitFactory,
+            InternPool pool,
+            String filename,
+            InputStream inputStream
+    ) throws IOException {
+        Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        return AstModelLoader.INSTANCE.load(traitFactory, pool, filename, reader);
+    }
+
+    private static boolean isCacheable(String filename) {
+        return filename.endsWith(".json")
+               || filename.endsWith(".smithy")
+               || filename.equals(SourceLocation.NONE.getFilename());
+    }
+
+    // Parses the contents of a cacheable model file.
+    static ModelFile parse(TraitFactory traitFactory, InternPool pool, String filename, String contents) {
+        if (filename.endsWith(".smithy")) {
+            return new IdlModelParser(traitFactory, pool, filename, contents).parse();
+        } else {
+            try {
+                return AstModelLoader.INSTANCE.load(traitFactory, pool, filename, new StringReader(contents));
+            } catch (IOException e) {
+                // Reading from a string never fails, but the streaming parser is declared to throw.
+                throw new ModelImportException("Error loading " + filename + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
     // Loads all supported JSON formats. Each JSON format is expected to have
     // a top-level version property that contains a string. This version
     // is then used to delegate loading to different versions of the
@@ -90,11 +141,16 @@ final class ModelLoader {
     //
     // This loader supports version 1.0. Support for 0.5 and 0.4 was removed in 0.10.
     static ModelFile loadParsedNode(TraitFactory traitFactory, Node node) {
+        return AstModelLoader.INSTANCE.load(traitFactory, expectSupportedDocument(node));
+    }
+
+    // Ensures that a parsed JSON document is an object that uses a supported version.
+    static ObjectNode expectSupportedDocument(Node node) {
         ObjectNode model = node.expectObjectNode("Smithy documents must be an object. Found {type}.");
         StringNode version = model.expectStringMember(SMITHY);
 
         if (LoaderUtils.isVersionSupported(version.getValue())) {
-            return AstModelLoader.INSTANCE.load(traitFactory, model);
+            return model;
         } else {
             throw new ModelSyntaxException("Unsupported Smithy version number: " + version.getValue(), version);
         }
@@ -102,7 +158,14 @@ final class ModelLoader {
 
     // Allows importing JAR files by discovering models inside of a JAR file.
     // This is similar to model discovery, but done using an explicit import.
-    private static ModelFile loadJar(TraitFactory traitFactory, Map<String, Object> properties, String filename) {
+    // Models in the JAR are loaded using the same cache as the JAR.
+    private static ModelFile loadJar(
+            TraitFactory traitFactory,
+            InternPool pool,
+            Map<String, Object> properties,
+            String filename,
+            ModelFileCache cache
+    ) {
         List<ModelFile> modelFiles = new ArrayList<>();
         URL manifestUrl = ModelDiscovery.createSmithyJarManifestUrl(filename);
         LOGGER.fine(() -> "Loading Smithy model imports from JAR: " + manifestUrl);
@@ -115,13 +178,13 @@ final class ModelLoader {
                     connection.setUseCaches(false);
                 }
 
-                ModelFile innerResult = load(traitFactory, properties, model.toExternalForm(), () -> {
+                ModelFile innerResult = load(traitFactory, pool, properties, model.toExternalForm(), () -> {
                     try {
                         return connection.getInputStream();
                     } catch (IOException e) {
                         throw throwIoJarException(model, e);
                     }
-                });
+                }, cache);
                 if (innerResult != null) {
                     modelFiles.add(innerResult);
                 }
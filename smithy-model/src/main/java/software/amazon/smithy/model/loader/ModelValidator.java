@@ -20,23 +20,32 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.knowledge.HttpBindingIndex;
+import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.knowledge.OperationIndex;
+import software.amazon.smithy.model.knowledge.ServiceIndex;
+import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.node.ObjectNode;
-import software.amazon.smithy.model.traits.SuppressTrait;
+import software.amazon.smithy.model.validation.AbstractValidator;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidatedResult;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.Validator;
 import software.amazon.smithy.model.validation.ValidatorFactory;
 import software.amazon.smithy.model.validation.suppressions.Suppression;
+import software.amazon.smithy.model.validation.suppressions.SuppressionIndex;
 import software.amazon.smithy.model.validation.validators.ResourceCycleValidator;
 import software.amazon.smithy.model.validation.validators.TargetValidator;
+import software.amazon.smithy.utils.ListUtils;
 import software.amazon.smithy.utils.SetUtils;
 
 /**
@@ -64,11 +73,18 @@ final class ModelValidator {
             ResourceCycleValidator.class
     );
 
+    /** Indexes needed by many built-in validators. Compute these in parallel before validating. */
+    private static final List<Function<Model, ? extends KnowledgeIndex>> PRECOMPUTED_INDEXES = ListUtils.of(
+            TopDownIndex::of, NeighborProviderIndex::of, OperationIndex::of, HttpBindingIndex::of, ServiceIndex::of);
+
     private final List<Validator> validators = new ArrayList<>();
     private final List<Suppression> suppressions = new ArrayList<>();
     private final List<ValidationEvent> includeEvents = new ArrayList<>();
     private ValidatorFactory validatorFactory;
     private Consumer<ValidationEvent> eventListener;
+    private AssemblyStats.Recorder recorder;
+    private boolean failFast;
+    private Severity minimumSeverity;
 
     /**
      * Sets the custom {@link Validator}s to use when running the ModelValidator.
@@ -156,6 +172,40 @@ final class ModelValidator {
         return this;
     }
 
+    /**
+     * Sets the recorder used to record the time taken by each validator.
+     *
+     * @param recorder Recorder to use, or {@code null} to not time validators.
+     * @return Returns the ModelValidator.
+     */
+    ModelValidator recorder(AssemblyStats.Recorder recorder) {
+        this.recorder = recorder;
+        return this;
+    }
+
+    /**
+     * Stops running validators once an unsuppressed ERROR event is emitted.
+     *
+     * @param failFast Set to true to stop at the first ERROR event.
+     * @return Returns the ModelValidator.
+     */
+    ModelValidator failFast(boolean failFast) {
+        this.failFast = failFast;
+        return this;
+    }
+
+    /**
+     * Only reports events with at least the given severity, and skips
+     * validators that can only emit less severe events.
+     *
+     * @param minimumSeverity Minimum severity to report, or null to report every event.
+     * @return Returns the ModelValidator.
+     */
+    ModelValidator minimumSeverity(Severity minimumSeverity) {
+        this.minimumSeverity = minimumSeverity;
+        return this;
+    }
+
     /**
      * Creates a reusable Model Validator that uses every registered validator,
      * suppression, and extracts validators and suppressions from each
@@ -176,16 +226,19 @@ final class ModelValidator {
             // Add suppressions found in the model via metadata.
             List<Suppression> modelSuppressions = new ArrayList<>(suppressions);
             loadModelSuppressions(modelSuppressions, model);
+            SuppressionIndex suppressionIndex = new SuppressionIndex(model, modelSuppressions);
 
             // Add validators defined in the model through metadata.
             List<Validator> modelValidators = new ArrayList<>(staticValidators);
-            loadModelValidators(validatorFactory, modelValidators, model, coreEvents, modelSuppressions);
+            loadModelValidators(validatorFactory, modelValidators, model, coreEvents, suppressionIndex);
+            modelValidators.removeIf(validator -> !canEmitReportedEvents(validator));
+            batchSelectorValidators(modelValidators);
 
             // Perform critical validation before other more granular semantic validators.
             // If these validators fail, then many other validators will fail as well,
             // which will only obscure the root cause.
-            coreEvents.addAll(new TargetValidator().validate(model));
-            coreEvents.addAll(new ResourceCycleValidator().validate(model));
+            addReportedEvents(coreEvents, runValidator(new TargetValidator(), model));
+            addReportedEvents(coreEvents, runValidator(new ResourceCycleValidator(), model));
             // Emit any events that have already occurred.
             coreEvents.forEach(eventListener);
 
@@ -193,12 +246,25 @@ final class ModelValidator {
                 return coreEvents;
             }
 
+            model.precomputeKnowledge(PRECOMPUTED_INDEXES);
+
+            // Validators that haven't started yet are skipped once an ERROR is emitted when failing fast.
+            AtomicBoolean failed = new AtomicBoolean();
             Stream<ValidationEvent> eventStream = Stream.concat(
                     includeEvents.stream(),
-                    modelValidators.parallelStream().flatMap(validator -> validator.validate(model).stream()));
+                    modelValidators.parallelStream().flatMap(validator -> failFast && failed.get()
+                            ? Stream.empty()
+                            : runValidator(validator, model).stream()));
             List<ValidationEvent> result = eventStream
                     .filter(ModelValidator::filterPrelude)
-                    .map(event -> suppressEvent(model, event, modelSuppressions))
+                    // Events are filtered using their severity before they're suppressed.
+                    .filter(this::isReported)
+                    .map(event -> suppressEvent(event, suppressionIndex))
+                    .peek(event -> {
+                        if (event.getSeverity() == Severity.ERROR) {
+                            failed.set(true);
+                        }
+                    })
                     // Emit events as they occur during validation.
                     .peek(eventListener)
                     .collect(Collectors.toList());
@@ -210,6 +276,73 @@ final class ModelValidator {
         };
     }
 
+    private boolean isReported(ValidationEvent event) {
+        return minimumSeverity == null || event.getSeverity().compareTo(minimumSeverity) >= 0;
+    }
+
+    private void addReportedEvents(List<ValidationEvent> events, List<ValidationEvent> candidates) {
+        for (ValidationEvent event : candidates) {
+            if (isReported(event)) {
+                events.add(event);
+            }
+        }
+    }
+
+    private boolean canEmitReportedEvents(Validator validator) {
+        if (minimumSeverity == null) {
+            return true;
+        }
+        for (Severity severity : validator.getEmittedSeverities()) {
+            if (severity.compareTo(minimumSeverity) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Validators that only evaluate a selector, like the EmitEachSelector
+    // validators commonly defined in metadata, are replaced with a single
+    // validator that evaluates all of their selectors in one pass.
+    private void batchSelectorValidators(List<Validator> validators) {
+        List<Validator> batched = new ArrayList<>();
+        for (Validator validator : validators) {
+            if (BatchedSelectorValidator.unwrap(validator) != null) {
+                batched.add(validator);
+            }
+        }
+
+        if (batched.size() > 1) {
+            validators.removeAll(batched);
+            validators.add(new BatchedSelectorValidator(batched, recorder));
+        }
+    }
+
+    private List<ValidationEvent> runValidator(Validator validator, Model model) {
+        // Batched selector validators time each of the validators they run.
+        if (recorder == null || validator instanceof BatchedSelectorValidator) {
+            return validator.validate(model);
+        }
+
+        long start = System.nanoTime();
+        try {
+            return validator.validate(model);
+        } finally {
+            recorder.recordValidator(getValidatorName(validator), System.nanoTime() - start);
+        }
+    }
+
+    static String getValidatorName(Validator validator) {
+        if (validator instanceof ValidatorFromDefinitionFactory.DefinitionValidator) {
+            return ((ValidatorFromDefinitionFactory.DefinitionValidator) validator).id;
+        } else if (validator instanceof AbstractValidator) {
+            return ((AbstractValidator) validator).getName();
+        } else {
+            // Use the same naming convention as ValidatorService.
+            String name = validator.getClass().getSimpleName();
+            return name.endsWith("Validator") ? name.substring(0, name.length() - "Validator".length()) : name;
+        }
+    }
+
     private List<Validator> resolveStaticValidators() {
         List<Validator> resolvedValidators = new ArrayList<>(validatorFactory.loadBuiltinValidators());
         resolvedValidators.addAll(validators);
@@ -228,16 +361,16 @@ final class ModelValidator {
                 .isPresent();
     }
 
-    private static void loadModelValidators(
+    private void loadModelValidators(
             ValidatorFactory validatorFactory,
             List<Validator> validators,
             Model model,
             List<ValidationEvent> events,
-            List<Suppression> suppressions
+            SuppressionIndex suppressionIndex
     ) {
         // Load validators defined in metadata.
         ValidatedResult<List<ValidatorDefinition>> loaded = ValidationLoader.loadValidators(model.getMetadata());
-        events.addAll(loaded.getValidationEvents());
+        addReportedEvents(events, loaded.getValidationEvents());
         List<ValidatorDefinition> definitions = loaded.getResult().orElseGet(Collections::emptyList);
         ValidatorFromDefinitionFactory factory = new ValidatorFromDefinitionFactory(validatorFactory);
 
@@ -245,10 +378,12 @@ final class ModelValidator {
         for (ValidatorDefinition val : definitions) {
             ValidatedResult<Validator> result = factory.loadValidator(val);
             result.getResult().ifPresent(validators::add);
-            events.addAll(result.getValidationEvents());
+            addReportedEvents(events, result.getValidationEvents());
             if (result.getValidationEvents().isEmpty() && !result.getResult().isPresent()) {
                 ValidationEvent event = unknownValidatorError(val.name, val.sourceLocation);
-                events.add(suppressEvent(model, event, suppressions));
+                if (isReported(event)) {
+                    events.add(suppressEvent(event, suppressionIndex));
+                }
             }
         }
     }
@@ -273,13 +408,13 @@ final class ModelValidator {
         });
     }
 
-    private static ValidationEvent suppressEvent(Model model, ValidationEvent event, List<Suppression> suppressions) {
+    private static ValidationEvent suppressEvent(ValidationEvent event, SuppressionIndex suppressionIndex) {
         // ERROR and SUPPRESSED events cannot be suppressed.
         if (!event.getSeverity().canSuppress()) {
             return event;
         }
 
-        Suppression matchedSuppression = findMatchingSuppression(model, event, suppressions);
+        Suppression matchedSuppression = suppressionIndex.findMatch(event).orElse(null);
 
         if (matchedSuppression == null) {
             return event;
@@ -292,28 +427,4 @@ final class ModelValidator {
 
         return builder.build();
     }
-
-    private static Suppression findMatchingSuppression(
-            Model model,
-            ValidationEvent event,
-            List<Suppression> suppressions
-    ) {
-        return event.getShapeId()
-                .flatMap(model::getShape)
-                // First check for trait based suppressions.
-                .flatMap(shape -> shape.hasTrait(SuppressTrait.class)
-                                  ? Optional.of(Suppression.fromSuppressTrait(shape))
-                                  : Optional.empty())
-                // Try to suppress it.
-                .flatMap(suppression -> suppression.test(event) ? Optional.of(suppression) : Optional.empty())
-                // If it wasn't suppressed, then try the rules loaded from metadata.
-                .orElseGet(() -> {
-                    for (Suppression suppression : suppressions) {
-                        if (suppression.test(event)) {
-                            return suppression;
-                        }
-                    }
-                    return null;
-                });
-    }
 }
@@ -68,25 +68,33 @@ public final class Prelude {
         return PreludeHolder.PRELUDE;
     }
 
+    // Parses prelude.smithy rather than loading it from a snapshot.
+    static Model parsePrelude() {
+        return Model.assembler()
+                .disablePrelude()
+                // Model validation is disabled when loading the prelude
+                // because the prelude is validated during unit tests and
+                // the prelude is immutable. However, if the prelude is
+                // broken for whatever reason, ERROR events encountered
+                // when performing model validation that uses the prelude
+                // will still cause an error, meaning the prelude is still
+                // validated when actually loading and using other models.
+                .disableValidation()
+                .traitFactory(ModelAssembler.LazyTraitFactoryHolder.INSTANCE)
+                .addImport(Prelude.class.getResource("prelude.smithy"))
+                .assemble()
+                .unwrap();
+    }
+
     // Lazy initialization holder class idiom for loading prelude traits and shapes.
     private static final class PreludeHolder {
         private static final Model PRELUDE = loadPrelude();
 
         private static Model loadPrelude() {
-            return Model.assembler()
-                    .disablePrelude()
-                    // Model validation is disabled when loading the prelude
-                    // because the prelude is validated during unit tests and
-                    // the prelude is immutable. However, if the prelude is
-                    // broken for whatever reason, ERROR events encountered
-                    // when performing model validation that uses the prelude
-                    // will still cause an error, meaning the prelude is still
-                    // validated when actually loading and using other models.
-                    .disableValidation()
-                    .traitFactory(ModelAssembler.LazyTraitFactoryHolder.INSTANCE)
-                    .addImport(Prelude.class.getResource("prelude.smithy"))
-                    .assemble()
-                    .unwrap();
+            // The prelude is loaded from a snapshot created when Smithy is
+            // built, falling back to parsing it if the snapshot is missing.
+            Model snapshot = PreludeSnapshot.load();
+            return snapshot != null ? snapshot : parsePrelude();
         }
     }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.traits.TraitFactory;
+
+/**
+ * Loads the prelude from a {@link ModelFileSnapshot} that is created when
+ * Smithy is built rather than parsing prelude.smithy.
+ *
+ * <p>The snapshot is stored as a resource next to prelude.smithy that is
+ * named after a hash of the contents of the prelude, so a snapshot that is
+ * out of date with the prelude is never found. Source locations in the
+ * snapshot refer to a placeholder filename that is replaced with the
+ * location of prelude.smithy when the snapshot is loaded.
+ */
+final class PreludeSnapshot {
+
+    private static final Logger LOGGER = Logger.getLogger(PreludeSnapshot.class.getName());
+    private static final String FORMAT_VERSION = "1";
+    private static final String PRELUDE_FILENAME = "prelude.smithy";
+
+    private PreludeSnapshot() {}
+
+    /**
+     * Writes the prelude snapshot to the given directory.
+     *
+     * <p>The resource is written to the package directory of the loader
+     * within the given directory so that the directory can be added to the
+     * classpath or packaged into a JAR as-is. This is only used when
+     * building Smithy.
+     *
+     * @param directory Directory to write to.
+     * @throws IOException if the snapshot can't be written.
+     */
+    static void write(Path directory) throws IOException {
+        byte[] prelude = readPrelude();
+        String contents = new String(prelude, StandardCharsets.UTF_8);
+        ModelFileSnapshot[] created = new ModelFileSnapshot[1];
+        ModelFile file = new SnapshottingModelFile(
+                ModelAssembler.LazyTraitFactoryHolder.INSTANCE,
+                factory -> ModelLoader.parse(factory, new InternPool(), PRELUDE_FILENAME, contents),
+                snapshot -> created[0] = snapshot);
+        file.createShapes(file.resolveShapes(file.shapeIds(), file::getShapeType));
+
+        if (created[0] == null) {
+            throw new IllegalStateException("Unable to create a snapshot of the prelude: " + file.events());
+        }
+
+        Path target = directory
+                .resolve(PreludeSnapshot.class.getPackage().getName().replace('.', '/'))
+                .resolve(getResourceName(prelude));
+        Files.createDirectories(target.getParent());
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target))) {
+            created[0].write(out);
+        }
+    }
+
+    /**
+     * Loads the prelude model from its snapshot.
+     *
+     * @return Returns the loaded prelude, or {@code null} if no usable snapshot was found.
+     */
+    static Model load() {
+        URL resource = PreludeSnapshot.class.getResource(getResourceName(readPrelude()));
+
+        if (resource == null) {
+            LOGGER.fine("No prelude snapshot found; parsing the prelude");
+            return null;
+        }
+
+        String filename = ModelAssembler.createImportKey(getPreludeUrl());
+        ModelFileSnapshot snapshot;
+        try (InputStream in = new BufferedInputStream(resource.openStream())) {
+            snapshot = ModelFileSnapshot.read(in, name -> name.equals(PRELUDE_FILENAME) ? filename : name);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warning(() -> "Unable to read prelude snapshot " + resource + ": " + e.getMessage());
+            return null;
+        }
+
+        TraitFactory traitFactory = ModelAssembler.LazyTraitFactoryHolder.INSTANCE;
+        ModelFile file = AstModelLoader.INSTANCE.load(traitFactory, snapshot.document());
+        TraitContainer traits = file.resolveShapes(file.shapeIds(), file::getShapeType);
+        Model model = Model.builder().metadata(file.metadata()).addShapes(file.createShapes(traits)).build();
+
+        if (!file.events().isEmpty()) {
+            LOGGER.warning(() -> "Invalid prelude snapshot " + resource + "; parsing the prelude");
+            return null;
+        }
+
+        return model;
+    }
+
+    private static URL getPreludeUrl() {
+        return Prelude.class.getResource(PRELUDE_FILENAME);
+    }
+
+    private static byte[] readPrelude() {
+        try (InputStream in = getPreludeUrl().openStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // The checksum only needs to detect a snapshot that is out of date with
+    // the prelude during development, so a CRC is used rather than a
+    // cryptographic hash that is comparatively expensive to initialize.
+    private static String getResourceName(byte[] prelude) {
+        CRC32 crc = new CRC32();
+        crc.update(prelude, 0, prelude.length);
+        return "prelude-" + FORMAT_VERSION + "-" + Long.toHexString(crc.getValue()) + ".bin";
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.ModelSerializer;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeType;
+import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.model.traits.TraitFactory;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+/**
+ * A ModelFile that records how a parsed model file is resolved so that a
+ * {@link ModelFileSnapshot} of it can be written to a {@link ModelFileCache}.
+ *
+ * <p>Snapshots are only created for model files that load without any
+ * validation events and that apply each trait to a shape at most once;
+ * anything else is simply parsed again the next time it's loaded.
+ */
+final class SnapshottingModelFile implements ModelFile {
+
+    private static final Logger LOGGER = Logger.getLogger(SnapshottingModelFile.class.getName());
+
+    private final ModelFile delegate;
+    private final RecordingTraitFactory traitFactory;
+    private final Consumer<ModelFileSnapshot> snapshotConsumer;
+    private final Map<ShapeId, Boolean> observedIds = new LinkedHashMap<>();
+    private final Map<ShapeId, ShapeType> observedTypes = new LinkedHashMap<>();
+
+    /**
+     * @param traitFactory Factory used to create traits.
+     * @param parser Function used to parse the model file using the given trait factory.
+     * @param snapshotConsumer Consumer that receives the snapshot once the file is resolved.
+     */
+    SnapshottingModelFile(
+            TraitFactory traitFactory,
+            Function<TraitFactory, ModelFile> parser,
+            Consumer<ModelFileSnapshot> snapshotConsumer
+    ) {
+        this.traitFactory = new RecordingTraitFactory(traitFactory);
+        this.snapshotConsumer = snapshotConsumer;
+        this.delegate = parser.apply(this.traitFactory);
+    }
+
+    @Override
+    public Set<ShapeId> shapeIds() {
+        return delegate.shapeIds();
+    }
+
+    @Override
+    public ShapeType getShapeType(ShapeId id) {
+        return delegate.getShapeType(id);
+    }
+
+    @Override
+    public Map<String, Node> metadata() {
+        return delegate.metadata();
+    }
+
+    @Override
+    public TraitContainer resolveShapes(Set<ShapeId> ids, Function<ShapeId, ShapeType> typeProvider) {
+        Set<ShapeId> recordingIds = new AbstractSet<ShapeId>() {
+            @Override
+            public boolean contains(Object o) {
+                boolean result = ids.contains(o);
+                if (o instanceof ShapeId) {
+                    observedIds.put((ShapeId) o, result);
+                }
+                return result;
+            }
+
+            @Override
+            public Iterator<ShapeId> iterator() {
+                // Iterating the set makes the result depend on every shape ID, so the file can't be snapshot.
+                traitFactory.cacheable = false;
+                return ids.iterator();
+            }
+
+            @Override
+            public int size() {
+                return ids.size();
+            }
+        };
+
+        return delegate.resolveShapes(recordingIds, id -> {
+            ShapeType type = typeProvider.apply(id);
+            observedTypes.put(id, type);
+            return type;
+        });
+    }
+
+    @Override
+    public Collection<Shape> createShapes(TraitContainer resolvedTraits) {
+        Collection<Shape> shapes = delegate.createShapes(resolvedTraits);
+
+        if (traitFactory.cacheable && delegate.events().isEmpty()) {
+            try {
+                snapshotConsumer.accept(new ModelFileSnapshot(createDocument(shapes), observedIds, observedTypes));
+            } catch (RuntimeException e) {
+                LOGGER.fine(() -> "Unable to create model file snapshot: " + e.getMessage());
+            }
+        }
+
+        return shapes;
+    }
+
+    @Override
+    public List<ValidationEvent> events() {
+        return delegate.events();
+    }
+
+    private ObjectNode createDocument(Collection<Shape> shapes) {
+        // The created shapes contain traits applied by every model file, so
+        // traits are omitted here and replaced with the raw trait values
+        // that were applied by this model file.
+        Model model = Model.builder().addShapes(shapes).build();
+        ObjectNode serialized = ModelSerializer.builder()
+                .includePrelude(true)
+                .traitFilter(trait -> false)
+                .build()
+                .serialize(model);
+        ObjectNode serializedShapes = serialized.expectObjectMember("shapes");
+        Map<ShapeId, Map<ShapeId, Node>> traits = new LinkedHashMap<>(traitFactory.values);
+
+        ObjectNode.Builder shapesBuilder = Node.objectNodeBuilder();
+        for (Shape shape : shapes) {
+            ObjectNode shapeNode = serializedShapes.expectObjectMember(shape.getId().toString());
+            shapesBuilder.withMember(shape.getId().toString(), createShapeNode(shape, shapeNode, traits));
+        }
+
+        // Any remaining traits were applied to shapes defined in other files.
+        for (Map.Entry<ShapeId, Map<ShapeId, Node>> entry : traits.entrySet()) {
+            shapesBuilder.withMember(entry.getKey().toString(), Node.objectNodeBuilder()
+                    .withMember("type", "apply")
+                    .withMember("traits", createTraitsNode(entry.getValue()))
+                    .build());
+        }
+
+        return Node.objectNodeBuilder()
+                .withMember("smithy", Model.MODEL_VERSION)
+                .withMember("metadata", createMetadataNode())
+                .withMember("shapes", shapesBuilder.build())
+                .build();
+    }
+
+    private ObjectNode createMetadataNode() {
+        ObjectNode.Builder builder = Node.objectNodeBuilder();
+        for (Map.Entry<String, Node> entry : delegate.metadata().entrySet()) {
+            builder.withMember(entry.getKey(), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    private ObjectNode createShapeNode(Shape shape, ObjectNode node, Map<ShapeId, Map<ShapeId, Node>> traits) {
+        ObjectNode.Builder builder = node.toBuilder().sourceLocation(shape.getSourceLocation());
+        Optional.ofNullable(traits.remove(shape.getId()))
+                .ifPresent(values -> builder.withMember("traits", createTraitsNode(values)));
+
+        // Structure and union members are nested in a "members" object, while
+        // collection and map members are top-level properties of the shape.
+        Optional<ObjectNode> structureMembers = node.getObjectMember("members");
+        ObjectNode.Builder membersBuilder = structureMembers.map(ObjectNode::toBuilder).orElse(null);
+        for (MemberShape member : shape.members()) {
+            String name = member.getMemberName();
+            ObjectNode memberNode = structureMembers.orElse(node).expectObjectMember(name);
+            ObjectNode updated = createShapeNode(member, memberNode, traits);
+            if (membersBuilder != null) {
+                membersBuilder.withMember(name, updated);
+            } else {
+                builder.withMember(name, updated);
+            }
+        }
+
+        if (membersBuilder != null) {
+            builder.withMember("members", membersBuilder.build());
+        }
+
+        return builder.build();
+    }
+
+    private static ObjectNode createTraitsNode(Map<ShapeId, Node> values) {
+        ObjectNode.Builder builder = Node.objectNodeBuilder();
+        for (Map.Entry<ShapeId, Node> entry : values.entrySet()) {
+            builder.withMember(entry.getKey().toString(), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Records the raw node value of every trait created for the model file.
+     */
+    private static final class RecordingTraitFactory implements TraitFactory {
+        private final TraitFactory delegate;
+        private final Map<ShapeId, Map<ShapeId, Node>> values = new LinkedHashMap<>();
+        private boolean cacheable = true;
+
+        RecordingTraitFactory(TraitFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Optional<Trait> createTrait(ShapeId id, ShapeId target, Node value) {
+            // A trait is only created more than once for the same shape when
+            // values are merged or conflict, which a snapshot can't represent.
+            if (values.computeIfAbsent(target, t -> new LinkedHashMap<>()).put(id, value) != null) {
+                cacheable = false;
+            }
+            return delegate.createTrait(id, target, value);
+        }
+    }
+}
@@ -104,6 +104,19 @@ public interface TraitContainer {
      */
     void onTrait(ShapeId target, ShapeId traitId, Node value);
 
+    /**
+     * Creates the validation event used when a trait can't be created.
+     *
+     * @param target Shape the trait was applied to.
+     * @param traitId Shape ID of the trait.
+     * @param e Exception thrown when creating the trait.
+     * @return Returns the created event.
+     */
+    static ValidationEvent createTraitError(ShapeId target, ShapeId traitId, SourceException e) {
+        String message = format("Error creating trait `%s`: ", Trait.getIdiomaticTraitName(traitId));
+        return ValidationEvent.fromSourceException(e, message).toBuilder().shapeId(target).build();
+    }
+
     /**
      * The actual, mutable implementation used to aggregate traits.
      */
@@ -147,6 +160,15 @@ public interface TraitContainer {
             if (traits.containsKey(traitId)) {
                 Trait previousTrait = traits.get(traitId);
 
+                try {
+                    // Lazy traits are created in order to compare them, which fails if either is invalid.
+                    previousTrait.toNode();
+                    value.toNode();
+                } catch (SourceException e) {
+                    events.add(createTraitError(target, traitId, e));
+                    return;
+                }
+
                 if (LoaderUtils.isSameLocation(previousTrait, value) && previousTrait.equals(value)) {
                     // The assumption here is that if the trait value is exactly the
                     // same and from the same location, then the same model file was
@@ -216,11 +238,7 @@ public interface TraitContainer {
                 return traitFactory.createTrait(traitId, target, traitValue)
                         .orElseGet(() -> new DynamicTrait(traitId, traitValue));
             } catch (SourceException e) {
-                String message = format("Error creating trait `%s`: ", Trait.getIdiomaticTraitName(traitId));
-                events.add(ValidationEvent.fromSourceException(e, message)
-                                   .toBuilder()
-                                   .shapeId(target)
-                                   .build());
+                events.add(createTraitError(target, traitId, e));
                 return null;
             }
         }
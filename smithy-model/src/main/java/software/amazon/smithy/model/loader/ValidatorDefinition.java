@@ -35,13 +35,13 @@ import software.amazon.smithy.model.validation.ValidationEvent;
 final class ValidatorDefinition {
 
     final String name;
+    final String id;
     final List<String> namespaces = new ArrayList<>();
     ObjectNode configuration = Node.objectNode();
     SourceLocation sourceLocation = SourceLocation.none();
     Severity severity;
     String message;
     Selector selector;
-    private final String id;
 
     ValidatorDefinition(String name, String id) {
         this.name = name;
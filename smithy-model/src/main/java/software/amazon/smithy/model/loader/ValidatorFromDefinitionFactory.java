@@ -17,7 +17,11 @@ package software.amazon.smithy.model.loader;
 
 import static java.lang.String.format;
 
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceException;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidatedResult;
@@ -54,6 +58,42 @@ final class ValidatorFromDefinitionFactory {
     }
 
     private Validator mapValidator(ValidatorDefinition definition, Validator upstream) {
-        return model -> definition.map(model, upstream.validate(model));
+        return new DefinitionValidator(definition, upstream);
+    }
+
+    /**
+     * A validator created from a {@link ValidatorDefinition}.
+     */
+    static final class DefinitionValidator implements Validator {
+        final String id;
+        private final ValidatorDefinition definition;
+        private final Validator upstream;
+
+        private DefinitionValidator(ValidatorDefinition definition, Validator upstream) {
+            this.id = definition.id;
+            this.definition = definition;
+            this.upstream = upstream;
+        }
+
+        @Override
+        public List<ValidationEvent> validate(Model model) {
+            return definition.map(model, upstream.validate(model));
+        }
+
+        @Override
+        public Set<Severity> getEmittedSeverities() {
+            // The severity of every event is changed if the definition sets a severity.
+            return definition.severity != null
+                   ? EnumSet.of(definition.severity)
+                   : upstream.getEmittedSeverities();
+        }
+
+        Validator getUpstream() {
+            return upstream;
+        }
+
+        List<ValidationEvent> map(Model model, List<ValidationEvent> events) {
+            return definition.map(model, events);
+        }
     }
 }
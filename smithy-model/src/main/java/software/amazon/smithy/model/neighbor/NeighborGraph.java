@@ -0,0 +1,342 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.neighbor;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.Predicate;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.ShapeBitSet;
+import software.amazon.smithy.model.knowledge.ShapeOrdinalIndex;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+
+/**
+ * A compact, immutable graph of the relationships of every shape in a model.
+ *
+ * <p>The relationships of every shape are stored contiguously in a single
+ * array in compressed sparse row form: the relationships of the shape with
+ * the {@link ShapeOrdinalIndex ordinal} {@code i} are found between
+ * {@code offsets[i]} and {@code offsets[i + 1]}. Reverse relationships are stored the same way, but
+ * as indexes into the forward array so that each {@link Relationship} is
+ * only created and retained once.
+ *
+ * <p>Lists returned from the graph are unmodifiable views over these arrays
+ * rather than copies.
+ */
+final class NeighborGraph {
+
+    private static final int SMALL_BUCKET = 16;
+
+    private final ShapeOrdinalIndex ordinals;
+    private final Relationship[] edges;
+    private final int[] offsets;
+
+    // The ordinal of the neighbor of each relationship, or -1 if the
+    // neighbor isn't in the model. This is computed when first needed,
+    // and computing it more than once concurrently is harmless.
+    private volatile int[] targets;
+
+    private NeighborGraph(ShapeOrdinalIndex ordinals, Relationship[] edges, int[] offsets) {
+        this.ordinals = ordinals;
+        this.edges = edges;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Computes the relationships of every shape in a model.
+     *
+     * @param model Model to compute.
+     * @param provider Provider used to find the relationships of each shape.
+     * @return Returns the created graph.
+     */
+    static NeighborGraph of(Model model, NeighborProvider provider) {
+        ShapeOrdinalIndex ordinals = ShapeOrdinalIndex.of(model);
+        int shapeCount = ordinals.size();
+        int[] offsets = new int[shapeCount + 1];
+        Relationship[] edges = new Relationship[shapeCount * 2];
+        int size = 0;
+
+        for (int i = 0; i < shapeCount; i++) {
+            List<Relationship> relationships = provider.getNeighbors(ordinals.getShape(i));
+            int count = relationships.size();
+            if (size + count > edges.length) {
+                edges = Arrays.copyOf(edges, Math.max(edges.length * 2, size + count));
+            }
+            for (int j = 0; j < count; j++) {
+                edges[size++] = relationships.get(j);
+            }
+            offsets[i + 1] = size;
+        }
+
+        return new NeighborGraph(ordinals, size == edges.length ? edges : Arrays.copyOf(edges, size), offsets);
+    }
+
+    /**
+     * Creates a provider that returns the relationships of a shape from the graph.
+     *
+     * <p>Shapes that aren't part of the graph have no relationships.
+     *
+     * @return Returns the forward provider.
+     */
+    NeighborProvider forward() {
+        return new Forward(this);
+    }
+
+    /**
+     * Creates a provider that returns the relationships that target a shape.
+     *
+     * <p>Equal relationships are only returned once.
+     *
+     * @return Returns the reverse provider.
+     */
+    NeighborProvider reverse() {
+        return new Reverse(this);
+    }
+
+    /**
+     * Gets the graph that backs a provider if it was computed from the
+     * given model.
+     *
+     * @param model Model the provider is expected to cover.
+     * @param provider Provider to check.
+     * @return Returns the graph, or null if the provider isn't backed by a graph of the model.
+     */
+    static NeighborGraph backing(Model model, NeighborProvider provider) {
+        return provider instanceof Forward ? backing(ShapeOrdinalIndex.of(model), provider) : null;
+    }
+
+    /**
+     * Gets the graph that backs a provider if it uses the given ordinals.
+     *
+     * @param ordinals Ordinals the graph is expected to use.
+     * @param provider Provider to check.
+     * @return Returns the graph, or null if the provider isn't backed by a graph with the ordinals.
+     */
+    static NeighborGraph backing(ShapeOrdinalIndex ordinals, NeighborProvider provider) {
+        if (provider instanceof Forward) {
+            NeighborGraph graph = ((Forward) provider).graph;
+            if (graph.ordinals == ordinals) {
+                return graph;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds the shapes connected to a shape to a set without looking up
+     * shapes by ID.
+     *
+     * <p>Relationships are only traversed if the neighbor is in the model
+     * and the relationship passes the predicate. Shapes that are already in
+     * the set aren't traversed again.
+     *
+     * @param start Ordinal of the shape to start from, which must already be in the set.
+     * @param predicate Predicate used to prevent traversing relationships.
+     * @param visited Set that uses the same ordinals as the graph.
+     */
+    void walk(int start, Predicate<Relationship> predicate, ShapeBitSet visited) {
+        int[] targets = getTargets();
+        int[] stack = new int[16];
+        int depth = 0;
+        stack[depth++] = start;
+        while (depth > 0) {
+            int current = stack[--depth];
+            for (int i = offsets[current]; i < offsets[current + 1]; i++) {
+                int target = targets[i];
+                if (target != -1
+                        && !visited.containsOrdinal(target)
+                        && edges[i].getNeighborShape().isPresent()
+                        && predicate.test(edges[i])) {
+                    visited.addOrdinal(target);
+                    if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth * 2);
+                    }
+                    stack[depth++] = target;
+                }
+            }
+        }
+    }
+
+    private int[] getTargets() {
+        int[] result = targets;
+        if (result == null) {
+            result = new int[edges.length];
+            for (int i = 0; i < edges.length; i++) {
+                result[i] = ordinals.getOrdinal(edges[i].getNeighborShapeId());
+            }
+            targets = result;
+        }
+        return result;
+    }
+
+    private static final class Forward implements NeighborProvider {
+        private final NeighborGraph graph;
+
+        Forward(NeighborGraph graph) {
+            this.graph = graph;
+        }
+
+        @Override
+        public List<Relationship> getNeighbors(Shape shape) {
+            int ordinal = graph.ordinals.getOrdinal(shape);
+            if (ordinal == -1) {
+                return Collections.emptyList();
+            }
+            int from = graph.offsets[ordinal];
+            int to = graph.offsets[ordinal + 1];
+            return from == to ? Collections.emptyList() : new RelationshipList(graph.edges, null, from, to - from);
+        }
+    }
+
+    private static final class Reverse implements NeighborProvider {
+        private final NeighborGraph graph;
+        private final int[] offsets;
+        private final int[] edges;
+
+        // Relationships can target shapes that aren't in the model, so these
+        // are numbered after the shapes of the graph.
+        private final Map<ShapeId, Integer> missing = new HashMap<>();
+
+        Reverse(NeighborGraph graph) {
+            this.graph = graph;
+            int shapeCount = graph.ordinals.size();
+            int edgeCount = graph.offsets[shapeCount];
+            int[] targets = graph.getTargets();
+
+            for (int i = 0; i < edgeCount; i++) {
+                if (targets[i] == -1) {
+                    if (targets == graph.targets) {
+                        targets = targets.clone();
+                    }
+                    ShapeId id = graph.edges[i].getNeighborShapeId();
+                    Integer existing = missing.get(id);
+                    if (existing == null) {
+                        existing = shapeCount + missing.size();
+                        missing.put(id, existing);
+                    }
+                    targets[i] = existing;
+                }
+            }
+
+            // Count the relationships that target each shape, and then place
+            // each relationship in its bucket in forward order.
+            int[] starts = new int[shapeCount + missing.size() + 1];
+            for (int target : targets) {
+                starts[target + 1]++;
+            }
+            for (int i = 1; i < starts.length; i++) {
+                starts[i] += starts[i - 1];
+            }
+            int[] positions = Arrays.copyOf(starts, starts.length - 1);
+            int[] placed = new int[edgeCount];
+            for (int i = 0; i < edgeCount; i++) {
+                placed[positions[targets[i]]++] = i;
+            }
+
+            // Remove equal relationships from each bucket while compacting
+            // the buckets to the front of the array.
+            offsets = new int[starts.length];
+            int size = 0;
+            for (int bucket = 0; bucket < starts.length - 1; bucket++) {
+                offsets[bucket] = size;
+                size = dedupe(graph.edges, placed, starts[bucket], starts[bucket + 1], size);
+            }
+            offsets[starts.length - 1] = size;
+            edges = size == edgeCount ? placed : Arrays.copyOf(placed, size);
+        }
+
+        private static int dedupe(Relationship[] relationships, int[] placed, int from, int to, int size) {
+            if (to - from > SMALL_BUCKET) {
+                Set<Relationship> seen = new HashSet<>();
+                for (int i = from; i < to; i++) {
+                    if (seen.add(relationships[placed[i]])) {
+                        placed[size++] = placed[i];
+                    }
+                }
+                return size;
+            }
+
+            int bucketStart = size;
+            outer:
+            for (int i = from; i < to; i++) {
+                Relationship relationship = relationships[placed[i]];
+                for (int j = bucketStart; j < size; j++) {
+                    if (relationship.equals(relationships[placed[j]])) {
+                        continue outer;
+                    }
+                }
+                placed[size++] = placed[i];
+            }
+            return size;
+        }
+
+        @Override
+        public List<Relationship> getNeighbors(Shape shape) {
+            ShapeId id = shape.getId();
+            int ordinal = graph.ordinals.getOrdinal(id);
+            if (ordinal == -1) {
+                Integer existing = missing.isEmpty() ? null : missing.get(id);
+                if (existing == null) {
+                    return Collections.emptyList();
+                }
+                ordinal = existing;
+            }
+            int from = offsets[ordinal];
+            int to = offsets[ordinal + 1];
+            return from == to ? Collections.emptyList() : new RelationshipList(graph.edges, edges, from, to - from);
+        }
+    }
+
+    /**
+     * An unmodifiable view of a range of relationships, optionally accessed
+     * through an array of indexes.
+     */
+    private static final class RelationshipList extends AbstractList<Relationship> implements RandomAccess {
+        private final Relationship[] relationships;
+        private final int[] indexes;
+        private final int from;
+        private final int size;
+
+        RelationshipList(Relationship[] relationships, int[] indexes, int from, int size) {
+            this.relationships = relationships;
+            this.indexes = indexes;
+            this.from = from;
+            this.size = size;
+        }
+
+        @Override
+        public Relationship get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            int position = from + index;
+            return relationships[indexes == null ? position : indexes[position]];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -16,17 +16,12 @@
 package software.amazon.smithy.model.neighbor;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
-import software.amazon.smithy.utils.ListUtils;
 
 /**
  * Provides the neighbor relationships for a given shape.
@@ -99,12 +94,7 @@ public interface NeighborProvider {
      * @return Returns the created neighbor provider.
      */
     static NeighborProvider precomputed(Model model, NeighborProvider provider) {
-        Set<Shape> shapes = model.toSet();
-        Map<Shape, List<Relationship>> relationships = new HashMap<>(shapes.size());
-        for (Shape shape : shapes) {
-            relationships.put(shape, provider.getNeighbors(shape));
-        }
-        return shape -> relationships.getOrDefault(shape, ListUtils.of());
+        return NeighborGraph.of(model, provider).forward();
     }
 
     /**
@@ -127,24 +117,15 @@ public interface NeighborProvider {
      * @return Returns the reverse neighbor provider.
      */
     static NeighborProvider reverse(Model model, NeighborProvider forwardProvider) {
-        // Note: this method previously needed lots of intermediate representations
-        // stored in memory to create a Map<ShapeId, List<RelationShip>> that contains
-        // only unique relationships. It was done using Stream, distinct, and groupingBy.
-        // However, when trying to load ridiculously large models, that approach consumes
-        // tons of heap. This approach allocates as little as possible (I think), but
-        // does require creating an ArrayList copy of a Set each time neighbors are returned.
-        Map<ShapeId, Set<Relationship>> targetedFrom = new HashMap<>();
-
-        for (Shape shape : model.toSet()) {
-            for (Relationship rel : forwardProvider.getNeighbors(shape)) {
-                targetedFrom.computeIfAbsent(rel.getNeighborShapeId(), id -> new HashSet<>()).add(rel);
-            }
+        // Relationships are stored once in a compact graph, and each shape's
+        // reverse relationships are an unmodifiable view over that graph.
+        // If the forward provider is already a precomputed graph of the model,
+        // its relationships are reused rather than computed again.
+        NeighborGraph graph = NeighborGraph.backing(model, forwardProvider);
+        if (graph == null) {
+            graph = NeighborGraph.of(model, forwardProvider);
         }
-
-        return shape -> {
-            Set<Relationship> shapes = targetedFrom.get(shape.getId());
-            return shapes == null ? Collections.emptyList() : ListUtils.copyOf(shapes);
-        };
+        return graph.reverse();
     }
 
     /**
@@ -19,7 +19,8 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Predicate;
 import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.knowledge.ShapeBitSet;
+import software.amazon.smithy.model.knowledge.ShapeOrdinalIndex;
 import software.amazon.smithy.model.loader.Prelude;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.TraitDefinition;
@@ -53,24 +54,27 @@ public final class UnreferencedShapes {
      * @return Returns the unreferenced shapes.
      */
     public Set<Shape> compute(Model model) {
-        Walker shapeWalker = new Walker(NeighborProviderIndex.of(model).getProvider());
+        Walker shapeWalker = new Walker(model);
 
-        // Find all shapes connected to any service shape.
-        Set<Shape> connected = new HashSet<>();
+        // Find all shapes connected to any service shape. Shapes that are
+        // shared by services are only walked once.
+        ShapeBitSet connected = new ShapeBitSet(model);
         for (Shape service : model.getServiceShapes()) {
-            connected.addAll(shapeWalker.walkShapes(service));
+            shapeWalker.walkShapeSet(service, FunctionalUtils.alwaysTrue(), connected);
         }
 
         // Don't remove shapes that are traits or connected to traits.
         for (Shape trait : model.getShapesWithTrait(TraitDefinition.class)) {
-            connected.addAll(shapeWalker.walkShapes(trait));
+            shapeWalker.walkShapeSet(trait, FunctionalUtils.alwaysTrue(), connected);
         }
 
         // Any shape that wasn't identified as connected to a service is considered unreferenced.
         Set<Shape> result = new HashSet<>();
-        for (Shape shape : model.toSet()) {
+        ShapeOrdinalIndex ordinals = connected.getOrdinals();
+        for (int i = 0; i < ordinals.size(); i++) {
+            Shape shape = ordinals.getShape(i);
             if (!shape.isMemberShape()
-                    && !connected.contains(shape)
+                    && !connected.containsOrdinal(i)
                     && !Prelude.isPreludeShape(shape)
                     && keepFilter.test(shape)) {
                 result.add(shape);
@@ -26,6 +26,8 @@ import java.util.Set;
 import java.util.function.Predicate;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.knowledge.ShapeBitSet;
+import software.amazon.smithy.model.knowledge.ShapeOrdinalIndex;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.utils.FunctionalUtils;
@@ -45,12 +47,13 @@ import software.amazon.smithy.utils.FunctionalUtils;
 public final class Walker {
 
     private final NeighborProvider provider;
+    private final Model model;
 
     /**
      * @param model Model to traverse.
      */
     public Walker(Model model) {
-        this(NeighborProviderIndex.of(model).getProvider());
+        this(model, NeighborProviderIndex.of(model).getProvider());
     }
 
     /**
@@ -58,6 +61,16 @@ public final class Walker {
      */
     public Walker(NeighborProvider provider) {
         this.provider = provider;
+        this.model = null;
+    }
+
+    /**
+     * @param model Model to traverse.
+     * @param provider Neighbor provider used to traverse relationships.
+     */
+    public Walker(Model model, NeighborProvider provider) {
+        this.provider = provider;
+        this.model = model;
     }
 
     /**
@@ -116,6 +129,80 @@ public final class Walker {
         return result;
     }
 
+    /**
+     * Walks connected shapes in the model (including the given shape),
+     * and returns them in a {@link ShapeBitSet}.
+     *
+     * <p>Walking shapes into a bitset allocates far less than
+     * {@link #walkShapes(Shape)} when the closure of the shape is large.
+     * The walker must have been created with a model.
+     *
+     * @param shape The shape to start the traversal from.
+     * @return Returns a set of connected shapes.
+     * @throws IllegalStateException if the walker wasn't created with a model.
+     */
+    public ShapeBitSet walkShapeSet(Shape shape) {
+        return walkShapeSet(shape, FunctionalUtils.alwaysTrue());
+    }
+
+    /**
+     * Walks connected shapes in the model (including the given shape),
+     * and returns them in a {@link ShapeBitSet}.
+     *
+     * @param shape The shape to start the traversal from.
+     * @param predicate Predicate used to prevent traversing relationships.
+     * @return Returns a set of connected shapes.
+     * @throws IllegalStateException if the walker wasn't created with a model.
+     */
+    public ShapeBitSet walkShapeSet(Shape shape, Predicate<Relationship> predicate) {
+        if (model == null) {
+            throw new IllegalStateException("A Walker must be created with a Model to walk shapes into a bitset");
+        }
+        return walkShapeSet(shape, predicate, new ShapeBitSet(ShapeOrdinalIndex.of(model)));
+    }
+
+    /**
+     * Walks connected shapes in the model (including the given shape),
+     * and adds them to an existing {@link ShapeBitSet}.
+     *
+     * <p>Shapes that are already in the set are treated as already walked,
+     * so their relationships aren't traversed again. This allows the closure
+     * of many shapes to be computed without walking shared shapes more than
+     * once.
+     *
+     * @param shape The shape to start the traversal from.
+     * @param predicate Predicate used to prevent traversing relationships.
+     * @param visited Set to add connected shapes to.
+     * @return Returns {@code visited}.
+     * @throws IllegalArgumentException if a connected shape isn't part of the model of the set.
+     */
+    public ShapeBitSet walkShapeSet(Shape shape, Predicate<Relationship> predicate, ShapeBitSet visited) {
+        if (!visited.add(shape)) {
+            return visited;
+        }
+
+        // Precomputed providers can be walked by ordinal without looking up each shape.
+        NeighborGraph graph = NeighborGraph.backing(visited.getOrdinals(), provider);
+        if (graph != null) {
+            graph.walk(visited.getOrdinals().getOrdinal(shape), predicate, visited);
+            return visited;
+        }
+
+        Deque<Shape> stack = new ArrayDeque<>();
+        stack.push(shape);
+        while (!stack.isEmpty()) {
+            for (Relationship rel : provider.getNeighbors(stack.pop())) {
+                // Only look at valid relationships that pass the predicate.
+                Shape neighbor = rel.getNeighborShape().orElse(null);
+                if (neighbor != null && predicate.test(rel) && visited.add(neighbor)) {
+                    stack.push(neighbor);
+                }
+            }
+        }
+
+        return visited;
+    }
+
     /**
      * Lazily iterates over all of the relationships in the closure of
      * the given shape, including the given shape.
@@ -86,6 +86,9 @@ abstract class JsonHandler<A, O> {
     void endObject(O object, SourceLocation location) {
     }
 
+    void startObjectValue(O object, String name) {
+    }
+
     void endObjectValue(O object, String name, SourceLocation keyLocation) {
     }
 }
@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
 import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.loader.InternPool;
 import software.amazon.smithy.model.loader.ModelSyntaxException;
 
 /**
@@ -49,6 +50,8 @@ final class JsonParser {
     private final String filename;
     // Added by Smithy team to allow for whitespace comments.
     private boolean allowComments;
+    // Added by Smithy team to intern parsed strings. Strings aren't interned when null.
+    private final InternPool pool;
 
     private final JsonHandler<Object, Object> handler;
     private Reader reader;
@@ -78,16 +81,28 @@ final class JsonParser {
      *
      * @param handler the handler to process parser events
      */
-    @SuppressWarnings("unchecked")
     JsonParser(String filename, JsonHandler<?, ?> handler, boolean allowComments) {
+        this(filename, handler, allowComments, null);
+    }
+
+    /**
+     * Creates a new JsonParser that interns object member names, string values, and the
+     * filename using the given pool.
+     *
+     * @param handler the handler to process parser events
+     * @param pool the nullable pool used to intern strings
+     */
+    @SuppressWarnings("unchecked")
+    JsonParser(String filename, JsonHandler<?, ?> handler, boolean allowComments, InternPool pool) {
         if (handler == null) {
             throw new NullPointerException("handler is null");
         }
         this.handler = (JsonHandler<Object, Object>) handler;
 
         // Added by Smithy team
-        this.filename = filename;
+        this.filename = pool == null ? filename : pool.intern(filename);
         this.allowComments = allowComments;
+        this.pool = pool;
     }
 
     /**
@@ -253,7 +268,7 @@ final class JsonParser {
                 throw expected("':'");
             }
             skipWhiteSpace();
-            // handler.startObjectValue(object, name);
+            handler.startObjectValue(object, name);
             readValue();
             handler.endObjectValue(object, name, nameLocation);
             skipWhiteSpace();
@@ -269,7 +284,7 @@ final class JsonParser {
         if (current != '"') {
             throw expected("name");
         }
-        return readStringInternal();
+        return intern(readStringInternal());
     }
 
     private void readNull() throws IOException {
@@ -312,7 +327,12 @@ final class JsonParser {
     private void readString() throws IOException {
         SourceLocation location = getSourceLocation();
         // handler.startString();
-        handler.endString(readStringInternal(), location);
+        handler.endString(intern(readStringInternal()), location);
+    }
+
+    // Added by Smithy team.
+    private String intern(String string) {
+        return pool == null ? string : pool.intern(string);
     }
 
     private String readStringInternal() throws IOException {
@@ -15,10 +15,14 @@
 
 package software.amazon.smithy.model.node.internal;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.function.BiConsumer;
 import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.loader.InternPool;
 import software.amazon.smithy.model.node.ArrayNode;
 import software.amazon.smithy.model.node.BooleanNode;
 import software.amazon.smithy.model.node.Node;
@@ -33,6 +37,13 @@ public final class NodeHandler extends JsonHandler<ArrayNode.Builder, ObjectNode
 
     private Node value;
 
+    // Used to stream the entries of a top-level object member rather than keep them.
+    private String streamedMember;
+    private BiConsumer<StringNode, Node> streamedEntryConsumer;
+    private ObjectNode.Builder streamedObject;
+    private String topLevelMember;
+    private int depth;
+
     @SmithyInternalApi
     public static Node parse(String filename, String content, boolean allowComments) {
         NodeHandler handler = new NodeHandler();
@@ -40,6 +51,37 @@ public final class NodeHandler extends JsonHandler<ArrayNode.Builder, ObjectNode
         return handler.value;
     }
 
+    /**
+     * Parses JSON from a reader, streaming each entry of a top-level object
+     * member to a consumer as soon as the entry is parsed.
+     *
+     * <p>Streamed entries are not retained, so the given member is an empty
+     * object in the returned node. This allows large documents to be
+     * processed without holding the node tree of every entry in memory.
+     *
+     * @param filename Filename of the JSON document.
+     * @param content Reader that provides the JSON document.
+     * @param member Name of the top-level object member to stream.
+     * @param pool Pool used to intern strings.
+     * @param consumer Consumer that receives the key and value of each streamed entry.
+     * @return Returns the parsed node without the streamed entries.
+     * @throws IOException if the reader can't be read.
+     */
+    @SmithyInternalApi
+    public static Node parseStreamingMember(
+            String filename,
+            Reader content,
+            String member,
+            InternPool pool,
+            BiConsumer<StringNode, Node> consumer
+    ) throws IOException {
+        NodeHandler handler = new NodeHandler();
+        handler.streamedMember = member;
+        handler.streamedEntryConsumer = consumer;
+        new JsonParser(filename, handler, false, pool).parse(content);
+        return handler.value;
+    }
+
     @SmithyInternalApi
     public static String print(Node node) {
         StringWriter writer = new StringWriter();
@@ -91,6 +133,7 @@ public final class NodeHandler extends JsonHandler<ArrayNode.Builder, ObjectNode
 
     @Override
     ArrayNode.Builder startArray() {
+        depth++;
         return ArrayNode.builder();
     }
 
@@ -101,22 +144,40 @@ public final class NodeHandler extends JsonHandler<ArrayNode.Builder, ObjectNode
 
     @Override
     void endArray(ArrayNode.Builder builder, SourceLocation location) {
+        depth--;
         value = builder.sourceLocation(location).build();
     }
 
     @Override
     ObjectNode.Builder startObject() {
-        return ObjectNode.builder();
+        ObjectNode.Builder builder = ObjectNode.builder();
+        if (++depth == 2 && streamedMember != null && streamedMember.equals(topLevelMember)) {
+            streamedObject = builder;
+        }
+        return builder;
+    }
+
+    @Override
+    void startObjectValue(ObjectNode.Builder object, String name) {
+        if (depth == 1) {
+            topLevelMember = name;
+        }
     }
 
     @Override
     void endObjectValue(ObjectNode.Builder object, String name, SourceLocation keyLocation) {
         StringNode key = new StringNode(name, keyLocation);
-        object.withMember(key, value);
+        if (object == streamedObject) {
+            streamedEntryConsumer.accept(key, value);
+            value = null;
+        } else {
+            object.withMember(key, value);
+        }
     }
 
     @Override
     void endObject(ObjectNode.Builder object, SourceLocation location) {
+        depth--;
         value = object.sourceLocation(location).build();
     }
 }
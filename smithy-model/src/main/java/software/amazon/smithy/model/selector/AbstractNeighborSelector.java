@@ -46,10 +46,54 @@ abstract class AbstractNeighborSelector implements InternalSelector {
         return true;
     }
 
+    /**
+     * Sends each shape that would send {@code shape} to the next receiver
+     * if it was pushed through this selector.
+     *
+     * <p>This is only supported when {@link #isInvertible()} returns true.
+     *
+     * @param context Context being evaluated.
+     * @param shape Shape to find the origins of.
+     * @param next Receiver to call 0 or more times.
+     * @return Returns true to continue sending shapes to the selector.
+     */
+    final boolean pushInverse(Context context, Shape shape, Receiver next) {
+        NeighborProvider resolvedProvider = getInverseNeighborProvider(context, includeTraits);
+        for (Relationship rel : resolvedProvider.getNeighbors(shape)) {
+            if (matches(rel)) {
+                if (!emitInverseRel(context, shape, rel, next)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if the selector supports {@link #pushInverse}.
+     *
+     * @return Returns true if the selector can be inverted.
+     */
+    abstract boolean isInvertible();
+
     abstract NeighborProvider getNeighborProvider(Context context, boolean includeTraits);
 
+    abstract NeighborProvider getInverseNeighborProvider(Context context, boolean includeTraits);
+
     abstract boolean emitMatchingRel(Context context, Relationship rel, Receiver next);
 
+    abstract boolean emitInverseRel(Context context, Shape shape, Relationship rel, Receiver next);
+
+    /**
+     * Checks if the selector traverses bound relationships.
+     *
+     * @return Returns true if bound relationships are traversed.
+     */
+    final boolean traversesBound() {
+        return relTypes.isEmpty() || relTypes.contains("bound");
+    }
+
     private boolean matches(Relationship rel) {
         return rel.getNeighborShape().isPresent()
                && rel.getRelationshipType() != RelationshipType.MEMBER_CONTAINER
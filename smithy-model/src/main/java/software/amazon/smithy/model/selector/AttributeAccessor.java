@@ -0,0 +1,184 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.selector;
+
+import java.util.List;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeIdSyntaxException;
+import software.amazon.smithy.model.traits.Trait;
+
+/**
+ * Reads an attribute of a shape without creating {@link AttributeValue}s.
+ *
+ * <p>Accessors are resolved when a selector is parsed for the attribute
+ * paths that are commonly used in selectors, like {@code id|namespace} and
+ * {@code trait|documentation}. Reading an attribute returns null when the
+ * attribute isn't present, a {@link Number} when it's a number trait value,
+ * and otherwise the string the equivalent {@link AttributeValue} is
+ * converted to.
+ */
+abstract class AttributeAccessor {
+
+    private static final AttributeAccessor ID = new AttributeAccessor() {
+        @Override
+        Object read(Shape shape) {
+            return shape.getId().toString();
+        }
+    };
+
+    private static final AttributeAccessor ID_NAMESPACE = new AttributeAccessor() {
+        @Override
+        Object read(Shape shape) {
+            return shape.getId().getNamespace();
+        }
+    };
+
+    private static final AttributeAccessor ID_NAME = new AttributeAccessor() {
+        @Override
+        Object read(Shape shape) {
+            return shape.getId().getName();
+        }
+    };
+
+    private static final AttributeAccessor ID_MEMBER = new AttributeAccessor() {
+        @Override
+        Object read(Shape shape) {
+            return shape.getId().getMember().orElse(null);
+        }
+    };
+
+    /**
+     * Reads the attribute from a shape.
+     *
+     * @param shape Shape to read from.
+     * @return Returns the attribute, or null if it isn't present.
+     */
+    abstract Object read(Shape shape);
+
+    /**
+     * Resolves an accessor for an attribute path.
+     *
+     * @param path Attribute path to resolve.
+     * @return Returns the accessor, or null if the path has to be evaluated using {@link AttributeValue}s.
+     */
+    static AttributeAccessor of(List<String> path) {
+        switch (path.get(0)) {
+            case "id":
+                return id(path);
+            case "trait":
+                return trait(path);
+            default:
+                return null;
+        }
+    }
+
+    private static AttributeAccessor id(List<String> path) {
+        if (path.size() == 1) {
+            return ID;
+        } else if (path.size() > 2) {
+            return null;
+        }
+
+        switch (path.get(1)) {
+            case "namespace":
+                return ID_NAMESPACE;
+            case "name":
+                return ID_NAME;
+            case "member":
+                return ID_MEMBER;
+            default:
+                // Invalid properties fail when the selector is evaluated.
+                return null;
+        }
+    }
+
+    private static AttributeAccessor trait(List<String> path) {
+        // Pseudo-properties like (keys) and (length) create projections and literals.
+        if (path.size() < 2) {
+            return null;
+        }
+        for (int i = 1; i < path.size(); i++) {
+            if (path.get(i).startsWith("(")) {
+                return null;
+            }
+        }
+
+        ShapeId trait;
+        try {
+            trait = ShapeId.from(Trait.makeAbsoluteName(path.get(1)));
+        } catch (ShapeIdSyntaxException e) {
+            // Invalid trait IDs fail when the selector is evaluated.
+            return null;
+        }
+
+        StringNode[] members = new StringNode[path.size() - 2];
+        for (int i = 0; i < members.length; i++) {
+            members[i] = Node.from(path.get(i + 2));
+        }
+
+        return new TraitAccessor(trait, members);
+    }
+
+    /**
+     * Reads a trait by shape ID, and then descends into the members of
+     * object values of the trait.
+     */
+    private static final class TraitAccessor extends AttributeAccessor {
+        private final ShapeId trait;
+        private final StringNode[] members;
+
+        TraitAccessor(ShapeId trait, StringNode[] members) {
+            this.trait = trait;
+            this.members = members;
+        }
+
+        @Override
+        Object read(Shape shape) {
+            Trait value = shape.getAllTraits().get(trait);
+            if (value == null) {
+                return null;
+            }
+
+            Node node = value.toNode();
+            for (StringNode member : members) {
+                if (!node.isObjectNode()) {
+                    return null;
+                }
+                node = node.expectObjectNode().getMembers().get(member);
+                if (node == null) {
+                    return null;
+                }
+            }
+
+            // Only strings, numbers, and booleans have a string value, and null is not present.
+            switch (node.getType()) {
+                case STRING:
+                    return node.expectStringNode().getValue();
+                case NUMBER:
+                    return node.expectNumberNode().getValue();
+                case BOOLEAN:
+                    return node.expectBooleanNode().getValue() ? "true" : "false";
+                case NULL:
+                    return null;
+                default:
+                    return "";
+            }
+        }
+    }
+}
@@ -119,6 +119,13 @@ interface AttributeComparator {
 
     // Invalid numbers do not fail the parser or evaluation of a selector.
     static BigDecimal parseNumber(String token) {
+        // Avoid the cost of throwing an exception for values that are clearly
+        // not numbers, like shape IDs.
+        int start = token.startsWith("-") || token.startsWith("+") ? 1 : 0;
+        if (token.length() == start || !(Character.isDigit(token.charAt(start)) || token.charAt(start) == '.')) {
+            return null;
+        }
+
         try {
             return new BigDecimal(token);
         } catch (NumberFormatException e) {
@@ -15,26 +15,45 @@
 
 package software.amazon.smithy.model.selector;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.function.Function;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeIdSyntaxException;
 import software.amazon.smithy.model.traits.Trait;
 
 /**
  * Matches shapes with a specific attribute or that matches an attribute comparator.
+ *
+ * <p>Commonly used attribute paths are resolved to an {@link AttributeAccessor}
+ * when the selector is created, and the expected values are converted to the
+ * strings and numbers they are compared against. This allows the most common
+ * comparisons to be made without creating attribute values for each shape.
+ * Any other attribute is compared using {@link AttributeValue}s.
  */
 final class AttributeSelector implements InternalSelector {
 
+    private static final int MAX_LONG_DIGITS = 18;
+
     private final List<String> path;
     private final List<AttributeValue> expected;
     private final AttributeComparator comparator;
     private final boolean caseInsensitive;
 
+    // These are only set when the attribute can be compared without
+    // creating attribute values.
+    private final AttributeAccessor accessor;
+    private final String[] expectedStrings;
+    private final BigDecimal[] expectedNumbers;
+
     AttributeSelector(
             List<String> path,
             List<String> expected,
@@ -54,6 +73,42 @@ final class AttributeSelector implements InternalSelector {
                 this.expected.add(AttributeValue.literal(validValue));
             }
         }
+
+        AttributeAccessor resolved = isSpecialized(comparator) ? AttributeAccessor.of(path) : null;
+        if (resolved == null) {
+            accessor = null;
+            expectedStrings = null;
+            expectedNumbers = null;
+        } else {
+            accessor = resolved;
+            expectedStrings = new String[this.expected.size()];
+            expectedNumbers = isNumeric(comparator) ? new BigDecimal[expectedStrings.length] : null;
+            for (int i = 0; i < expectedStrings.length; i++) {
+                String value = this.expected.get(i).toString();
+                expectedStrings[i] = caseInsensitive ? value.toLowerCase(Locale.ENGLISH) : value;
+                if (expectedNumbers != null) {
+                    expectedNumbers[i] = AttributeComparator.parseNumber(value);
+                }
+            }
+        }
+    }
+
+    private static boolean isSpecialized(AttributeComparator comparator) {
+        return comparator == null
+               || comparator == AttributeComparator.EXISTS
+               || comparator == AttributeComparator.EQUALS
+               || comparator == AttributeComparator.NOT_EQUALS
+               || comparator == AttributeComparator.STARTS_WITH
+               || comparator == AttributeComparator.ENDS_WITH
+               || comparator == AttributeComparator.CONTAINS
+               || isNumeric(comparator);
+    }
+
+    private static boolean isNumeric(AttributeComparator comparator) {
+        return comparator == AttributeComparator.GT
+               || comparator == AttributeComparator.GTE
+               || comparator == AttributeComparator.LT
+               || comparator == AttributeComparator.LTE;
     }
 
     static AttributeSelector existence(List<String> path) {
@@ -62,24 +117,80 @@ final class AttributeSelector implements InternalSelector {
 
     @Override
     public Function<Model, Collection<? extends Shape>> optimize() {
-        // Optimization for loading shapes with a specific trait.
-        // This optimization can only be applied when there's no comparator,
-        // and it doesn't matter how deep into the trait the selector descends.
-        if (comparator == null
-                && path.size() >= 2
+        if (path.size() >= 2
                 && path.get(0).equals("trait")     // only match on traits
-                && !path.get(1).startsWith("(")) { // don't match projections
+                && !path.get(1).startsWith("(")    // don't match projections
+                && requiresValue()) {
+            // Optimization for loading shapes with a specific trait. It
+            // doesn't matter how deep into the trait the selector descends
+            // since the trait has to be present to match.
             return model -> {
                 // The trait name might be relative to the prelude, so ensure it's absolute.
                 String absoluteShapeId = Trait.makeAbsoluteName(path.get(1));
                 ShapeId trait = ShapeId.from(absoluteShapeId);
                 return model.getShapesWithTrait(trait);
             };
+        } else if (comparator != AttributeComparator.EQUALS || caseInsensitive || !path.get(0).equals("id")) {
+            return null;
+        } else if (path.size() == 1) {
+            // Optimization for finding shapes by ID: [id = smithy.example#Foo]
+            return model -> {
+                Set<Shape> result = new HashSet<>();
+                for (AttributeValue value : expected) {
+                    String id = value.toString();
+                    try {
+                        model.getShape(ShapeId.from(id))
+                                .filter(shape -> shape.getId().toString().equals(id))
+                                .ifPresent(result::add);
+                    } catch (ShapeIdSyntaxException e) {
+                        // Invalid shape IDs can't match any shape.
+                    }
+                }
+                return result;
+            };
+        } else if (path.size() == 2 && path.get(1).equals("namespace")) {
+            // Optimization for finding shapes in a namespace: [id|namespace = smithy.example]
+            return model -> {
+                NamespaceIndex index = NamespaceIndex.of(model);
+                if (expected.size() == 1) {
+                    return index.getShapes(expected.get(0).toString());
+                }
+                Set<Shape> result = new HashSet<>();
+                for (AttributeValue value : expected) {
+                    result.addAll(index.getShapes(value.toString()));
+                }
+                return result;
+            };
         } else {
             return null;
         }
     }
 
+    // Checks if the attribute has to be present for a shape to match.
+    private boolean requiresValue() {
+        if (comparator == null) {
+            return true;
+        } else if (comparator == AttributeComparator.PROJECTION_NOT_EQUALS) {
+            // Values that aren't projections, including missing values, are never equal to a projection.
+            return false;
+        } else if (comparator == AttributeComparator.EXISTS) {
+            // [trait|foo ?= false] matches shapes that don't have the trait.
+            for (AttributeValue value : expected) {
+                if (!value.toString().equals("true")) {
+                    return false;
+                }
+            }
+        }
+
+        // Every other comparator requires both values to be present.
+        return true;
+    }
+
+    @Override
+    public boolean isFilter() {
+        return !path.get(0).equals("var");
+    }
+
     @Override
     public boolean push(Context context, Shape shape, Receiver next) {
         if (matchesAttribute(shape, context)) {
@@ -90,6 +201,10 @@ final class AttributeSelector implements InternalSelector {
     }
 
     private boolean matchesAttribute(Shape shape, Context stack) {
+        if (accessor != null) {
+            return matchesAccessedAttribute(accessor.read(shape));
+        }
+
         AttributeValue lhs = AttributeValue.shape(shape, stack.getVars()).getPath(path);
 
         if (comparator == null) {
@@ -104,4 +219,208 @@ final class AttributeSelector implements InternalSelector {
 
         return false;
     }
+
+    // Compares a value read by the accessor using the same semantics as
+    // the comparator would when given the equivalent attribute value.
+    private boolean matchesAccessedAttribute(Object value) {
+        if (comparator == null) {
+            return value != null;
+        } else if (comparator == AttributeComparator.EXISTS) {
+            String wanted = value != null ? "true" : "false";
+            for (AttributeValue rhs : expected) {
+                if (rhs.toString().equals(wanted)) {
+                    return true;
+                }
+            }
+            return false;
+        } else if (value == null) {
+            // Both values must be present to compare.
+            return false;
+        } else if (expectedNumbers != null) {
+            return matchesNumber(value);
+        }
+
+        String lhs = value instanceof String ? (String) value : value.toString();
+        for (String rhs : expectedStrings) {
+            if (compareString(lhs, rhs)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean compareString(String lhs, String rhs) {
+        if (caseInsensitive) {
+            Boolean result = compareAscii(lhs, rhs);
+            if (result != null) {
+                return result;
+            }
+            lhs = lhs.toLowerCase(Locale.ENGLISH);
+        }
+
+        if (comparator == AttributeComparator.EQUALS) {
+            return lhs.equals(rhs);
+        } else if (comparator == AttributeComparator.NOT_EQUALS) {
+            return !lhs.equals(rhs);
+        } else if (comparator == AttributeComparator.STARTS_WITH) {
+            return lhs.startsWith(rhs);
+        } else if (comparator == AttributeComparator.ENDS_WITH) {
+            return lhs.endsWith(rhs);
+        } else {
+            return lhs.contains(rhs);
+        }
+    }
+
+    // Compares a string to a lowercase string by converting ASCII characters
+    // to lowercase as they're compared, returning null if a non-ASCII
+    // character is found that could change the result. Converting non-ASCII
+    // characters to lowercase can change the length of a string, but ASCII
+    // characters always become a single character, so the characters compared
+    // before a non-ASCII character is found are always at the same position.
+    private Boolean compareAscii(String lhs, String rhs) {
+        int result;
+        if (comparator == AttributeComparator.ENDS_WITH) {
+            result = compareAsciiSuffix(lhs, rhs);
+        } else if (comparator != AttributeComparator.CONTAINS) {
+            result = compareAsciiPrefix(lhs, rhs);
+        } else if (isAscii(lhs)) {
+            for (int offset = 0; offset <= lhs.length() - rhs.length(); offset++) {
+                if (compareAsciiRegion(lhs, offset, rhs, 0, rhs.length()) == 1) {
+                    return true;
+                }
+            }
+            return false;
+        } else {
+            return null;
+        }
+
+        if (result == -1) {
+            return null;
+        }
+
+        // Every compared character is ASCII, so a shorter string is entirely ASCII.
+        boolean matches = result == 1 && lhs.length() >= rhs.length();
+        if (comparator == AttributeComparator.EQUALS) {
+            return matches && lhs.length() == rhs.length();
+        } else if (comparator == AttributeComparator.NOT_EQUALS) {
+            return !matches || lhs.length() != rhs.length();
+        } else {
+            return matches;
+        }
+    }
+
+    private static int compareAsciiPrefix(String lhs, String rhs) {
+        return compareAsciiRegion(lhs, 0, rhs, 0, Math.min(lhs.length(), rhs.length()));
+    }
+
+    // The suffix is compared from the end so that the compared characters
+    // are always after any non-ASCII character.
+    private static int compareAsciiSuffix(String lhs, String rhs) {
+        int count = Math.min(lhs.length(), rhs.length());
+        for (int i = 1; i <= count; i++) {
+            int result = compareAsciiChar(lhs.charAt(lhs.length() - i), rhs.charAt(rhs.length() - i));
+            if (result != 1) {
+                return result;
+            }
+        }
+        return 1;
+    }
+
+    // Returns 1 if the regions match, 0 if they don't, or -1 if a non-ASCII
+    // character is found before the regions are known to not match.
+    private static int compareAsciiRegion(String lhs, int lhsOffset, String rhs, int rhsOffset, int count) {
+        for (int i = 0; i < count; i++) {
+            int result = compareAsciiChar(lhs.charAt(lhsOffset + i), rhs.charAt(rhsOffset + i));
+            if (result != 1) {
+                return result;
+            }
+        }
+        return 1;
+    }
+
+    private static int compareAsciiChar(char c, char lowercase) {
+        if (c > 0x7F) {
+            return -1;
+        } else if (c >= 'A' && c <= 'Z') {
+            c = (char) (c + ('a' - 'A'));
+        }
+        return c == lowercase ? 1 : 0;
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matchesNumber(Object value) {
+        for (BigDecimal rhs : expectedNumbers) {
+            // Invalid numbers don't match anything.
+            if (rhs != null) {
+                Integer result = compareNumber(value, rhs);
+                if (result != null && matchesNumericResult(result)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    // Returns null when the value isn't a valid number.
+    private static Integer compareNumber(Object value, BigDecimal rhs) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return compareLong(((Number) value).longValue(), rhs);
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).compareTo(rhs);
+        }
+
+        String string = value.toString();
+        if (isSmallInteger(string)) {
+            return compareLong(Long.parseLong(string), rhs);
+        }
+
+        BigDecimal lhs = AttributeComparator.parseNumber(string);
+        return lhs == null ? null : lhs.compareTo(rhs);
+    }
+
+    private static int compareLong(long lhs, BigDecimal rhs) {
+        // Compare integers that fit in a long without creating a BigDecimal.
+        if (rhs.scale() == 0 && rhs.precision() <= MAX_LONG_DIGITS) {
+            return Long.compare(lhs, rhs.longValue());
+        }
+        return BigDecimal.valueOf(lhs).compareTo(rhs);
+    }
+
+    // Checks if a string is an optionally negative integer that fits in a long.
+    private static boolean isSmallInteger(String value) {
+        int start = value.startsWith("-") ? 1 : 0;
+        int length = value.length() - start;
+        if (length == 0 || length > MAX_LONG_DIGITS) {
+            return false;
+        }
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matchesNumericResult(int result) {
+        if (comparator == AttributeComparator.GT) {
+            return result > 0;
+        } else if (comparator == AttributeComparator.GTE) {
+            return result >= 0;
+        } else if (comparator == AttributeComparator.LT) {
+            return result < 0;
+        } else {
+            return result <= 0;
+        }
+    }
 }
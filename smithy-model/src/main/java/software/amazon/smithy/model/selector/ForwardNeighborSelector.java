@@ -18,6 +18,8 @@ package software.amazon.smithy.model.selector;
 import java.util.List;
 import software.amazon.smithy.model.neighbor.NeighborProvider;
 import software.amazon.smithy.model.neighbor.Relationship;
+import software.amazon.smithy.model.neighbor.RelationshipType;
+import software.amazon.smithy.model.shapes.Shape;
 
 /**
  * Traverses into the neighbors of shapes with an optional list of
@@ -36,8 +38,29 @@ final class ForwardNeighborSelector extends AbstractNeighborSelector {
                : context.neighborIndex.getProvider();
     }
 
+    @Override
+    NeighborProvider getInverseNeighborProvider(Context context, boolean includeTraits) {
+        return includeTraits
+               ? context.neighborIndex.getReverseProviderWithTraitRelationships()
+               : context.neighborIndex.getReverseProvider();
+    }
+
     @Override
     boolean emitMatchingRel(Context context, Relationship rel, Receiver next) {
         return next.apply(context, rel.getNeighborShape().get());
     }
+
+    @Override
+    boolean isInvertible() {
+        return true;
+    }
+
+    @Override
+    boolean emitInverseRel(Context context, Shape shape, Relationship rel, Receiver next) {
+        // Bound relationships are found in the relationships of the shape
+        // they are bound to, and they point back to that same shape.
+        return rel.getRelationshipType() == RelationshipType.BOUND
+               ? next.apply(context, shape)
+               : next.apply(context, rel.getShape());
+    }
 }
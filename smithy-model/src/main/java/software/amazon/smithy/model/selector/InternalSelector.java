@@ -70,6 +70,20 @@ interface InternalSelector {
         return null;
     }
 
+    /**
+     * Checks if the selector is a filter.
+     *
+     * <p>A filter sends either nothing or the shape it received to the
+     * {@code next} receiver, and it decides which based only on that shape.
+     * Filters don't read or set variables, so adjacent filters can be
+     * evaluated in any order without changing the result.
+     *
+     * @return Returns true if the selector is a filter.
+     */
+    default boolean isFilter() {
+        return false;
+    }
+
     /**
      * Receives shapes from an InternalSelector.
      */
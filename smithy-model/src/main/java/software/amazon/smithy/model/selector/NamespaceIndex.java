@@ -0,0 +1,54 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.selector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * Index of the shapes of a model by namespace, used to find the shapes
+ * that can match {@code [id|namespace = ...]} without checking every shape.
+ */
+final class NamespaceIndex implements KnowledgeIndex {
+
+    private final Map<String, List<Shape>> namespaces = new HashMap<>();
+
+    NamespaceIndex(Model model) {
+        for (Shape shape : model.toSet()) {
+            namespaces.computeIfAbsent(shape.getId().getNamespace(), ns -> new ArrayList<>()).add(shape);
+        }
+    }
+
+    static NamespaceIndex of(Model model) {
+        return model.getKnowledge(NamespaceIndex.class, NamespaceIndex::new);
+    }
+
+    /**
+     * Gets the shapes in a namespace.
+     *
+     * @param namespace Namespace to get.
+     * @return Returns the shapes in the namespace.
+     */
+    List<Shape> getShapes(String namespace) {
+        return Collections.unmodifiableList(namespaces.getOrDefault(namespace, Collections.emptyList()));
+    }
+}
@@ -23,9 +23,11 @@ import software.amazon.smithy.model.shapes.Shape;
 final class NotSelector implements InternalSelector {
 
     private final InternalSelector selector;
+    private final boolean filter;
 
-    NotSelector(InternalSelector selector) {
+    NotSelector(InternalSelector selector, boolean filter) {
         this.selector = selector;
+        this.filter = filter;
     }
 
     @Override
@@ -36,4 +38,9 @@ final class NotSelector implements InternalSelector {
             return true;
         }
     }
+
+    @Override
+    public boolean isFilter() {
+        return filter;
+    }
 }
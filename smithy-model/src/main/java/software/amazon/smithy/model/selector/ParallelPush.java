@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.selector;
+
+import java.util.concurrent.RecursiveTask;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * Pushes a range of starting shapes through a pipeline, splitting the
+ * range in half and forking one half until the range is small enough to
+ * evaluate directly.
+ *
+ * <p>Each chunk that is evaluated directly creates its own context and
+ * result, so workers never share mutable state. Results are merged as
+ * tasks are joined, keeping the results of earlier shapes first.
+ *
+ * @param <R> Type of result created by each chunk.
+ */
+final class ParallelPush<R> extends RecursiveTask<R> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates, fills, and merges the results of chunks.
+     *
+     * @param <R> Type of result.
+     */
+    interface Accumulator<R> {
+        /**
+         * Creates an empty result.
+         *
+         * @return Returns the result.
+         */
+        R create();
+
+        /**
+         * Creates a receiver that adds the shapes it receives to a result.
+         *
+         * @param result Result to add to.
+         * @return Returns the receiver.
+         */
+        InternalSelector.Receiver receiver(R result);
+
+        /**
+         * Merges the result of a later chunk into the result of an earlier chunk.
+         *
+         * @param first Result of the earlier chunk.
+         * @param second Result of the later chunk.
+         * @return Returns the merged result.
+         */
+        R merge(R first, R second);
+    }
+
+    private final InternalSelector pipeline;
+    private final NeighborProviderIndex neighborIndex;
+    private final Accumulator<R> accumulator;
+    private final Shape[] shapes;
+    private final int from;
+    private final int to;
+    private final int chunkSize;
+
+    ParallelPush(
+            InternalSelector pipeline,
+            NeighborProviderIndex neighborIndex,
+            Accumulator<R> accumulator,
+            Shape[] shapes,
+            int from,
+            int to,
+            int chunkSize
+    ) {
+        this.pipeline = pipeline;
+        this.neighborIndex = neighborIndex;
+        this.accumulator = accumulator;
+        this.shapes = shapes;
+        this.from = from;
+        this.to = to;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected R compute() {
+        if (to - from <= chunkSize) {
+            R result = accumulator.create();
+            InternalSelector.Receiver receiver = accumulator.receiver(result);
+            Context context = new Context(neighborIndex);
+            for (int i = from; i < to; i++) {
+                pipeline.push(context.clearVars(), shapes[i], receiver);
+            }
+            return result;
+        }
+
+        int middle = (from + to) >>> 1;
+        ParallelPush<R> first = split(from, middle);
+        ParallelPush<R> second = split(middle, to);
+        first.fork();
+        R secondResult = second.compute();
+        return accumulator.merge(first.join(), secondResult);
+    }
+
+    private ParallelPush<R> split(int splitFrom, int splitTo) {
+        return new ParallelPush<>(pipeline, neighborIndex, accumulator, shapes, splitFrom, splitTo, chunkSize);
+    }
+}
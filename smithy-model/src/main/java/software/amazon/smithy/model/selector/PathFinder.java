@@ -16,11 +16,17 @@
 package software.amazon.smithy.model.selector;
 
 import java.util.AbstractList;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Logger;
@@ -58,16 +64,39 @@ import software.amazon.smithy.utils.ListUtils;
  * words, {@code PathFinder} will not traverse relationships from a resource to
  * the resource's parent or from a member to the shape that contains it
  * because those are inverted relationships.
+ *
+ * <p>Paths are found by starting from each matching shape and following
+ * relationships backwards to the starting shape. Shapes that can't be
+ * reached from the starting shape are never visited, so large or recursive
+ * parts of the model that don't lead back to the starting shape are skipped.
+ * The number of paths to find and the number of relationships in each path
+ * can be limited, and paths can be found lazily using
+ * {@link #iteratePaths(ToShapeId, Selector)}.
+ *
+ * <pre>{@code
+ * PathFinder pathFinder = PathFinder.create(myModel).withMaxPaths(10).withMaxDepth(20);
+ * Iterator<PathFinder.Path> results = pathFinder.iteratePaths(myOperationInput, "[trait|streaming]");
+ * }</pre>
  */
 public final class PathFinder {
     private static final Logger LOGGER = Logger.getLogger(PathFinder.class.getName());
 
     private final Model model;
+    private final NeighborProvider provider;
     private final NeighborProvider reverseProvider;
+    private final int maxPaths;
+    private final int maxDepth;
 
     private PathFinder(Model model) {
+        this(model, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    private PathFinder(Model model, int maxPaths, int maxDepth) {
         this.model = model;
+        this.provider = NeighborProviderIndex.of(model).getProvider();
         this.reverseProvider = NeighborProviderIndex.of(model).getReverseProvider();
+        this.maxPaths = maxPaths;
+        this.maxDepth = maxDepth;
     }
 
     /**
@@ -80,6 +109,36 @@ public final class PathFinder {
         return new PathFinder(model);
     }
 
+    /**
+     * Creates a {@code PathFinder} that finds at most the given number of
+     * paths.
+     *
+     * @param maxPaths Maximum number of paths to find.
+     * @return Returns the created {@code PathFinder}.
+     * @throws IllegalArgumentException if {@code maxPaths} is less than 1.
+     */
+    public PathFinder withMaxPaths(int maxPaths) {
+        if (maxPaths < 1) {
+            throw new IllegalArgumentException("PathFinder maxPaths must be greater than 0, but found " + maxPaths);
+        }
+        return new PathFinder(model, maxPaths, maxDepth);
+    }
+
+    /**
+     * Creates a {@code PathFinder} that only finds paths that contain at
+     * most the given number of relationships.
+     *
+     * @param maxDepth Maximum number of relationships in each path.
+     * @return Returns the created {@code PathFinder}.
+     * @throws IllegalArgumentException if {@code maxDepth} is less than 1.
+     */
+    public PathFinder withMaxDepth(int maxDepth) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("PathFinder maxDepth must be greater than 0, but found " + maxDepth);
+        }
+        return new PathFinder(model, maxPaths, maxDepth);
+    }
+
     /**
      * Finds all of the possible paths from the starting shape to all shapes
      * connected to the starting shape that match the given selector.
@@ -101,37 +160,84 @@ public final class PathFinder {
      * @return Returns the list of matching paths.
      */
     public List<Path> search(ToShapeId startingShape, Selector targetSelector) {
+        return collect(iteratePaths(startingShape, targetSelector));
+    }
+
+    /**
+     * Finds all of the possible paths from the {@code startingShape} to
+     * any of the provided shapes in {@code targetShapes}.
+     *
+     * @param startingShape Starting shape to find the paths from.
+     * @param targetShapes The shapes to try to find a path to.
+     * @return Returns the list of matching paths.
+     */
+    public List<Path> search(ToShapeId startingShape, Collection<Shape> targetShapes) {
+        return collect(iteratePaths(startingShape, targetShapes));
+    }
+
+    /**
+     * Lazily finds the possible paths from the starting shape to all shapes
+     * connected to the starting shape that match the given selector.
+     *
+     * @param startingShape Starting shape to find the paths from.
+     * @param targetSelector Selector that matches shapes to find the path to.
+     * @return Returns an iterator of matching paths.
+     */
+    public Iterator<Path> iteratePaths(ToShapeId startingShape, String targetSelector) {
+        return iteratePaths(startingShape, Selector.parse(targetSelector));
+    }
+
+    /**
+     * Lazily finds the possible paths from the starting shape to all shapes
+     * connected to the starting shape that match the given selector.
+     *
+     * <p>Paths are found as the iterator is advanced, so finding the first
+     * few paths doesn't require finding every path.
+     *
+     * @param startingShape Starting shape to find the paths from.
+     * @param targetSelector Selector that matches shapes to find the path to.
+     * @return Returns an iterator of matching paths.
+     */
+    public Iterator<Path> iteratePaths(ToShapeId startingShape, Selector targetSelector) {
         // Find all shapes that match the selector then work backwards from there.
         Set<Shape> candidates = targetSelector.select(model);
 
         if (candidates.isEmpty()) {
             LOGGER.info(() -> "No shapes matched the PathFinder selector of `" + targetSelector + "`");
-            return ListUtils.of();
+            return Collections.emptyIterator();
         }
 
         LOGGER.finest(() -> candidates.size() + " shapes matched the PathFinder selector of " + targetSelector);
-        return searchFromShapeToSet(startingShape, candidates);
-    }
-
-    private List<Path> searchFromShapeToSet(ToShapeId startingShape, Collection<Shape> candidates) {
-        Shape shape = model.getShape(startingShape.toShapeId()).orElse(null);
-        if (shape == null || candidates.isEmpty()) {
-            return ListUtils.of();
-        } else {
-            return new Search(reverseProvider, shape, candidates).execute();
-        }
+        return iteratePaths(startingShape, candidates);
     }
 
     /**
-     * Finds all of the possible paths from the {@code startingShape} to
+     * Lazily finds the possible paths from the {@code startingShape} to
      * any of the provided shapes in {@code targetShapes}.
      *
      * @param startingShape Starting shape to find the paths from.
      * @param targetShapes The shapes to try to find a path to.
-     * @return Returns the list of matching paths.
+     * @return Returns an iterator of matching paths.
      */
-    public List<Path> search(ToShapeId startingShape, Collection<Shape> targetShapes) {
-        return searchFromShapeToSet(startingShape, targetShapes);
+    public Iterator<Path> iteratePaths(ToShapeId startingShape, Collection<Shape> targetShapes) {
+        Shape shape = model.getShape(startingShape.toShapeId()).orElse(null);
+        if (shape == null || targetShapes.isEmpty()) {
+            return Collections.emptyIterator();
+        } else {
+            return new Search(shape, targetShapes);
+        }
+    }
+
+    private static List<Path> collect(Iterator<Path> paths) {
+        if (!paths.hasNext()) {
+            return ListUtils.of();
+        }
+
+        List<Path> result = new ArrayList<>();
+        while (paths.hasNext()) {
+            result.add(paths.next());
+        }
+        return result;
     }
 
     /**
@@ -286,55 +392,155 @@ public final class PathFinder {
         }
     }
 
-    private static final class Search {
+    /**
+     * Lazily finds paths by following relationships backwards from each
+     * candidate until the starting shape is reached.
+     *
+     * <p>The distance from the starting shape to each shape it can reach is
+     * computed once when the search is created. Relationships are only
+     * followed backwards to shapes that can be reached from the starting
+     * shape, and only if the starting shape can still be reached without
+     * exceeding the maximum depth.
+     */
+    private final class Search implements Iterator<Path> {
         private final Shape startingShape;
-        private final NeighborProvider provider;
-        private final Collection<Shape> candidates;
-        private final List<Path> results = new ArrayList<>();
-
-        Search(NeighborProvider provider, Shape startingShape, Collection<Shape> candidates) {
+        private final Iterator<Shape> candidates;
+        private final Map<ShapeId, Integer> distances;
+        private final Set<ShapeId> visited = new HashSet<>();
+        private final List<Frame> frames = new ArrayList<>();
+
+        // The relationship followed into each frame after the first, ordered
+        // from the candidate towards the starting shape.
+        private final List<Relationship> path = new ArrayList<>();
+        private Path queued;
+        private int found;
+
+        Search(Shape startingShape, Collection<Shape> candidates) {
             this.startingShape = startingShape;
-            this.candidates = candidates;
-            this.provider = provider;
+            this.candidates = candidates.iterator();
+            this.distances = computeDistances(startingShape);
         }
 
-        List<Path> execute() {
-            for (Shape candidate : candidates) {
-                traverseUp(candidate, new LinkedList<>(), new HashSet<>());
+        @Override
+        public boolean hasNext() {
+            if (queued != null) {
+                return true;
             }
 
-            return results;
+            while (found < maxPaths) {
+                if (frames.isEmpty()) {
+                    if (!candidates.hasNext()) {
+                        return false;
+                    }
+                    Shape candidate = candidates.next();
+                    // Candidates that can't be reached from the starting shape have no paths.
+                    if (distances.containsKey(candidate.getId())) {
+                        push(candidate);
+                    }
+                    continue;
+                }
+
+                Frame frame = frames.get(frames.size() - 1);
+                if (frame.index == frame.relationships.size()) {
+                    pop();
+                    continue;
+                }
+
+                Relationship relationship = frame.relationships.get(frame.index++);
+
+                // Don't traverse up through containers.
+                if (relationship.getDirection() != RelationshipDirection.DIRECTED) {
+                    continue;
+                }
+
+                Shape parent = relationship.getShape();
+                Integer distance = distances.get(parent.getId());
+                if (distance == null || path.size() + 1 + distance > maxDepth) {
+                    continue;
+                }
+
+                if (parent.getId().equals(startingShape.getId())) {
+                    // The starting shape was reached, so the path is complete.
+                    queued = createPath(relationship);
+                    found++;
+                    return true;
+                }
+
+                // Short circuit any possible recursion.
+                if (!visited.contains(parent.getId())) {
+                    path.add(relationship);
+                    push(parent);
+                }
+            }
+
+            return false;
         }
 
-        private void traverseUp(Shape current, List<Relationship> path, Set<ShapeId> visited) {
-            if (!path.isEmpty() && current.getId().equals(startingShape.getId())) {
-                // Add the path to the result set if the target shape was reached.
-                // But, don't add the path if no nodes have been traversed.
-                results.add(new Path(path));
-                return;
+        @Override
+        public Path next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more paths in PathFinder search");
             }
 
-            // Short circuit any possible recursion. While it's not possible
-            // to enter a recursive path with the built-in NeighborProvider
-            // implementations and the bottom-up traversal, it is possible
-            // that a custom neighbor provider has a different behavior, so
-            // this check remains just in case.
-            if (visited.contains(current.getId())) {
-                return;
+            Path result = queued;
+            queued = null;
+            return result;
+        }
+
+        private void push(Shape shape) {
+            visited.add(shape.getId());
+            frames.add(new Frame(shape, reverseProvider.getNeighbors(shape)));
+        }
+
+        private void pop() {
+            Frame frame = frames.remove(frames.size() - 1);
+            visited.remove(frame.shape.getId());
+            if (!frames.isEmpty()) {
+                path.remove(path.size() - 1);
             }
+        }
 
-            Set<ShapeId> newVisited = new HashSet<>(visited);
-            newVisited.add(current.getId());
+        private Path createPath(Relationship last) {
+            List<Relationship> relationships = new ArrayList<>(path.size() + 1);
+            relationships.add(last);
+            for (int i = path.size() - 1; i >= 0; i--) {
+                relationships.add(path.get(i));
+            }
+            return new Path(relationships);
+        }
+    }
 
-            for (Relationship relationship : provider.getNeighbors(current)) {
-                // Don't traverse up through containers.
-                if (relationship.getDirection() == RelationshipDirection.DIRECTED) {
-                    List<Relationship> newPath = new ArrayList<>(path.size() + 1);
-                    newPath.add(relationship);
-                    newPath.addAll(path);
-                    traverseUp(relationship.getShape(), newPath, newVisited);
+    // Computes the fewest number of directed relationships needed to reach
+    // each shape from the starting shape.
+    private Map<ShapeId, Integer> computeDistances(Shape startingShape) {
+        Map<ShapeId, Integer> distances = new HashMap<>();
+        distances.put(startingShape.getId(), 0);
+        Deque<Shape> queue = new ArrayDeque<>();
+        queue.add(startingShape);
+
+        while (!queue.isEmpty()) {
+            Shape shape = queue.poll();
+            int distance = distances.get(shape.getId()) + 1;
+            for (Relationship relationship : provider.getNeighbors(shape)) {
+                if (relationship.getDirection() == RelationshipDirection.DIRECTED
+                        && !distances.containsKey(relationship.getNeighborShapeId())) {
+                    distances.put(relationship.getNeighborShapeId(), distance);
+                    relationship.getNeighborShape().ifPresent(queue::add);
                 }
             }
         }
+
+        return distances;
+    }
+
+    private static final class Frame {
+        private final Shape shape;
+        private final List<Relationship> relationships;
+        private int index;
+
+        Frame(Shape shape, List<Relationship> relationships) {
+            this.shape = shape;
+            this.relationships = relationships;
+        }
     }
 }
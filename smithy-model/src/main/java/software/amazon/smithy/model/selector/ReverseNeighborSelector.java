@@ -18,6 +18,7 @@ package software.amazon.smithy.model.selector;
 import java.util.List;
 import software.amazon.smithy.model.neighbor.NeighborProvider;
 import software.amazon.smithy.model.neighbor.Relationship;
+import software.amazon.smithy.model.shapes.Shape;
 
 /**
  * Traverses into the reverse neighbors of shapes with an optional
@@ -36,8 +37,28 @@ final class ReverseNeighborSelector extends AbstractNeighborSelector {
                : context.neighborIndex.getReverseProvider();
     }
 
+    @Override
+    NeighborProvider getInverseNeighborProvider(Context context, boolean includeTraits) {
+        return includeTraits
+               ? context.neighborIndex.getProviderWithTraitRelationships()
+               : context.neighborIndex.getProvider();
+    }
+
     @Override
     boolean emitMatchingRel(Context context, Relationship rel, Receiver next) {
         return next.apply(context, rel.getShape());
     }
+
+    @Override
+    boolean isInvertible() {
+        // The subject of a bound relationship is not the shape that has the
+        // relationship, so the shapes that emit a bound shape can't be found
+        // from the relationships of the bound shape.
+        return !traversesBound();
+    }
+
+    @Override
+    boolean emitInverseRel(Context context, Shape shape, Relationship rel, Receiver next) {
+        return next.apply(context, rel.getNeighborShape().get());
+    }
 }
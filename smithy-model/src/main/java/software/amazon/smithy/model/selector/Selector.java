@@ -103,6 +103,36 @@ public interface Selector {
      */
     Stream<ShapeMatch> matches(Model model);
 
+    /**
+     * Describes how the selector is evaluated against a model.
+     *
+     * <p>The description includes the shapes that evaluation starts from
+     * and the order in which the parts of the selector are evaluated. It
+     * is intended to help debug slow selectors, and its format can change
+     * at any time.
+     *
+     * @param model Model the selector would be evaluated against.
+     * @return Returns the description of how the selector is evaluated.
+     */
+    default String explain(Model model) {
+        return "Selector: " + this + "\nStart: all shapes (" + model.getShapeIds().size() + " shapes)";
+    }
+
+    /**
+     * Creates a selector that decides when to evaluate in parallel using
+     * the given policy.
+     *
+     * <p>Selectors use {@link SelectorParallelism#DEFAULT} unless another
+     * policy is given. Selectors that don't support parallel evaluation
+     * return themselves.
+     *
+     * @param parallelism Policy used to decide when to evaluate in parallel.
+     * @return Returns the created selector.
+     */
+    default Selector withParallelism(SelectorParallelism parallelism) {
+        return this;
+    }
+
     /**
      * Represents a selector match found in the model.
      *
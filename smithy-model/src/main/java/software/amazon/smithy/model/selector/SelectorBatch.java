@@ -0,0 +1,294 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.selector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * Evaluates many selectors together in a single pass over a model.
+ *
+ * <p>Selectors are parsed into a pipeline of steps like shape type checks,
+ * attribute comparisons, and neighbor traversals. A batch merges the
+ * pipelines of its selectors into a tree so that steps shared by the
+ * beginning of several selectors, like {@code operation -[input]->}, are
+ * only evaluated once for each shape. Selectors that have to consider
+ * every shape in the model share a single iteration over the model, and
+ * selectors that start from the same index, like the shapes that have a
+ * trait, share the shapes found by the index.
+ *
+ * <p>The results of a batch are the same as evaluating each selector on
+ * its own. Steps that use variables aren't shared since their results can
+ * depend on the variables set by the steps before them.
+ *
+ * <pre>{@code
+ * SelectorBatch batch = SelectorBatch.of(ListUtils.of(
+ *         Selector.parse("operation -[input]-> structure > member [trait|required]"),
+ *         Selector.parse("operation -[input]-> structure > member [trait|httpLabel]")));
+ * List<Set<Shape>> results = batch.select(model);
+ * }</pre>
+ */
+public final class SelectorBatch {
+
+    private final List<Selector> selectors;
+
+    private SelectorBatch(List<Selector> selectors) {
+        this.selectors = selectors;
+    }
+
+    /**
+     * Creates a batch of selectors.
+     *
+     * @param selectors Selectors to evaluate together.
+     * @return Returns the created batch.
+     */
+    public static SelectorBatch of(Collection<? extends Selector> selectors) {
+        return new SelectorBatch(Collections.unmodifiableList(new ArrayList<>(selectors)));
+    }
+
+    /**
+     * Gets the selectors of the batch.
+     *
+     * @return Returns the selectors in the order they were given.
+     */
+    public List<Selector> getSelectors() {
+        return selectors;
+    }
+
+    /**
+     * Gets the shapes that match each selector of the batch.
+     *
+     * @param model Model to evaluate.
+     * @return Returns the matching shapes of each selector, in the same order as {@link #getSelectors()}.
+     * @see Selector#select(Model)
+     */
+    public List<Set<Shape>> select(Model model) {
+        List<Set<Shape>> result = new ArrayList<>(selectors.size());
+        Context context = new Context(NeighborProviderIndex.of(model));
+        Evaluation evaluation = new Evaluation(context, (index, ctx, shape) -> result.get(index).add(shape));
+
+        for (int i = 0; i < selectors.size(); i++) {
+            Selector selector = selectors.get(i);
+            if (!(selector instanceof WrappedSelector)) {
+                result.add(selector.select(model));
+                continue;
+            }
+
+            SelectorPlanner planner = ((WrappedSelector) selector).getPlanner();
+            SelectorPlanner.Plan plan = planner.plan(model, true);
+            if (plan.isReverse()) {
+                // Reverse plans start from a small index and stop at the
+                // first path they find, so they aren't worth sharing.
+                result.add(planner.selectReverse(model, context, plan));
+            } else {
+                result.add(new HashSet<>());
+                evaluation.add(i, planner, plan);
+            }
+        }
+
+        evaluation.run(model);
+        return result;
+    }
+
+    /**
+     * Sends each match of each selector of the batch to a consumer.
+     *
+     * <p>The consumer receives each match along with the position of the
+     * selector that matched in {@link #getSelectors()}. The matches of a
+     * single selector are received in the same order as
+     * {@link Selector#consumeMatches}, but the matches of different
+     * selectors can be interleaved.
+     *
+     * @param model Model to evaluate.
+     * @param consumer Consumer that receives each match and the position of its selector.
+     */
+    public void consumeMatches(Model model, ObjIntConsumer<Selector.ShapeMatch> consumer) {
+        Evaluation evaluation = new Evaluation(
+                new Context(NeighborProviderIndex.of(model)),
+                (index, ctx, shape) -> consumer.accept(new Selector.ShapeMatch(shape, ctx.getVars()), index));
+
+        for (int i = 0; i < selectors.size(); i++) {
+            Selector selector = selectors.get(i);
+            if (selector instanceof WrappedSelector) {
+                SelectorPlanner planner = ((WrappedSelector) selector).getPlanner();
+                evaluation.add(i, planner, planner.plan(model, false));
+            } else {
+                int index = i;
+                selector.consumeMatches(model, match -> consumer.accept(match, index));
+            }
+        }
+
+        evaluation.run(model);
+    }
+
+    @Override
+    public String toString() {
+        return selectors.toString();
+    }
+
+    /**
+     * Receives each shape matched by a selector of the batch.
+     */
+    @FunctionalInterface
+    private interface Sink {
+        void accept(int index, Context context, Shape shape);
+    }
+
+    /**
+     * The merged pipelines of the selectors of a batch for a single model.
+     */
+    private static final class Evaluation {
+        private final Context context;
+        private final Sink sink;
+
+        // Pipelines that start from shapes found by an index are grouped by
+        // the step that uses the index. Every other pipeline starts from the
+        // children of the unseeded node, which receives every shape.
+        private final Map<String, Node> seeded = new LinkedHashMap<>();
+        private final Node unseeded;
+        private int generation;
+
+        Evaluation(Context context, Sink sink) {
+            this.context = context;
+            this.sink = sink;
+            unseeded = new Node(null, null);
+        }
+
+        void add(int index, SelectorPlanner planner, SelectorPlanner.Plan plan) {
+            List<SelectorPlanner.Step> steps = planner.getSteps(plan);
+            Node node = unseeded;
+            int position = 0;
+
+            if (plan.isSeeded()) {
+                // The first step of a seeded plan is the filter that found
+                // the starting shapes, and filters don't use variables.
+                SelectorPlanner.Step first = steps.get(0);
+                node = seeded.computeIfAbsent(first.getSource(), source -> new Node(first.getSelector(), plan));
+                position = 1;
+            }
+
+            for (; position < steps.size(); position++) {
+                SelectorPlanner.Step step = steps.get(position);
+                if (step.usesVariables()) {
+                    node = node.addChain(steps.subList(position, steps.size()));
+                    break;
+                }
+                node = node.getChild(step);
+            }
+
+            node.addMatch(index);
+        }
+
+        void run(Model model) {
+            for (Node node : seeded.values()) {
+                for (Shape shape : node.plan.getShapes()) {
+                    generation++;
+                    node.receive(shape);
+                }
+            }
+
+            if (!unseeded.children.isEmpty()) {
+                for (Shape shape : model.toSet()) {
+                    generation++;
+                    unseeded.apply(context, shape);
+                }
+            }
+        }
+
+        /**
+         * A step of one or more pipelines that sends the shapes it emits to
+         * the selectors that end at the step and to each following step.
+         */
+        private final class Node implements InternalSelector.Receiver {
+            private final InternalSelector selector;
+            private final SelectorPlanner.Plan plan;
+            private final Map<String, Node> shared = new LinkedHashMap<>();
+            private final List<Node> children = new ArrayList<>();
+            private int[] matches = new int[0];
+
+            // Chains have their own context so that the variables they set
+            // are only seen by the chain. Like evaluating a selector on its
+            // own, the variables are cleared for each starting shape.
+            private Context chainContext;
+            private int chainGeneration;
+
+            Node(InternalSelector selector, SelectorPlanner.Plan plan) {
+                this.selector = selector;
+                this.plan = plan;
+            }
+
+            Node getChild(SelectorPlanner.Step step) {
+                return shared.computeIfAbsent(step.getSource(), source -> {
+                    Node child = new Node(step.getSelector(), null);
+                    children.add(child);
+                    return child;
+                });
+            }
+
+            // The remaining steps of a pipeline that uses variables are
+            // evaluated together and not shared with other pipelines.
+            Node addChain(List<SelectorPlanner.Step> steps) {
+                List<InternalSelector> chain = new ArrayList<>(steps.size());
+                for (SelectorPlanner.Step step : steps) {
+                    chain.add(step.getSelector());
+                }
+                Node child = new Node(AndSelector.of(chain), null);
+                child.chainContext = new Context(context.neighborIndex);
+                children.add(child);
+                return child;
+            }
+
+            void addMatch(int index) {
+                matches = Arrays.copyOf(matches, matches.length + 1);
+                matches[matches.length - 1] = index;
+            }
+
+            void receive(Shape shape) {
+                if (chainContext == null) {
+                    selector.push(context, shape, this);
+                } else {
+                    if (chainGeneration != generation) {
+                        chainContext.clearVars();
+                        chainGeneration = generation;
+                    }
+                    selector.push(chainContext, shape, this);
+                }
+            }
+
+            @Override
+            public boolean apply(Context ctx, Shape shape) {
+                for (int index : matches) {
+                    sink.accept(index, ctx, shape);
+                }
+                for (Node child : children) {
+                    child.receive(shape);
+                }
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.selector;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Decides when a selector evaluates the shapes it starts from in parallel.
+ *
+ * <p>Parallel evaluation splits the starting shapes into chunks that are
+ * evaluated by a {@link ForkJoinPool}, where idle workers steal chunks
+ * from busy workers. Each chunk is evaluated with its own evaluation
+ * state, and the results of each chunk are merged once the chunk is done
+ * rather than shared while evaluating. The results are the same as
+ * evaluating sequentially, and the matches given to
+ * {@link Selector#consumeMatches} are received on the calling thread in
+ * the same order.
+ *
+ * <p>Selectors are always evaluated sequentially while the current thread
+ * is computing a {@link software.amazon.smithy.model.knowledge.KnowledgeIndex}.
+ *
+ * <pre>{@code
+ * Selector selector = Selector.parse("structure > member")
+ *         .withParallelism(SelectorParallelism.threshold(1000));
+ * }</pre>
+ */
+public final class SelectorParallelism {
+
+    /** Evaluates in parallel when starting from at least 10,000 shapes. */
+    public static final SelectorParallelism DEFAULT = threshold(10000);
+
+    /** Never evaluates in parallel. */
+    public static final SelectorParallelism SEQUENTIAL = threshold(Integer.MAX_VALUE);
+
+    // Chunks smaller than this don't do enough work to be worth forking.
+    private static final int MIN_CHUNK_SIZE = 256;
+
+    // Each worker gets about this many chunks so that workers that finish
+    // early can steal work from workers that get expensive shapes.
+    private static final int CHUNKS_PER_WORKER = 8;
+
+    private final int threshold;
+    private final ForkJoinPool pool;
+
+    private SelectorParallelism(int threshold, ForkJoinPool pool) {
+        this.threshold = threshold;
+        this.pool = pool;
+    }
+
+    /**
+     * Creates a policy that evaluates in parallel using the common pool
+     * when a selector starts from at least the given number of shapes.
+     *
+     * @param minimumShapes Minimum number of starting shapes to evaluate in parallel.
+     * @return Returns the created policy.
+     */
+    public static SelectorParallelism threshold(int minimumShapes) {
+        if (minimumShapes < 1) {
+            throw new IllegalArgumentException("minimumShapes must be greater than 0: " + minimumShapes);
+        }
+        return new SelectorParallelism(minimumShapes, null);
+    }
+
+    /**
+     * Creates a copy of the policy that evaluates in the given pool.
+     *
+     * @param pool Pool used to evaluate in parallel.
+     * @return Returns the created policy.
+     */
+    public SelectorParallelism withPool(ForkJoinPool pool) {
+        return new SelectorParallelism(threshold, Objects.requireNonNull(pool));
+    }
+
+    /**
+     * Gets the minimum number of starting shapes evaluated in parallel.
+     *
+     * @return Returns the threshold.
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Gets the pool used to evaluate in parallel.
+     *
+     * @return Returns the pool, which is the common pool unless set.
+     */
+    public ForkJoinPool getPool() {
+        return pool == null ? ForkJoinPool.commonPool() : pool;
+    }
+
+    /**
+     * Checks if evaluation starting from the given number of shapes is
+     * done in parallel.
+     *
+     * @param startingShapes Number of shapes evaluation starts from.
+     * @return Returns true to evaluate in parallel.
+     */
+    public boolean isParallel(int startingShapes) {
+        return startingShapes >= threshold && getPool().getParallelism() > 1;
+    }
+
+    /**
+     * Gets the number of starting shapes evaluated by each chunk.
+     *
+     * @param startingShapes Number of shapes evaluation starts from.
+     * @return Returns the chunk size.
+     */
+    int getChunkSize(int startingShapes) {
+        return Math.max(MIN_CHUNK_SIZE, startingShapes / (getPool().getParallelism() * CHUNKS_PER_WORKER));
+    }
+}
@@ -18,7 +18,9 @@ package software.amazon.smithy.model.selector;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
 import software.amazon.smithy.model.loader.ParserUtils;
@@ -40,6 +42,18 @@ final class SelectorParser extends SimpleParser {
     private static final Set<Character> BREAK_TOKENS = SetUtils.of(',', ']', ')');
     private static final Set<String> REL_TYPES = new HashSet<>();
 
+    // Selectors are immutable, so the selectors parsed from frequently used
+    // expressions are reused. Use an LRU cache to ensure the cache doesn't
+    // grow too large when given many distinct expressions.
+    private static final int CACHE_SIZE = 1024;
+    private static final Map<String, Selector> CACHE = new LinkedHashMap<String, Selector>(
+            CACHE_SIZE + 1, .75F, true) {
+        @Override
+        public boolean removeEldestEntry(Map.Entry<String, Selector> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
     static {
         // Adds selector relationship labels for warnings when unknown relationship names are used.
         for (RelationshipType rel : RelationshipType.values()) {
@@ -47,30 +61,51 @@ final class SelectorParser extends SimpleParser {
         }
     }
 
+    // The number of variable references and assignments parsed so far. This
+    // is used to detect if the arguments of a function use variables.
+    private int variableReferences;
+
     private SelectorParser(String selector) {
         super(selector);
     }
 
     static Selector parse(String selector) {
-        return new WrappedSelector(selector, new SelectorParser(selector).parse());
-    }
+        Selector result;
+        synchronized (CACHE) {
+            result = CACHE.get(selector);
+        }
 
-    List<InternalSelector> parse() {
-        return recursiveParse();
+        if (result == null) {
+            SelectorParser parser = new SelectorParser(selector);
+            List<SelectorPlanner.Step> steps = new ArrayList<>();
+            parser.recursiveParse(steps);
+            result = new WrappedSelector(selector, steps);
+            synchronized (CACHE) {
+                CACHE.put(selector, result);
+            }
+        }
+
+        return result;
     }
 
     private List<InternalSelector> recursiveParse() {
+        return recursiveParse(null);
+    }
+
+    // When steps is not null, each parsed selector is also added to it
+    // along with the text it was parsed from.
+    private List<InternalSelector> recursiveParse(List<SelectorPlanner.Step> steps) {
         List<InternalSelector> selectors = new ArrayList<>();
 
         // createSelector() will strip leading ws.
-        selectors.add(createSelector());
+        selectors.add(createSelector(steps));
 
         // Need to always strip after calling createSelector in case we are at EOF.
         ws();
 
         // Parse until a break token: ",", "]", and ")".
         while (!eof() && !BREAK_TOKENS.contains(peek())) {
-            selectors.add(createSelector());
+            selectors.add(createSelector(steps));
             // Always skip ws after calling createSelector.
             ws();
         }
@@ -78,6 +113,20 @@ final class SelectorParser extends SimpleParser {
         return selectors;
     }
 
+    private InternalSelector createSelector(List<SelectorPlanner.Step> steps) {
+        if (steps == null) {
+            return createSelector();
+        }
+
+        ws();
+        int start = position();
+        int previousVariableReferences = variableReferences;
+        InternalSelector selector = createSelector();
+        boolean usesVariables = variableReferences != previousVariableReferences;
+        steps.add(new SelectorPlanner.Step(selector, sliceFrom(start), usesVariables));
+        return selector;
+    }
+
     private InternalSelector createSelector() {
         ws();
 
@@ -149,6 +198,7 @@ final class SelectorParser extends SimpleParser {
     }
 
     private InternalSelector parseVariable() {
+        variableReferences++;
         ws();
 
         if (peek() == '{') {
@@ -214,7 +264,9 @@ final class SelectorParser extends SimpleParser {
     private InternalSelector parseSelectorFunction() {
         int functionPosition = position();
         String name = ParserUtils.parseIdentifier(this);
+        int previousVariableReferences = variableReferences;
         List<InternalSelector> selectors = parseSelectorFunctionArgs();
+        boolean usesVariables = variableReferences != previousVariableReferences;
         switch (name) {
             case "not":
                 if (selectors.size() != 1) {
@@ -222,9 +274,9 @@ final class SelectorParser extends SimpleParser {
                             "The :not function requires a single selector argument",
                             expression(), functionPosition, line(), column());
                 }
-                return new NotSelector(selectors.get(0));
+                return new NotSelector(selectors.get(0), !usesVariables);
             case "test":
-                return new TestSelector(selectors);
+                return new TestSelector(selectors, !usesVariables);
             case "is":
                 return IsSelector.of(selectors);
             case "topdown":
@@ -262,6 +314,7 @@ final class SelectorParser extends SimpleParser {
     private InternalSelector parseAttribute() {
         ws();
         List<String> path = parseAttributePath();
+        countVariableReference(path);
         ws();
         char next = expect(']', '=', '!', '^', '$', '*', '?', '>', '<');
 
@@ -358,6 +411,7 @@ final class SelectorParser extends SimpleParser {
     private InternalSelector parseScopedAttribute() {
         ws();
         List<String> path = parseAttributePath();
+        countVariableReference(path);
         ws();
         expect(':');
         ws();
@@ -403,6 +457,7 @@ final class SelectorParser extends SimpleParser {
         ws();
         if (peek() == '@') {
             List<String> path = parseScopedValuePath(this);
+            countVariableReference(path);
             ws();
             return value -> value.getPath(path);
         } else {
@@ -430,6 +485,12 @@ final class SelectorParser extends SimpleParser {
         return path;
     }
 
+    private void countVariableReference(List<String> path) {
+        if (!path.isEmpty() && path.get(0).equals("var")) {
+            variableReferences++;
+        }
+    }
+
     private List<String> parseAttributeValues() {
         List<String> result = new ArrayList<>();
         result.add(parseAttributeValue(this));
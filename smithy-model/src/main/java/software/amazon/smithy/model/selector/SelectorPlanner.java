@@ -0,0 +1,385 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.selector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.ShapeBitSet;
+import software.amazon.smithy.model.knowledge.ShapeOrdinalIndex;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * Plans how the selectors parsed from an expression are evaluated.
+ *
+ * <p>Selectors are evaluated by pushing starting shapes through a pipeline
+ * of selectors. The planner makes this cheaper in a few ways:
+ *
+ * <ul>
+ *     <li>Adjacent filters are reordered so that cheap filters, like shape
+ *     type checks, run before more expensive filters.</li>
+ *     <li>Rather than starting from every shape in the model, evaluation
+ *     starts from the smallest set of shapes that any of the leading
+ *     filters can match, found using indexes like
+ *     {@link Model#getShapesWithTrait}.</li>
+ *     <li>When only the matching shapes are needed, pipelines that only
+ *     contain filters and neighbor traversals can be evaluated in reverse.
+ *     Shapes that can match the trailing filters are found using an index,
+ *     and each shape is kept if the traversals can be followed backwards
+ *     to a shape that matches the leading filters. This is used when the
+ *     trailing filters match no more shapes than the leading filters.</li>
+ * </ul>
+ */
+final class SelectorPlanner {
+
+    private final List<Step> steps;
+    private final InternalSelector pipeline;
+    private final List<Step> leadingFilters;
+
+    // These are only set when the pipeline can be evaluated in reverse.
+    // Segment i contains the filters that follow traversal i - 1, or null
+    // if there are no filters.
+    private final InternalSelector[] segments;
+    private final AbstractNeighborSelector[] traversals;
+    private final List<Step> trailingFilters;
+
+    SelectorPlanner(List<Step> parsed) {
+        steps = reorderFilters(parsed);
+        List<InternalSelector> reordered = new ArrayList<>(steps.size());
+        for (Step step : steps) {
+            reordered.add(step.selector);
+        }
+        pipeline = AndSelector.of(reordered);
+        leadingFilters = filtersFrom(0);
+
+        List<Integer> traversalPositions = findInvertibleTraversals();
+        if (traversalPositions == null) {
+            segments = null;
+            traversals = null;
+            trailingFilters = null;
+        } else {
+            traversals = new AbstractNeighborSelector[traversalPositions.size()];
+            segments = new InternalSelector[traversals.length + 1];
+            segments[0] = segment(leadingFilters);
+            for (int i = 0; i < traversals.length; i++) {
+                int position = traversalPositions.get(i);
+                traversals[i] = (AbstractNeighborSelector) steps.get(position).selector;
+                segments[i + 1] = segment(filtersFrom(position + 1));
+            }
+            trailingFilters = filtersFrom(traversalPositions.get(traversals.length - 1) + 1);
+        }
+    }
+
+    /**
+     * Gets the pipeline of selectors to push starting shapes through.
+     *
+     * @return Returns the pipeline.
+     */
+    InternalSelector getPipeline() {
+        return pipeline;
+    }
+
+    /**
+     * Checks if every step of the pipeline is a filter, meaning a shape
+     * matches the selector if it's in the model and passes every filter.
+     *
+     * @return Returns true if the pipeline only contains filters.
+     */
+    boolean isFilter() {
+        return leadingFilters.size() == steps.size();
+    }
+
+    /**
+     * Gets the steps of the pipeline in the order a forward plan evaluates
+     * them.
+     *
+     * <p>The step that finds the starting shapes of the plan is moved to
+     * the front. It is one of the leading filters, so this doesn't change
+     * the result of the pipeline.
+     *
+     * @param plan Forward plan being evaluated.
+     * @return Returns the ordered steps.
+     */
+    List<Step> getSteps(Plan plan) {
+        if (plan.start == null || steps.get(0) == plan.start) {
+            return steps;
+        }
+        List<Step> result = new ArrayList<>(steps.size());
+        result.add(plan.start);
+        for (Step step : steps) {
+            if (step != plan.start) {
+                result.add(step);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Chooses how to evaluate the selector against a model.
+     *
+     * @param model Model to evaluate.
+     * @param allowReverse Set to true if only the matching shapes are needed, allowing reverse evaluation.
+     * @return Returns the plan.
+     */
+    Plan plan(Model model, boolean allowReverse) {
+        Plan forward = cheapestStart(model, leadingFilters, false);
+        if (forward == null) {
+            forward = new Plan(model.toSet(), null, false);
+        }
+
+        if (allowReverse && traversals != null) {
+            Plan reverse = cheapestStart(model, trailingFilters, true);
+            // Forward evaluation visits every neighbor of each shape while
+            // reverse evaluation stops at the first path it finds, so reverse
+            // evaluation is used unless it starts from more shapes.
+            if (reverse != null && reverse.shapes.size() <= forward.shapes.size()) {
+                return reverse;
+            }
+        }
+
+        return forward;
+    }
+
+    /**
+     * Evaluates a reverse plan.
+     *
+     * @param model Model being evaluated.
+     * @param context Context to evaluate filters with.
+     * @param plan Reverse plan to evaluate.
+     * @return Returns the matching shapes.
+     */
+    Set<Shape> selectReverse(Model model, Context context, Plan plan) {
+        ReverseEvaluation evaluation = new ReverseEvaluation(context, ShapeOrdinalIndex.of(model));
+        Set<Shape> result = new HashSet<>();
+        for (Shape shape : plan.shapes) {
+            if (evaluation.reaches(traversals.length, shape)) {
+                result.add(shape);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Describes the plan chosen for a model.
+     *
+     * @param model Model being evaluated.
+     * @param expression Selector expression.
+     * @return Returns the description of the plan.
+     */
+    String explain(Model model, String expression) {
+        Plan plan = plan(model, true);
+        StringBuilder result = new StringBuilder();
+        result.append("Selector: ").append(expression).append('\n');
+        result.append("Direction: ").append(plan.reverse ? "reverse" : "forward").append('\n');
+        result.append("Start: ").append(plan.start == null ? "all shapes" : plan.start.source)
+                .append(" (").append(plan.shapes.size()).append(" of ")
+                .append(model.getShapeIds().size()).append(" shapes)\n");
+        result.append("Steps:");
+        for (Step step : steps) {
+            result.append("\n  ").append(step.source);
+        }
+        return result.toString();
+    }
+
+    // Sorts each run of adjacent filters by cost. The sort is stable, so
+    // filters with the same cost stay in the order they were written.
+    private static List<Step> reorderFilters(List<Step> steps) {
+        List<Step> result = new ArrayList<>(steps.size());
+        List<Step> run = new ArrayList<>();
+        for (Step step : steps) {
+            if (step.selector.isFilter()) {
+                run.add(step);
+            } else {
+                flushFilters(run, result);
+                result.add(step);
+            }
+        }
+        flushFilters(run, result);
+        return result;
+    }
+
+    private static void flushFilters(List<Step> run, List<Step> result) {
+        run.sort(Comparator.comparingInt(step -> filterCost(step.selector)));
+        result.addAll(run);
+        run.clear();
+    }
+
+    private static int filterCost(InternalSelector filter) {
+        if (filter instanceof ShapeTypeSelector || filter instanceof ShapeTypeCategorySelector) {
+            return 0;
+        } else if (filter instanceof AttributeSelector) {
+            return 1;
+        } else {
+            return 2;
+        }
+    }
+
+    private List<Step> filtersFrom(int position) {
+        int end = position;
+        while (end < steps.size() && steps.get(end).selector.isFilter()) {
+            end++;
+        }
+        return steps.subList(position, end);
+    }
+
+    private static InternalSelector segment(List<Step> filters) {
+        if (filters.isEmpty()) {
+            return null;
+        }
+        List<InternalSelector> selectors = new ArrayList<>(filters.size());
+        for (Step step : filters) {
+            selectors.add(step.selector);
+        }
+        return AndSelector.of(selectors);
+    }
+
+    // Finds the positions of every traversal if the pipeline only contains
+    // filters and traversals that can be inverted, or returns null.
+    private List<Integer> findInvertibleTraversals() {
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < steps.size(); i++) {
+            InternalSelector selector = steps.get(i).selector;
+            if (selector instanceof AbstractNeighborSelector && ((AbstractNeighborSelector) selector).isInvertible()) {
+                positions.add(i);
+            } else if (!selector.isFilter()) {
+                return null;
+            }
+        }
+        return positions.isEmpty() ? null : positions;
+    }
+
+    private static Plan cheapestStart(Model model, List<Step> filters, boolean reverse) {
+        Plan result = null;
+        for (Step step : filters) {
+            Function<Model, Collection<? extends Shape>> optimizer = step.selector.optimize();
+            if (optimizer != null) {
+                Collection<? extends Shape> shapes = optimizer.apply(model);
+                if (result == null || shapes.size() < result.shapes.size()) {
+                    result = new Plan(shapes, step, reverse);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A selector, the text it was parsed from, and whether it uses
+     * variables.
+     */
+    static final class Step {
+        private final InternalSelector selector;
+        private final String source;
+        private final boolean usesVariables;
+
+        Step(InternalSelector selector, String source, boolean usesVariables) {
+            this.selector = selector;
+            this.source = source;
+            this.usesVariables = usesVariables;
+        }
+
+        InternalSelector getSelector() {
+            return selector;
+        }
+
+        String getSource() {
+            return source;
+        }
+
+        boolean usesVariables() {
+            return usesVariables;
+        }
+    }
+
+    /**
+     * The shapes to start evaluating a selector from, and the direction
+     * to evaluate the selector in.
+     */
+    static final class Plan {
+        private final Collection<? extends Shape> shapes;
+        private final Step start;
+        private final boolean reverse;
+
+        private Plan(Collection<? extends Shape> shapes, Step start, boolean reverse) {
+            this.shapes = shapes;
+            this.start = start;
+            this.reverse = reverse;
+        }
+
+        Collection<? extends Shape> getShapes() {
+            return shapes;
+        }
+
+        boolean isReverse() {
+            return reverse;
+        }
+
+        boolean isSeeded() {
+            return start != null;
+        }
+    }
+
+    /**
+     * Follows traversals backwards, remembering the result of each shape
+     * checked at each segment of the pipeline.
+     */
+    private final class ReverseEvaluation {
+        private final Context context;
+        private final ShapeOrdinalIndex ordinals;
+        private final ShapeBitSet[] checked;
+        private final ShapeBitSet[] reached;
+
+        // The sets of each segment are created when first needed since
+        // most evaluations only check a few shapes of a large model.
+        ReverseEvaluation(Context context, ShapeOrdinalIndex ordinals) {
+            this.context = context;
+            this.ordinals = ordinals;
+            checked = new ShapeBitSet[segments.length];
+            reached = new ShapeBitSet[segments.length];
+        }
+
+        // Checks if a shape matches the filters of a segment, and if it can
+        // be reached from a shape that matches the filters of the previous
+        // segment, and so on until the leading filters are reached.
+        boolean reaches(int segment, Shape shape) {
+            int ordinal = ordinals.getOrdinal(shape);
+            if (ordinal != -1 && checked[segment] != null && checked[segment].containsOrdinal(ordinal)) {
+                return reached[segment].containsOrdinal(ordinal);
+            }
+
+            boolean result = (segments[segment] == null || context.receivedShapes(shape, segments[segment]))
+                    && (segment == 0 || !traversals[segment - 1].pushInverse(
+                            context, shape, (ctx, previous) -> !reaches(segment - 1, previous)));
+
+            if (ordinal != -1) {
+                if (checked[segment] == null) {
+                    checked[segment] = new ShapeBitSet(ordinals);
+                    reached[segment] = new ShapeBitSet(ordinals);
+                }
+                checked[segment].addOrdinal(ordinal);
+                if (result) {
+                    reached[segment].addOrdinal(ordinal);
+                }
+            }
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.selector;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.shapes.Shape;
+
+/**
+ * Memoizes the shapes that match selectors in a model.
+ *
+ * <p>Many parts of validation evaluate the same selectors against the same
+ * model, like the selectors of trait definitions and {@code idRef} traits.
+ * This index evaluates each parsed selector expression once per model and
+ * returns the same unmodifiable set each time. The most recently used
+ * results are kept, up to a fixed number of selectors, so that a model
+ * with many distinct selectors doesn't retain every result.
+ *
+ * <p>This index is thread safe. Selectors that weren't created by
+ * {@link Selector#parse} aren't memoized since their results can't be
+ * identified by their expression.
+ */
+public final class SelectorResultIndex implements KnowledgeIndex {
+
+    private static final int MAXIMUM_SIZE = 256;
+
+    private final WeakReference<Model> model;
+    private final Map<String, Set<Shape>> results = new LinkedHashMap<String, Set<Shape>>(
+            MAXIMUM_SIZE + 1, .75F, true) {
+        @Override
+        public boolean removeEldestEntry(Map.Entry<String, Set<Shape>> eldest) {
+            return size() > MAXIMUM_SIZE;
+        }
+    };
+
+    public SelectorResultIndex(Model model) {
+        // Store a WeakReference to the model since results are computed
+        // lazily and the model stores this index.
+        this.model = new WeakReference<>(model);
+    }
+
+    public static SelectorResultIndex of(Model model) {
+        return model.getKnowledge(SelectorResultIndex.class, SelectorResultIndex::new);
+    }
+
+    /**
+     * Gets the shapes that match a selector.
+     *
+     * @param selector Selector to evaluate.
+     * @return Returns the unmodifiable set of matching shapes.
+     */
+    public Set<Shape> select(Selector selector) {
+        if (selector instanceof IdentitySelector) {
+            return getOrThrowModel().toSet();
+        } else if (!(selector instanceof WrappedSelector)) {
+            return Collections.unmodifiableSet(selector.select(getOrThrowModel()));
+        }
+
+        String expression = selector.toString();
+        Set<Shape> result;
+        synchronized (results) {
+            result = results.get(expression);
+        }
+
+        if (result == null) {
+            // The selector is evaluated without holding the lock so that
+            // different selectors can be evaluated at the same time. If two
+            // threads evaluate the same selector, the first result is kept.
+            Set<Shape> computed = Collections.unmodifiableSet(selector.select(getOrThrowModel()));
+            synchronized (results) {
+                result = results.putIfAbsent(expression, computed);
+            }
+            if (result == null) {
+                result = computed;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the shapes that match a selector expression.
+     *
+     * @param expression Selector expression to parse and evaluate.
+     * @return Returns the unmodifiable set of matching shapes.
+     * @throws SelectorSyntaxException if the expression is invalid.
+     */
+    public Set<Shape> select(String expression) {
+        return select(Selector.parse(expression));
+    }
+
+    /**
+     * Checks if a shape of the model matches a selector.
+     *
+     * <p>Selectors that are made entirely of filters, like
+     * {@code :is(structure, union)} or {@code [trait|error]}, are checked
+     * against the shape directly rather than evaluated against the entire
+     * model.
+     *
+     * @param selector Selector to check.
+     * @param shape Shape to check.
+     * @return Returns true if {@link #select} contains the shape.
+     */
+    public boolean matches(Selector selector, Shape shape) {
+        if (selector instanceof WrappedSelector) {
+            SelectorPlanner planner = ((WrappedSelector) selector).getPlanner();
+            if (planner.isFilter()) {
+                Model current = getOrThrowModel();
+                return current.getShape(shape.getId()).filter(shape::equals).isPresent()
+                       && new Context(NeighborProviderIndex.of(current)).receivedShapes(shape, planner.getPipeline());
+            }
+        }
+
+        return select(selector).contains(shape);
+    }
+
+    private Model getOrThrowModel() {
+        return Objects.requireNonNull(model.get(), "Model was destroyed before using this knowledge index");
+    }
+}
@@ -32,4 +32,9 @@ final class ShapeTypeCategorySelector implements InternalSelector {
 
         return true;
     }
+
+    @Override
+    public boolean isFilter() {
+        return true;
+    }
 }
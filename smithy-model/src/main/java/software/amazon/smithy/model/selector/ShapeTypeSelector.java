@@ -38,6 +38,11 @@ final class ShapeTypeSelector implements InternalSelector {
         return true;
     }
 
+    @Override
+    public boolean isFilter() {
+        return true;
+    }
+
     @Override
     public Function<Model, Collection<? extends Shape>> optimize() {
         return model -> model.toSet(shapeType.getShapeClass());
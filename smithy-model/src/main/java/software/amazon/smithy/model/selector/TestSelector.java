@@ -26,9 +26,11 @@ import software.amazon.smithy.model.shapes.Shape;
  */
 final class TestSelector implements InternalSelector {
     private final List<InternalSelector> selectors;
+    private final boolean filter;
 
-    TestSelector(List<InternalSelector> selectors) {
+    TestSelector(List<InternalSelector> selectors, boolean filter) {
         this.selectors = selectors;
+        this.filter = filter;
     }
 
     @Override
@@ -44,4 +46,9 @@ final class TestSelector implements InternalSelector {
         // since it should to continue to receive shapes to test.
         return true;
     }
+
+    @Override
+    public boolean isFilter() {
+        return filter;
+    }
 }
@@ -16,13 +16,11 @@
 package software.amazon.smithy.model.selector;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Consumer;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
@@ -33,17 +31,25 @@ import software.amazon.smithy.model.shapes.Shape;
  */
 final class WrappedSelector implements Selector {
 
-    /** Uses parallel streams when the model size exceeds this number. */
-    private static final int PARALLEL_THRESHOLD = 10000;
+    private static final ParallelPush.Accumulator<Set<Shape>> SHAPES = new ShapeAccumulator();
+    private static final ParallelPush.Accumulator<List<ShapeMatch>> MATCHES = new MatchAccumulator();
 
     private final String expression;
-    private final InternalSelector delegate;
-    private final Function<Model, Collection<? extends Shape>> optimizer;
+    private final SelectorPlanner planner;
+    private final SelectorParallelism parallelism;
 
-    WrappedSelector(String expression, List<InternalSelector> selectors) {
+    WrappedSelector(String expression, List<SelectorPlanner.Step> steps) {
+        this(expression, new SelectorPlanner(steps), SelectorParallelism.DEFAULT);
+    }
+
+    private WrappedSelector(String expression, SelectorPlanner planner, SelectorParallelism parallelism) {
         this.expression = expression;
-        delegate = AndSelector.of(selectors);
-        optimizer = selectors.get(0).optimize();
+        this.planner = planner;
+        this.parallelism = parallelism;
+    }
+
+    SelectorPlanner getPlanner() {
+        return planner;
     }
 
     @Override
@@ -63,13 +69,16 @@ final class WrappedSelector implements Selector {
 
     @Override
     public Set<Shape> select(Model model) {
-        if (isParallel(model)) {
-            return shapes(model).collect(Collectors.toSet());
+        SelectorPlanner.Plan plan = planner.plan(model, true);
+        if (plan.isReverse()) {
+            return planner.selectReverse(model, createContext(model), plan);
+        } else if (isParallel(plan)) {
+            return pushShapesInParallel(model, plan, SHAPES);
         } else {
             Set<Shape> result = new HashSet<>();
             // This is more optimized than using shapes() for smaller models
             // that aren't parallelized.
-            pushShapes(model, (ctx, s) -> {
+            pushShapes(model, plan, (ctx, s) -> {
                 result.add(s);
                 return true;
             });
@@ -79,10 +88,18 @@ final class WrappedSelector implements Selector {
 
     @Override
     public void consumeMatches(Model model, Consumer<ShapeMatch> shapeMatchConsumer) {
+        SelectorPlanner.Plan plan = planner.plan(model, false);
+        if (isParallel(plan)) {
+            // Matches are buffered by each chunk and then received on this
+            // thread in the same order as sequential evaluation.
+            pushShapesInParallel(model, plan, MATCHES).forEach(shapeMatchConsumer);
+            return;
+        }
+
         // This is more optimized than using matches() and collecting to a Set
         // because it avoids creating streams and buffering the result of
         // pushing each shape into internal selectors.
-        pushShapes(model, (ctx, s) -> {
+        pushShapes(model, plan, (ctx, s) -> {
             shapeMatchConsumer.accept(new ShapeMatch(s, ctx.getVars()));
             return true;
         });
@@ -90,10 +107,16 @@ final class WrappedSelector implements Selector {
 
     @Override
     public Stream<Shape> shapes(Model model) {
-        return streamStartingShape(model).flatMap(shape -> {
-            List<Shape> result = new ArrayList<>();
-            delegate.push(createContext(model), shape, (ctx, s) -> {
-                result.add(s);
+        return shapes(model, planner.plan(model, false));
+    }
+
+    @Override
+    public Stream<ShapeMatch> matches(Model model) {
+        InternalSelector pipeline = planner.getPipeline();
+        return streamStartingShape(model, planner.plan(model, false)).flatMap(shape -> {
+            List<ShapeMatch> result = new ArrayList<>();
+            pipeline.push(createContext(model), shape, (ctx, s) -> {
+                result.add(new ShapeMatch(s, ctx.getVars()));
                 return true;
             });
             return result.stream();
@@ -101,11 +124,21 @@ final class WrappedSelector implements Selector {
     }
 
     @Override
-    public Stream<ShapeMatch> matches(Model model) {
-        return streamStartingShape(model).flatMap(shape -> {
-            List<ShapeMatch> result = new ArrayList<>();
-            delegate.push(createContext(model), shape, (ctx, s) -> {
-                result.add(new ShapeMatch(s, ctx.getVars()));
+    public String explain(Model model) {
+        return planner.explain(model, expression);
+    }
+
+    @Override
+    public Selector withParallelism(SelectorParallelism parallelism) {
+        return new WrappedSelector(expression, planner, Objects.requireNonNull(parallelism));
+    }
+
+    private Stream<Shape> shapes(Model model, SelectorPlanner.Plan plan) {
+        InternalSelector pipeline = planner.getPipeline();
+        return streamStartingShape(model, plan).flatMap(shape -> {
+            List<Shape> result = new ArrayList<>();
+            pipeline.push(createContext(model), shape, (ctx, s) -> {
+                result.add(s);
                 return true;
             });
             return result.stream();
@@ -116,30 +149,85 @@ final class WrappedSelector implements Selector {
         return new Context(NeighborProviderIndex.of(model));
     }
 
-    private void pushShapes(Model model, InternalSelector.Receiver acceptor) {
+    private void pushShapes(Model model, SelectorPlanner.Plan plan, InternalSelector.Receiver acceptor) {
         Context context = createContext(model);
-        Collection<? extends Shape> shapes = optimizer == null
-                ? model.toSet()
-                : optimizer.apply(model);
-        for (Shape shape : shapes) {
-            delegate.push(context.clearVars(), shape, acceptor);
+        InternalSelector pipeline = planner.getPipeline();
+        for (Shape shape : plan.getShapes()) {
+            pipeline.push(context.clearVars(), shape, acceptor);
         }
     }
 
-    private Stream<? extends Shape> streamStartingShape(Model model) {
-        Stream<? extends Shape> stream = optimizer != null
-                ? optimizer.apply(model).stream()
-                : model.shapes();
+    private <R> R pushShapesInParallel(
+            Model model,
+            SelectorPlanner.Plan plan,
+            ParallelPush.Accumulator<R> accumulator
+    ) {
+        Shape[] shapes = plan.getShapes().toArray(new Shape[0]);
+        return parallelism.getPool().invoke(new ParallelPush<>(
+                planner.getPipeline(), NeighborProviderIndex.of(model), accumulator,
+                shapes, 0, shapes.length, parallelism.getChunkSize(shapes.length)));
+    }
+
+    private Stream<? extends Shape> streamStartingShape(Model model, SelectorPlanner.Plan plan) {
+        Stream<? extends Shape> stream = plan.getShapes().stream();
 
-        // Use a parallel stream for larger models.
-        if (isParallel(model)) {
+        // Use a parallel stream when starting from many shapes.
+        if (isParallel(plan)) {
             stream = stream.parallel();
         }
 
         return stream;
     }
 
-    private boolean isParallel(Model model) {
-        return model.getShapeIds().size() >= PARALLEL_THRESHOLD;
+    private boolean isParallel(SelectorPlanner.Plan plan) {
+        // Selectors evaluated while computing a knowledge index are evaluated
+        // sequentially so that the thread doesn't run tasks that need the index.
+        return parallelism.isParallel(plan.getShapes().size()) && !Model.isComputingKnowledge();
+    }
+
+    private static final class ShapeAccumulator implements ParallelPush.Accumulator<Set<Shape>> {
+        @Override
+        public Set<Shape> create() {
+            return new HashSet<>();
+        }
+
+        @Override
+        public InternalSelector.Receiver receiver(Set<Shape> result) {
+            return (ctx, s) -> {
+                result.add(s);
+                return true;
+            };
+        }
+
+        @Override
+        public Set<Shape> merge(Set<Shape> first, Set<Shape> second) {
+            if (first.size() < second.size()) {
+                second.addAll(first);
+                return second;
+            }
+            first.addAll(second);
+            return first;
+        }
+    }
+
+    private static final class MatchAccumulator implements ParallelPush.Accumulator<List<ShapeMatch>> {
+        @Override
+        public List<ShapeMatch> create() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public InternalSelector.Receiver receiver(List<ShapeMatch> result) {
+            return (ctx, s) -> {
+                result.add(new ShapeMatch(s, ctx.getVars()));
+                return true;
+            };
+        }
+
+        @Override
+        public List<ShapeMatch> merge(List<ShapeMatch> first, List<ShapeMatch> second) {
+            first.addAll(second);
+            return first;
+        }
     }
 }
@@ -204,7 +204,8 @@ public abstract class AbstractShapeBuilder<B extends AbstractShapeBuilder<?, ?>,
     final B from(S shape) {
         return (B) id(shape.getId())
                 .source(shape.getSourceLocation())
-                .addTraits(shape.getAllTraits().values());
+                // Copy lazy traits as-is so that they're only created when needed.
+                .addTraits(LazyTraitMap.unwrap(shape.getAllTraits()).values());
     }
 
     /**
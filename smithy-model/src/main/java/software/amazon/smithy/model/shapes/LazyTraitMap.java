@@ -0,0 +1,136 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.shapes;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import software.amazon.smithy.model.traits.LazyTrait;
+import software.amazon.smithy.model.traits.Trait;
+
+/**
+ * An immutable map of traits that contains {@link LazyTrait}s, creating
+ * each trait the first time it's accessed.
+ */
+final class LazyTraitMap extends AbstractMap<ShapeId, Trait> {
+
+    private final Map<ShapeId, Trait> traits;
+    private Set<Entry<ShapeId, Trait>> entrySet;
+
+    private LazyTraitMap(Map<ShapeId, Trait> traits) {
+        this.traits = traits;
+    }
+
+    /**
+     * Wraps the given traits if they contain any lazy traits.
+     *
+     * @param traits Traits to wrap.
+     * @return Returns the wrapped traits, or the given traits if none are lazy.
+     */
+    static Map<ShapeId, Trait> wrap(Map<ShapeId, Trait> traits) {
+        for (Trait trait : traits.values()) {
+            if (trait instanceof LazyTrait) {
+                return new LazyTraitMap(traits);
+            }
+        }
+        return traits;
+    }
+
+    /**
+     * Gets the traits without creating any lazy traits.
+     *
+     * @param traits Traits to unwrap.
+     * @return Returns the unwrapped traits.
+     */
+    static Map<ShapeId, Trait> unwrap(Map<ShapeId, Trait> traits) {
+        return traits instanceof LazyTraitMap ? ((LazyTraitMap) traits).traits : traits;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T extends Trait> Optional<T> getTrait(Class<T> traitClass) {
+        for (Trait trait : traits.values()) {
+            if (trait instanceof LazyTrait) {
+                LazyTrait lazy = (LazyTrait) trait;
+                if (!lazy.mayBeInstanceOf(traitClass)) {
+                    continue;
+                }
+                trait = lazy.get();
+            }
+            if (traitClass.isInstance(trait)) {
+                return Optional.of((T) trait);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Trait get(Object key) {
+        return materialize(traits.get(key));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return traits.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return traits.size();
+    }
+
+    @Override
+    public Set<ShapeId> keySet() {
+        return traits.keySet();
+    }
+
+    @Override
+    public Set<Entry<ShapeId, Trait>> entrySet() {
+        Set<Entry<ShapeId, Trait>> result = entrySet;
+        if (result == null) {
+            entrySet = result = new AbstractSet<Entry<ShapeId, Trait>>() {
+                @Override
+                public Iterator<Entry<ShapeId, Trait>> iterator() {
+                    Iterator<Entry<ShapeId, Trait>> delegate = traits.entrySet().iterator();
+                    return new Iterator<Entry<ShapeId, Trait>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return delegate.hasNext();
+                        }
+
+                        @Override
+                        public Entry<ShapeId, Trait> next() {
+                            Entry<ShapeId, Trait> entry = delegate.next();
+                            return new SimpleImmutableEntry<>(entry.getKey(), materialize(entry.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return traits.size();
+                }
+            };
+        }
+        return result;
+    }
+
+    private static Trait materialize(Trait trait) {
+        return trait instanceof LazyTrait ? ((LazyTrait) trait).get() : trait;
+    }
+}
@@ -59,7 +59,7 @@ public abstract class Shape implements FromSourceLocation, Tagged, ToShapeId, Co
     Shape(AbstractShapeBuilder builder, boolean expectMemberSegments) {
         source = builder.getSourceLocation();
         id = SmithyBuilder.requiredState("id", builder.getId());
-        traits = builder.copyTraits();
+        traits = LazyTraitMap.wrap(builder.copyTraits());
         validateShapeId(expectMemberSegments);
     }
 
@@ -131,7 +131,7 @@ public abstract class Shape implements FromSourceLocation, Tagged, ToShapeId, Co
      * @return Returns true if the shape has the given trait.
      */
     public boolean hasTrait(String id) {
-        return findTrait(id).isPresent();
+        return hasTrait(ShapeId.from(Trait.makeAbsoluteName(id)));
     }
 
     /**
@@ -141,7 +141,8 @@ public abstract class Shape implements FromSourceLocation, Tagged, ToShapeId, Co
      * @return Returns true if the shape has the given trait.
      */
     public boolean hasTrait(ShapeId id) {
-        return findTrait(id).isPresent();
+        // Checking the key doesn't create a lazy trait.
+        return traits.containsKey(id);
     }
 
     /**
@@ -188,6 +189,11 @@ public abstract class Shape implements FromSourceLocation, Tagged, ToShapeId, Co
      */
     @SuppressWarnings("unchecked")
     public final <T extends Trait> Optional<T> getTrait(Class<T> traitClass) {
+        if (traits instanceof LazyTraitMap) {
+            // Avoid creating lazy traits that are known to be of a different class.
+            return ((LazyTraitMap) traits).getTrait(traitClass);
+        }
+
         for (Trait trait : traits.values()) {
             if (traitClass.isInstance(trait)) {
                 return Optional.of((T) trait);
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.traits;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.smithy.model.SourceException;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * A placeholder for a trait that is created from its Node value the first
+ * time it's needed.
+ *
+ * <p>Lazy traits are created by a {@link TraitFactory} returned from
+ * {@link #createFactory} and are never exposed by shapes; shapes return
+ * the trait created by the wrapped factory instead. The trait is created
+ * at most once, even when accessed concurrently.
+ */
+@SmithyInternalApi
+public final class LazyTrait implements Trait {
+
+    private final Context context;
+    private final ShapeId id;
+    private final ShapeId target;
+
+    // The value is released once the trait is created. The trait is always
+    // assigned before the value is released, so a null value means that
+    // the trait has been created.
+    private volatile Node value;
+    private volatile Trait trait;
+
+    private LazyTrait(Context context, ShapeId id, ShapeId target, Node value) {
+        this.context = context;
+        this.id = id;
+        this.target = target;
+        this.value = value;
+    }
+
+    /**
+     * Creates a trait factory that creates lazy traits using the given factory.
+     *
+     * <p>Only traits with a non-empty object or array value are lazy. Other
+     * traits are about as cheap to create as a lazy trait and retain no
+     * more memory than their value, so they're created immediately.
+     *
+     * <p>Lazy traits that can't be created by the given factory are created
+     * as a {@link DynamicTrait}.
+     *
+     * @param delegate Factory used to create traits.
+     * @return Returns the created factory.
+     */
+    public static TraitFactory createFactory(TraitFactory delegate) {
+        Context context = new Context(delegate);
+        return (id, target, value) -> {
+            if (isLazy(value)) {
+                return Optional.of(new LazyTrait(context, id, target, value));
+            } else {
+                return delegate.createTrait(id, target, value);
+            }
+        };
+    }
+
+    /**
+     * Gets the trait, creating it if necessary.
+     *
+     * @return Returns the created trait.
+     * @throws SourceException if the trait value is invalid.
+     */
+    public Trait get() {
+        Trait result = trait;
+        if (result == null) {
+            synchronized (this) {
+                result = trait;
+                if (result == null) {
+                    result = context.create(id, target, value);
+                    trait = result;
+                    value = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks if the trait could be an instance of the given class without
+     * creating the trait when possible.
+     *
+     * <p>The class of each created trait is remembered by trait ID, so
+     * after a trait with a given ID is created once, other lazy traits with
+     * the same ID can rule out classes without being created.
+     *
+     * @param traitClass Class to check.
+     * @return Returns false if the trait is known to not be an instance of the class.
+     */
+    public boolean mayBeInstanceOf(Class<? extends Trait> traitClass) {
+        Trait result = trait;
+        if (result != null) {
+            return traitClass.isInstance(result);
+        }
+        Class<?> knownClass = context.traitClasses.get(id);
+        return knownClass == null || traitClass.isAssignableFrom(knownClass);
+    }
+
+    @Override
+    public ShapeId toShapeId() {
+        return id;
+    }
+
+    @Override
+    public SourceLocation getSourceLocation() {
+        Node node = value;
+        return node != null ? node.getSourceLocation() : trait.getSourceLocation();
+    }
+
+    @Override
+    public Node toNode() {
+        return get().toNode();
+    }
+
+    @Override
+    public boolean isSynthetic() {
+        return get().isSynthetic();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        } else if (other instanceof LazyTrait) {
+            return get().equals(((LazyTrait) other).get());
+        } else {
+            return get().equals(other);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return get().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "LazyTrait{" + id + " on " + target + "}";
+    }
+
+    private static boolean isLazy(Node value) {
+        return value.asObjectNode().map(object -> !object.isEmpty()).orElse(false)
+               || value.asArrayNode().map(array -> !array.isEmpty()).orElse(false);
+    }
+
+    private static final class Context {
+        private final TraitFactory delegate;
+        private final Map<ShapeId, Class<?>> traitClasses = new ConcurrentHashMap<>();
+
+        Context(TraitFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        Trait create(ShapeId id, ShapeId target, Node value) {
+            Trait result = delegate.createTrait(id, target, value).orElseGet(() -> new DynamicTrait(id, value));
+            traitClasses.putIfAbsent(id, result.getClass());
+            return result;
+        }
+    }
+}
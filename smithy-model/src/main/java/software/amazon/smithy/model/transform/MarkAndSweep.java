@@ -15,14 +15,19 @@
 
 package software.amazon.smithy.model.transform;
 
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
 import software.amazon.smithy.model.neighbor.NeighborProvider;
 import software.amazon.smithy.model.neighbor.Relationship;
 import software.amazon.smithy.model.neighbor.RelationshipType;
@@ -37,9 +42,16 @@ import software.amazon.smithy.model.shapes.Shape;
  * as needing to be removed. The MarkAndSweep then finds all shapes
  * that have targets to them but is only targeted by shapes that have been
  * marked for removal. These matching shapes are then marked for removal as
- * well, potentially freeing up other shapes to be marked for removal in the
- * next round. This process continues until no new shapes are marked in a
- * round.
+ * well, potentially freeing up other shapes to be marked for removal. This
+ * process continues until no new shapes are marked in a round.
+ *
+ * <p>Rather than rescanning the model until nothing changes, each marked
+ * shape is visited once using a worklist. Visiting a marked shape decrements
+ * the number of unmarked shapes that reference each shape it targets, and
+ * shapes whose count reaches zero are marked. The count of a shape is only
+ * computed once one of the shapes that reference it is marked, so the cost
+ * of a sweep depends on the shapes that are marked rather than the size of
+ * the model.
  */
 final class MarkAndSweep {
 
@@ -52,30 +64,82 @@ final class MarkAndSweep {
     }
 
     Set<Shape> markAndSweep(Model model) {
-        NeighborProvider reverseNeighbors = NeighborProvider.reverse(model);
-        MarkerContext context = new MarkerContext(reverseNeighbors, model, sweepFilter);
+        NeighborProviderIndex index = NeighborProviderIndex.of(model);
+        MarkerContext context = new MarkerContext(index.getReverseProvider(), model, sweepFilter);
+        NeighborProvider provider = index.getProvider();
+
+        // The number of shapes that reference a shape and haven't been
+        // visited yet. Shapes are added once a referencing shape is visited.
+        Map<Shape, Integer> remainingReferences = new HashMap<>();
+        Set<Shape> visited = new HashSet<>();
 
         int currentSize;
         do {
             currentSize = context.getMarkedForRemoval().size();
             marker.accept(context);
-            // Find shapes that are only referenced by a shape that has been marked for removal.
-            model.shapes().filter(shape -> !shape.isMemberShape()).forEach(shape -> {
-                if (!context.getMarkedForRemoval().contains(shape)) {
-                    Set<Shape> targetedFrom = context.getTargetedFrom(shape);
-                    if (!targetedFrom.isEmpty()) {
-                        targetedFrom.removeAll(context.getMarkedForRemoval());
-                        if (targetedFrom.isEmpty()) {
-                            context.markShape(shape);
-                        }
+
+            Shape marked;
+            Set<Shape> targets = new HashSet<>();
+            while ((marked = context.pending.poll()) != null) {
+                visited.add(marked);
+                targets.clear();
+                for (Relationship rel : provider.getNeighbors(marked)) {
+                    Shape target = rel.getNeighborShape().orElse(null);
+                    // A shape can target the same shape more than once, but
+                    // each referencing shape is only counted once.
+                    if (target == null
+                            || target.isMemberShape()
+                            || !isReference(rel)
+                            || context.markedForRemoval.contains(target)
+                            || !targets.add(target)) {
+                        continue;
+                    }
+                    Integer remaining = remainingReferences.get(target);
+                    if (remaining == null) {
+                        remaining = countUnvisitedReferences(context, target, visited);
+                    } else {
+                        remaining = remaining - 1;
+                    }
+                    remainingReferences.put(target, remaining);
+                    if (remaining == 0) {
+                        context.markShape(target);
                     }
                 }
-            });
+            }
         } while (currentSize != context.getMarkedForRemoval().size());
 
         return context.getMarkedForRemoval();
     }
 
+    private static int countUnvisitedReferences(MarkerContext context, Shape shape, Set<Shape> visited) {
+        Set<Shape> targetedFrom = context.getTargetedFrom(shape);
+        targetedFrom.removeAll(visited);
+        return targetedFrom.size();
+    }
+
+    // We are only interested in references to a shape from other shapes,
+    // not references to a shape that the shape contains (like members).
+    private static boolean isReference(Relationship rel) {
+        switch (rel.getRelationshipType()) {
+            case MEMBER_CONTAINER:
+            case LIST_MEMBER:
+            case STRUCTURE_MEMBER:
+            case SET_MEMBER:
+            case UNION_MEMBER:
+            case MAP_KEY:
+            case MAP_VALUE:
+            case BOUND:
+                return false;
+            default:
+                // Don't allow recursive member references to exclude themselves.
+                // This check ensures that recursive member references don't exclude
+                // themselves from being marked by seeing if the relationship is a member
+                // target (e.g., an aggregate shape that targets a member)
+                return rel.getRelationshipType() != RelationshipType.MEMBER_TARGET
+                       || !rel.getShape().getId().withoutMember().equals(rel.getNeighborShapeId());
+        }
+    }
+
     /**
      * Context object passed to the marked in each pass on the model.
      */
@@ -84,6 +148,7 @@ final class MarkAndSweep {
         private final NeighborProvider reverseProvider;
         private final Model model;
         private final Set<Shape> markedForRemoval = new HashSet<>();
+        private final Deque<Shape> pending = new ArrayDeque<>();
         private final Predicate<Shape> sweepFilter;
 
         MarkerContext(NeighborProvider reverseProvider, Model model, Predicate<Shape> sweepFilter) {
@@ -113,8 +178,16 @@ final class MarkAndSweep {
          */
         void markShape(Shape shape) {
             if (sweepFilter.test(shape)) {
-                markedForRemoval.add(shape);
-                markedForRemoval.addAll(shape.members());
+                mark(shape);
+                for (Shape member : shape.members()) {
+                    mark(member);
+                }
+            }
+        }
+
+        private void mark(Shape shape) {
+            if (markedForRemoval.add(shape)) {
+                pending.add(shape);
             }
         }
 
@@ -129,31 +202,7 @@ final class MarkAndSweep {
         }
 
         private Stream<Relationship> findRelationshipsTo(Shape shape) {
-            return reverseProvider.getNeighbors(shape).stream()
-                    // We are only interested in references to this shape from
-                    // other shapes, not references to this shape that the shape
-                    // contains (like members).
-                    .filter(rel -> {
-                        switch (rel.getRelationshipType()) {
-                            case MEMBER_CONTAINER:
-                            case LIST_MEMBER:
-                            case STRUCTURE_MEMBER:
-                            case SET_MEMBER:
-                            case UNION_MEMBER:
-                            case MAP_KEY:
-                            case MAP_VALUE:
-                            case BOUND:
-                                return false;
-                            default:
-                                return true;
-                        }
-                    })
-                    // Don't allow recursive member references to exclude themselves.
-                    // This check ensures that recursive member references don't exclude
-                    // themselves from being marked by seeing if the relationship is a member
-                    // target (e.g., an aggregate shape that targets a member)
-                    .filter(rel -> rel.getRelationshipType() != RelationshipType.MEMBER_TARGET
-                                   || !rel.getShape().getId().withoutMember().equals(rel.getNeighborShapeId()));
+            return reverseProvider.getNeighbors(shape).stream().filter(MarkAndSweep::isReference);
         }
     }
 }
@@ -0,0 +1,771 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import software.amazon.smithy.model.FromSourceLocation;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.knowledge.NullableIndex;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.NodeType;
+import software.amazon.smithy.model.node.NumberNode;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.shapes.BigDecimalShape;
+import software.amazon.smithy.model.shapes.BigIntegerShape;
+import software.amazon.smithy.model.shapes.BlobShape;
+import software.amazon.smithy.model.shapes.BooleanShape;
+import software.amazon.smithy.model.shapes.ByteShape;
+import software.amazon.smithy.model.shapes.DocumentShape;
+import software.amazon.smithy.model.shapes.DoubleShape;
+import software.amazon.smithy.model.shapes.FloatShape;
+import software.amazon.smithy.model.shapes.IntegerShape;
+import software.amazon.smithy.model.shapes.ListShape;
+import software.amazon.smithy.model.shapes.LongShape;
+import software.amazon.smithy.model.shapes.MapShape;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.ResourceShape;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.SetShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeVisitor;
+import software.amazon.smithy.model.shapes.ShortShape;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.shapes.TimestampShape;
+import software.amazon.smithy.model.shapes.UnionShape;
+import software.amazon.smithy.model.validation.node.NodeValidatorPlugin;
+import software.amazon.smithy.model.validation.node.TimestampValidationStrategy;
+import software.amazon.smithy.utils.SmithyBuilder;
+
+/**
+ * Validates {@link Node} values against a shape that is compiled into a
+ * tree of validators.
+ *
+ * <p>Member targets, nullability, and the {@link NodeValidatorPlugin}s
+ * that apply to each shape are resolved once rather than for every value.
+ * Shapes are compiled the first time a value reaches them, so only the
+ * shapes that values actually use are compiled. This makes it well suited
+ * to validating many values against the same shape.
+ * {@link NodeValidationVisitor} delegates to this class.
+ *
+ * <p>A compiled validator is thread-safe, and it can be used to validate
+ * values from multiple threads.
+ */
+public final class CompiledNodeValidator {
+
+    private final Shape shape;
+    private final CompiledShape root;
+    private final NodeValidatorPlugin.Context context;
+    private final String eventId;
+    private final ShapeId eventShapeId;
+    private final String startingContext;
+
+    private CompiledNodeValidator(Builder builder) {
+        Model model = SmithyBuilder.requiredState("model", builder.model);
+        shape = SmithyBuilder.requiredState("shape", builder.shape);
+        context = new NodeValidatorPlugin.Context(model);
+        eventId = builder.eventId == null ? Validator.MODEL_ERROR : builder.eventId;
+        eventShapeId = builder.eventShapeId;
+        startingContext = builder.startingContext;
+        root = new Compiler(model, context, builder.timestampValidationStrategy, builder.allowBoxedNull)
+                .compile(shape);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the shape that values are validated against.
+     *
+     * @return Returns the shape.
+     */
+    public Shape getShape() {
+        return shape;
+    }
+
+    /**
+     * Validates a value using the event shape ID and starting context of
+     * the validator.
+     *
+     * @param value Value to validate.
+     * @return Returns the validation events.
+     */
+    public List<ValidationEvent> validate(Node value) {
+        return validate(value, eventShapeId, startingContext);
+    }
+
+    /**
+     * Validates a value.
+     *
+     * @param value Value to validate.
+     * @param eventShapeId Shape ID to associate with each event, or null.
+     * @param startingContext Message content to prepend to each event message, or null.
+     * @return Returns the validation events.
+     */
+    public List<ValidationEvent> validate(Node value, ShapeId eventShapeId, String startingContext) {
+        Evaluation evaluation = new Evaluation(eventShapeId, startingContext == null ? "" : startingContext);
+        root.validate(Objects.requireNonNull(value), evaluation);
+        return evaluation.events == null ? Collections.emptyList() : evaluation.events;
+    }
+
+    /**
+     * Builds a {@link CompiledNodeValidator}.
+     */
+    public static final class Builder implements SmithyBuilder<CompiledNodeValidator> {
+        private Model model;
+        private Shape shape;
+        private String eventId;
+        private ShapeId eventShapeId;
+        private String startingContext = "";
+        private TimestampValidationStrategy timestampValidationStrategy = TimestampValidationStrategy.FORMAT;
+        private boolean allowBoxedNull;
+
+        Builder() {}
+
+        /**
+         * Sets the <strong>required</strong> model that contains the shape.
+         *
+         * @param model Model that contains the shape.
+         * @return Returns the builder.
+         */
+        public Builder model(Model model) {
+            this.model = model;
+            return this;
+        }
+
+        /**
+         * Sets the <strong>required</strong> shape to validate values against.
+         *
+         * @param shape Shape to compile.
+         * @return Returns the builder.
+         */
+        public Builder shape(Shape shape) {
+            this.shape = shape;
+            return this;
+        }
+
+        /**
+         * Sets an optional custom event ID to use for created validation events.
+         *
+         * @param id Custom event ID.
+         * @return Returns the builder.
+         */
+        public Builder eventId(String id) {
+            this.eventId = Objects.requireNonNull(id);
+            return this;
+        }
+
+        /**
+         * Sets an optional shape ID that is used as the shape ID in each
+         * validation event when a value is validated without one.
+         *
+         * @param eventShapeId Shape ID to set on every validation event.
+         * @return Returns the builder.
+         */
+        public Builder eventShapeId(ShapeId eventShapeId) {
+            this.eventShapeId = eventShapeId;
+            return this;
+        }
+
+        /**
+         * Sets an optional starting context that is prepended to each
+         * emitted validation event message when a value is validated
+         * without one.
+         *
+         * @param startingContext Starting event message content.
+         * @return Returns the builder.
+         */
+        public Builder startingContext(String startingContext) {
+            this.startingContext = Objects.requireNonNull(startingContext);
+            return this;
+        }
+
+        /**
+         * Sets the strategy used to validate timestamps.
+         *
+         * <p>By default, timestamps are validated using
+         * {@link TimestampValidationStrategy#FORMAT}.
+         *
+         * @param timestampValidationStrategy Timestamp validation strategy.
+         * @return Returns the builder.
+         */
+        public Builder timestampValidationStrategy(TimestampValidationStrategy timestampValidationStrategy) {
+            this.timestampValidationStrategy = Objects.requireNonNull(timestampValidationStrategy);
+            return this;
+        }
+
+        /**
+         * Configure how null values are handled when they are provided for
+         * boxed types.
+         *
+         * <p>By default, null values are not allowed for boxed types.
+         *
+         * @param allowBoxedNull Set to true to allow null values for boxed shapes.
+         * @return Returns the builder.
+         */
+        public Builder allowBoxedNull(boolean allowBoxedNull) {
+            this.allowBoxedNull = allowBoxedNull;
+            return this;
+        }
+
+        @Override
+        public CompiledNodeValidator build() {
+            return new CompiledNodeValidator(this);
+        }
+    }
+
+    // Holds the state of validating a single value. The context of nested
+    // values is only turned into a string when an event is emitted.
+    private final class Evaluation {
+        private final ShapeId eventShapeId;
+        private final String startingContext;
+        private final List<Object> segments = new ArrayList<>();
+        private List<ValidationEvent> events;
+
+        Evaluation(ShapeId eventShapeId, String startingContext) {
+            this.eventShapeId = eventShapeId;
+            this.startingContext = startingContext;
+        }
+
+        void traverse(Object segment, CompiledShape shape, Node value) {
+            segments.add(segment);
+            shape.validate(value, this);
+            segments.remove(segments.size() - 1);
+        }
+
+        void applyPlugins(CompiledShape shape, Node value) {
+            if (shape.plugins.length == 0) {
+                return;
+            }
+
+            BiConsumer<FromSourceLocation, String> emitter = (location, message) -> {
+                event(message, Severity.ERROR, location.getSourceLocation());
+            };
+            for (NodeValidatorPlugin plugin : shape.plugins) {
+                plugin.apply(shape.shape, value, context, emitter);
+            }
+        }
+
+        void event(String message, Severity severity, SourceLocation sourceLocation) {
+            if (events == null) {
+                events = new ArrayList<>();
+            }
+
+            String currentContext = startingContext;
+            for (Object segment : segments) {
+                currentContext = currentContext.isEmpty() ? segment.toString() : currentContext + "." + segment;
+            }
+
+            events.add(ValidationEvent.builder()
+                    .id(eventId)
+                    .severity(severity)
+                    .sourceLocation(sourceLocation)
+                    .shapeId(eventShapeId)
+                    .message(currentContext.isEmpty() ? message : currentContext + ": " + message)
+                    .build());
+        }
+    }
+
+    private abstract static class CompiledShape {
+        final Shape shape;
+        final NodeValidatorPlugin[] plugins;
+        final boolean allowsNull;
+
+        CompiledShape(Shape shape, NodeValidatorPlugin[] plugins, boolean allowsNull) {
+            this.shape = shape;
+            this.plugins = plugins;
+            this.allowsNull = allowsNull;
+        }
+
+        abstract void validate(Node value, Evaluation evaluation);
+
+        final void invalidShape(Node value, NodeType expectedType, Evaluation evaluation) {
+            // Boxed shapes allow null values.
+            if (allowsNull && value.isNullNode()) {
+                return;
+            }
+
+            String message = String.format(
+                    "Expected %s value for %s shape, `%s`; found %s value",
+                    expectedType, shape.getType(), shape.getId(), value.getType());
+            if (value.isStringNode()) {
+                message += ", `" + value.expectStringNode().getValue() + "`";
+            } else if (value.isNumberNode()) {
+                message += ", `" + value.expectNumberNode().getValue() + "`";
+            } else if (value.isBooleanNode()) {
+                message += ", `" + value.expectBooleanNode().getValue() + "`";
+            }
+            evaluation.event(message, Severity.ERROR, value.getSourceLocation());
+        }
+    }
+
+    // Validates simple shapes that only need the value to be of a specific
+    // type before applying plugins.
+    private static final class SimpleValue extends CompiledShape {
+        private final NodeType expectedType;
+        private final boolean allowsString;
+
+        SimpleValue(
+                Shape shape,
+                NodeValidatorPlugin[] plugins,
+                boolean allowsNull,
+                NodeType expectedType,
+                boolean allowsString
+        ) {
+            super(shape, plugins, allowsNull);
+            this.expectedType = expectedType;
+            this.allowsString = allowsString;
+        }
+
+        @Override
+        void validate(Node value, Evaluation evaluation) {
+            if (expectedType == null || value.getType() == expectedType || (allowsString && value.isStringNode())) {
+                evaluation.applyPlugins(this, value);
+            } else {
+                invalidShape(value, expectedType, evaluation);
+            }
+        }
+    }
+
+    private static final class NaturalNumberValue extends CompiledShape {
+        private final Long min;
+        private final Long max;
+
+        NaturalNumberValue(Shape shape, NodeValidatorPlugin[] plugins, boolean allowsNull, Long min, Long max) {
+            super(shape, plugins, allowsNull);
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        void validate(Node value, Evaluation evaluation) {
+            if (!value.isNumberNode()) {
+                invalidShape(value, NodeType.NUMBER, evaluation);
+                return;
+            }
+
+            NumberNode number = value.expectNumberNode();
+            if (!number.isNaturalNumber()) {
+                evaluation.event(String.format(
+                        "%s shapes must not have floating point values, but found `%s` provided for `%s`",
+                        shape.getType(), number.getValue(), shape.getId()), Severity.ERROR, value.getSourceLocation());
+                return;
+            }
+
+            long numberValue = number.getValue().longValue();
+            if (min != null && numberValue < min) {
+                evaluation.event(String.format("%s value must be > %d, but found %d",
+                        shape.getType(), min, numberValue), Severity.ERROR, value.getSourceLocation());
+            } else if (max != null && numberValue > max) {
+                evaluation.event(String.format("%s value must be < %d, but found %d",
+                        shape.getType(), max, numberValue), Severity.ERROR, value.getSourceLocation());
+            } else {
+                evaluation.applyPlugins(this, value);
+            }
+        }
+    }
+
+    private static final class AnyValue extends CompiledShape {
+        AnyValue(Shape shape) {
+            super(shape, new NodeValidatorPlugin[0], false);
+        }
+
+        @Override
+        void validate(Node value, Evaluation evaluation) {
+            // Document values are always valid.
+        }
+    }
+
+    private static final class InvalidSchemaValue extends CompiledShape {
+        InvalidSchemaValue(Shape shape) {
+            super(shape, new NodeValidatorPlugin[0], false);
+        }
+
+        @Override
+        void validate(Node value, Evaluation evaluation) {
+            evaluation.event("Encountered invalid shape type: " + shape.getType(), Severity.ERROR,
+                             value.getSourceLocation());
+        }
+    }
+
+    // Targets are compiled the first time a value reaches the member, which
+    // also allows recursive shapes to be compiled.
+    private static final class MemberValue extends CompiledShape {
+        private final Compiler compiler;
+        private volatile CompiledShape target;
+        private volatile boolean resolved;
+
+        MemberValue(MemberShape shape, NodeValidatorPlugin[] plugins, Compiler compiler) {
+            super(shape, plugins, false);
+            this.compiler = compiler;
+        }
+
+        @Override
+        void validate(Node value, Evaluation evaluation) {
+            evaluation.applyPlugins(this, value);
+            CompiledShape compiledTarget = getTarget();
+            if (compiledTarget != null) {
+                compiledTarget.validate(value, evaluation);
+            }
+        }
+
+        private CompiledShape getTarget() {
+            if (!resolved) {
+                target = compiler.compileTarget((MemberShape) shape);
+                resolved = true;
+            }
+            return target;
+        }
+    }
+
+    private static final class CollectionValue extends CompiledShape {
+        private final CompiledShape member;
+
+        CollectionValue(Shape shape, NodeValidatorPlugin[] plugins, boolean allowsNull, CompiledShape member) {
+            super(shape, plugins, allowsNull);
+            this.member = member;
+        }
+
+        @Override
+        void validate(Node value, Evaluation evaluation) {
+            if (!value.isArrayNode()) {
+                invalidShape(value, NodeType.ARRAY, evaluation);
+                return;
+            }
+
+            evaluation.applyPlugins(this, value);
+            // Each element creates a context with a numeric index (e.g., "foo.0.baz", "foo.1.baz", etc.).
+            List<Node> elements = value.expectArrayNode().getElements();
+            for (int i = 0; i < elements.size(); i++) {
+                evaluation.traverse(i, member, elements.get(i));
+            }
+        }
+    }
+
+    private static final class MapValue extends CompiledShape {
+        private final CompiledShape key;
+        private final CompiledShape value;
+
+        MapValue(
+                Shape shape,
+                NodeValidatorPlugin[] plugins,
+                boolean allowsNull,
+                CompiledShape key,
+                CompiledShape value
+        ) {
+            super(shape, plugins, allowsNull);
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        void validate(Node node, Evaluation evaluation) {
+            if (!node.isObjectNode()) {
+                invalidShape(node, NodeType.OBJECT, evaluation);
+                return;
+            }
+
+            evaluation.applyPlugins(this, node);
+            for (Map.Entry<StringNode, Node> entry : node.expectObjectNode().getMembers().entrySet()) {
+                String entryKey = entry.getKey().getValue();
+                evaluation.traverse(entryKey + " (map-key)", key, entry.getKey());
+                evaluation.traverse(entryKey, value, entry.getValue());
+            }
+        }
+    }
+
+    private static final class StructureValue extends CompiledShape {
+        private final Map<String, CompiledShape> members;
+        private final List<String> requiredMembers;
+
+        StructureValue(
+                Shape shape,
+                NodeValidatorPlugin[] plugins,
+                boolean allowsNull,
+                Map<String, CompiledShape> members,
+                List<String> requiredMembers
+        ) {
+            super(shape, plugins, allowsNull);
+            this.members = members;
+            this.requiredMembers = requiredMembers;
+        }
+
+        @Override
+        void validate(Node value, Evaluation evaluation) {
+            if (!value.isObjectNode()) {
+                invalidShape(value, NodeType.OBJECT, evaluation);
+                return;
+            }
+
+            evaluation.applyPlugins(this, value);
+            Map<String, Node> object = value.expectObjectNode().getStringMap();
+            for (Map.Entry<String, Node> entry : object.entrySet()) {
+                CompiledShape member = members.get(entry.getKey());
+                if (member == null) {
+                    evaluation.event(String.format("Invalid structure member `%s` found for `%s`",
+                            entry.getKey(), shape.getId()), Severity.WARNING, value.getSourceLocation());
+                } else {
+                    evaluation.traverse(entry.getKey(), member, entry.getValue());
+                }
+            }
+
+            for (String member : requiredMembers) {
+                if (!object.containsKey(member)) {
+                    evaluation.event(String.format("Missing required structure member `%s` for `%s`",
+                            member, shape.getId()), Severity.ERROR, value.getSourceLocation());
+                }
+            }
+        }
+    }
+
+    private static final class UnionValue extends CompiledShape {
+        private final Map<String, CompiledShape> members;
+
+        UnionValue(Shape shape, NodeValidatorPlugin[] plugins, boolean allowsNull, Map<String, CompiledShape> members) {
+            super(shape, plugins, allowsNull);
+            this.members = members;
+        }
+
+        @Override
+        void validate(Node value, Evaluation evaluation) {
+            if (!value.isObjectNode()) {
+                invalidShape(value, NodeType.OBJECT, evaluation);
+                return;
+            }
+
+            evaluation.applyPlugins(this, value);
+            ObjectNode object = value.expectObjectNode();
+            if (object.size() > 1) {
+                evaluation.event("union values can contain a value for only a single member", Severity.ERROR,
+                                 value.getSourceLocation());
+                return;
+            }
+
+            for (Map.Entry<String, Node> entry : object.getStringMap().entrySet()) {
+                CompiledShape member = members.get(entry.getKey());
+                if (member == null) {
+                    evaluation.event(String.format("Invalid union member `%s` found for `%s`",
+                            entry.getKey(), shape.getId()), Severity.ERROR, value.getSourceLocation());
+                } else {
+                    evaluation.traverse(entry.getKey(), member, entry.getValue());
+                }
+            }
+        }
+    }
+
+    // Compiles each shape at most once. Shapes can be compiled by multiple
+    // threads at the same time, in which case the first result is kept.
+    private static final class Compiler implements ShapeVisitor<CompiledShape> {
+        private static final List<NodeValidatorPlugin> BUILTIN = NodeValidatorPlugin.getBuiltins();
+
+        private final Model model;
+        private final NodeValidatorPlugin.Context context;
+        private final TimestampValidationStrategy timestampValidationStrategy;
+        private final NullableIndex nullableIndex;
+        private final Map<ShapeId, CompiledShape> compiled = new ConcurrentHashMap<>();
+
+        Compiler(
+                Model model,
+                NodeValidatorPlugin.Context context,
+                TimestampValidationStrategy timestampValidationStrategy,
+                boolean allowBoxedNull
+        ) {
+            this.model = model;
+            this.context = context;
+            this.timestampValidationStrategy = timestampValidationStrategy;
+            nullableIndex = allowBoxedNull ? NullableIndex.of(model) : null;
+        }
+
+        CompiledShape compile(Shape shape) {
+            CompiledShape result = compiled.get(shape.getId());
+            if (result == null) {
+                CompiledShape created = shape.accept(this);
+                result = compiled.putIfAbsent(shape.getId(), created);
+                if (result == null) {
+                    result = created;
+                }
+            }
+            return result;
+        }
+
+        CompiledShape compileTarget(MemberShape member) {
+            return model.getShape(member.getTarget()).map(this::compile).orElse(null);
+        }
+
+        private NodeValidatorPlugin[] plugins(Shape shape) {
+            List<NodeValidatorPlugin> result = new ArrayList<>();
+            if (timestampValidationStrategy.appliesTo(shape, context)) {
+                result.add(timestampValidationStrategy);
+            }
+            for (NodeValidatorPlugin plugin : BUILTIN) {
+                if (plugin.appliesTo(shape, context)) {
+                    result.add(plugin);
+                }
+            }
+            return result.toArray(new NodeValidatorPlugin[0]);
+        }
+
+        private boolean allowsNull(Shape shape) {
+            return nullableIndex != null && nullableIndex.isNullable(shape);
+        }
+
+        private CompiledShape simple(Shape shape, NodeType expectedType, boolean allowsString) {
+            return new SimpleValue(shape, plugins(shape), allowsNull(shape), expectedType, allowsString);
+        }
+
+        private CompiledShape naturalNumber(Shape shape, Long min, Long max) {
+            return new NaturalNumberValue(shape, plugins(shape), allowsNull(shape), min, max);
+        }
+
+        @Override
+        public CompiledShape blobShape(BlobShape shape) {
+            return simple(shape, NodeType.STRING, false);
+        }
+
+        @Override
+        public CompiledShape booleanShape(BooleanShape shape) {
+            return simple(shape, NodeType.BOOLEAN, false);
+        }
+
+        @Override
+        public CompiledShape byteShape(ByteShape shape) {
+            return naturalNumber(shape, (long) Byte.MIN_VALUE, (long) Byte.MAX_VALUE);
+        }
+
+        @Override
+        public CompiledShape shortShape(ShortShape shape) {
+            return naturalNumber(shape, (long) Short.MIN_VALUE, (long) Short.MAX_VALUE);
+        }
+
+        @Override
+        public CompiledShape integerShape(IntegerShape shape) {
+            return naturalNumber(shape, (long) Integer.MIN_VALUE, (long) Integer.MAX_VALUE);
+        }
+
+        @Override
+        public CompiledShape longShape(LongShape shape) {
+            return naturalNumber(shape, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+
+        @Override
+        public CompiledShape bigIntegerShape(BigIntegerShape shape) {
+            return naturalNumber(shape, null, null);
+        }
+
+        @Override
+        public CompiledShape floatShape(FloatShape shape) {
+            return simple(shape, NodeType.NUMBER, true);
+        }
+
+        @Override
+        public CompiledShape doubleShape(DoubleShape shape) {
+            return simple(shape, NodeType.NUMBER, true);
+        }
+
+        @Override
+        public CompiledShape bigDecimalShape(BigDecimalShape shape) {
+            return simple(shape, NodeType.NUMBER, false);
+        }
+
+        @Override
+        public CompiledShape stringShape(StringShape shape) {
+            return simple(shape, NodeType.STRING, false);
+        }
+
+        @Override
+        public CompiledShape timestampShape(TimestampShape shape) {
+            // Timestamps accept any value and are validated by plugins.
+            return simple(shape, null, false);
+        }
+
+        @Override
+        public CompiledShape documentShape(DocumentShape shape) {
+            return new AnyValue(shape);
+        }
+
+        @Override
+        public CompiledShape operationShape(OperationShape shape) {
+            return new InvalidSchemaValue(shape);
+        }
+
+        @Override
+        public CompiledShape resourceShape(ResourceShape shape) {
+            return new InvalidSchemaValue(shape);
+        }
+
+        @Override
+        public CompiledShape serviceShape(ServiceShape shape) {
+            return new InvalidSchemaValue(shape);
+        }
+
+        @Override
+        public CompiledShape listShape(ListShape shape) {
+            return new CollectionValue(shape, plugins(shape), allowsNull(shape), compile(shape.getMember()));
+        }
+
+        @Override
+        public CompiledShape setShape(SetShape shape) {
+            return new CollectionValue(shape, plugins(shape), allowsNull(shape), compile(shape.getMember()));
+        }
+
+        @Override
+        public CompiledShape mapShape(MapShape shape) {
+            return new MapValue(shape, plugins(shape), allowsNull(shape),
+                                compile(shape.getKey()), compile(shape.getValue()));
+        }
+
+        @Override
+        public CompiledShape structureShape(StructureShape shape) {
+            Map<String, CompiledShape> members = new LinkedHashMap<>();
+            List<String> requiredMembers = new ArrayList<>();
+            for (MemberShape member : shape.getAllMembers().values()) {
+                members.put(member.getMemberName(), compile(member));
+                // Ignore missing required primitive members because they have a default value.
+                if (member.isRequired() && NullableIndex.of(model).isNullable(member)) {
+                    requiredMembers.add(member.getMemberName());
+                }
+            }
+            return new StructureValue(shape, plugins(shape), allowsNull(shape), members, requiredMembers);
+        }
+
+        @Override
+        public CompiledShape unionShape(UnionShape shape) {
+            Map<String, CompiledShape> members = new HashMap<>();
+            for (MemberShape member : shape.getAllMembers().values()) {
+                members.put(member.getMemberName(), compile(member));
+            }
+            return new UnionValue(shape, plugins(shape), allowsNull(shape), members);
+        }
+
+        @Override
+        public CompiledShape memberShape(MemberShape shape) {
+            return new MemberValue(shape, plugins(shape), this);
+        }
+    }
+}
@@ -15,7 +15,9 @@
 
 package software.amazon.smithy.model.validation;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.ModelAssembler;
 
@@ -47,4 +49,18 @@ public interface Validator {
      * @return List of validation events.
      */
     List<ValidationEvent> validate(Model model);
+
+    /**
+     * Gets the severities of the events that the validator can emit.
+     *
+     * <p>Validators are skipped when they can't emit any events that are
+     * severe enough to be reported, like when a model is assembled with
+     * {@link ModelAssembler#MINIMUM_SEVERITY}. Validators that can emit
+     * events of any severity don't need to override this method.
+     *
+     * @return Returns the severities of the events the validator can emit.
+     */
+    default Set<Severity> getEmittedSeverities() {
+        return EnumSet.allOf(Severity.class);
+    }
 }
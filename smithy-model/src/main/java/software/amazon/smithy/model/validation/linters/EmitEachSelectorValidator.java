@@ -22,6 +22,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import software.amazon.smithy.model.FromSourceLocation;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.ModelSyntaxException;
@@ -39,7 +40,7 @@ import software.amazon.smithy.utils.SimpleParser;
 /**
  * Emits a validation event for each shape that matches a selector.
  */
-public final class EmitEachSelectorValidator extends AbstractValidator {
+public final class EmitEachSelectorValidator extends AbstractValidator implements SelectorValidator {
 
     /**
      * EmitEachSelector configuration settings.
@@ -124,17 +125,49 @@ public final class EmitEachSelectorValidator extends AbstractValidator {
     @Override
     public List<ValidationEvent> validate(Model model) {
         // Short-circuit the validation if the binding trait is never used.
-        if (config.bindToTrait != null && !model.getAppliedTraits().contains(config.getBindToTrait())) {
+        if (!isBindingTraitUsed(model)) {
             return Collections.emptyList();
         } else if (config.messageTemplate == null) {
-            return validateWithSimpleMessages(model);
+            return validateWithSimpleMessages(config.getSelector().select(model).stream());
         } else {
             return validateWithTemplate(model);
         }
     }
 
-    private List<ValidationEvent> validateWithSimpleMessages(Model model) {
-        return config.getSelector().select(model).stream()
+    @Override
+    public Selector getSelector() {
+        return config.getSelector();
+    }
+
+    @Override
+    public boolean appliesTo(Model model) {
+        return isBindingTraitUsed(model);
+    }
+
+    @Override
+    public boolean usesVariables() {
+        return config.messageTemplate != null;
+    }
+
+    @Override
+    public List<ValidationEvent> validateMatches(Model model, List<Selector.ShapeMatch> matches) {
+        if (config.messageTemplate == null) {
+            return validateWithSimpleMessages(matches.stream().map(Selector.ShapeMatch::getShape));
+        } else {
+            List<ValidationEvent> events = new ArrayList<>();
+            for (Selector.ShapeMatch match : matches) {
+                createTemplatedEvent(match).ifPresent(events::add);
+            }
+            return events;
+        }
+    }
+
+    private boolean isBindingTraitUsed(Model model) {
+        return config.bindToTrait == null || model.getAppliedTraits().contains(config.getBindToTrait());
+    }
+
+    private List<ValidationEvent> validateWithSimpleMessages(Stream<Shape> shapes) {
+        return shapes
                 .flatMap(shape -> OptionalUtils.stream(createSimpleEvent(shape)))
                 .collect(Collectors.toList());
     }
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.Prelude;
 import software.amazon.smithy.model.node.NodeMapper;
@@ -33,7 +34,7 @@ import software.amazon.smithy.utils.ListUtils;
 /**
  * Emits a validation event if no shapes match the given selector.
  */
-public final class EmitNoneSelectorValidator extends AbstractValidator {
+public final class EmitNoneSelectorValidator extends AbstractValidator implements SelectorValidator {
 
     /**
      * EmitNoneSelector configuration settings.
@@ -75,8 +76,27 @@ public final class EmitNoneSelectorValidator extends AbstractValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
+        return validateShapes(config.getSelector().select(model).stream());
+    }
+
+    @Override
+    public Selector getSelector() {
+        return config.getSelector();
+    }
+
+    @Override
+    public boolean usesVariables() {
+        return false;
+    }
+
+    @Override
+    public List<ValidationEvent> validateMatches(Model model, List<Selector.ShapeMatch> matches) {
+        return validateShapes(matches.stream().map(Selector.ShapeMatch::getShape));
+    }
+
+    private List<ValidationEvent> validateShapes(Stream<Shape> matches) {
         // Filter out prelude types.
-        Set<Shape> shapes = config.getSelector().select(model).stream()
+        Set<Shape> shapes = matches
                 .filter(shape -> !Prelude.isPreludeShape(shape.getId()))
                 .collect(Collectors.toSet());
 
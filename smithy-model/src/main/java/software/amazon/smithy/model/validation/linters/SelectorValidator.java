@@ -0,0 +1,79 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.validation.linters;
+
+import java.util.List;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.selector.Selector;
+import software.amazon.smithy.model.selector.SelectorBatch;
+import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.model.validation.Validator;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * A validator that creates events from the shapes that match a selector.
+ *
+ * <p>When a model is validated, the selectors of these validators are
+ * evaluated together using a {@link SelectorBatch} and the results are
+ * given to {@link #validateMatches} rather than calling
+ * {@link #validate(Model)} on each validator.
+ */
+@SmithyInternalApi
+public interface SelectorValidator extends Validator {
+
+    /**
+     * Gets the selector used by the validator.
+     *
+     * @return Returns the selector.
+     */
+    Selector getSelector();
+
+    /**
+     * Checks if the selector needs to be evaluated to validate a model.
+     *
+     * <p>Validators that return false are skipped without evaluating
+     * their selector, like validators that only emit events for shapes
+     * with a trait that isn't used in the model.
+     *
+     * @param model Model being validated.
+     * @return Returns true if the selector needs to be evaluated.
+     */
+    default boolean appliesTo(Model model) {
+        return true;
+    }
+
+    /**
+     * Checks if events are created from each match of the selector and
+     * the variables it captured, as found by {@link Selector#consumeMatches}.
+     *
+     * <p>Otherwise, events are created from the shapes found by
+     * {@link Selector#select}, each given as a match without variables.
+     *
+     * @return Returns true if the validator needs the variables of each match.
+     */
+    boolean usesVariables();
+
+    /**
+     * Creates events from the matches of the selector.
+     *
+     * <p>This is only called when {@link #appliesTo} returns true.
+     *
+     * @param model Model being validated.
+     * @param matches Matches of the selector.
+     * @return Returns the created events.
+     */
+    List<ValidationEvent> validateMatches(Model model, List<Selector.ShapeMatch> matches);
+}
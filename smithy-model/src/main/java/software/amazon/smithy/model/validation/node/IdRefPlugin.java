@@ -19,6 +19,7 @@ import java.util.function.BiConsumer;
 import software.amazon.smithy.model.FromSourceLocation;
 import software.amazon.smithy.model.SourceException;
 import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.selector.SelectorResultIndex;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StringShape;
@@ -70,7 +71,7 @@ final class IdRefPlugin extends MemberAndShapeTraitPlugin<StringShape, StringNod
         if (trait.getSelector().toString().equals("*")) {
             return true;
         } else {
-            return context.select(trait.getSelector()).contains(needle);
+            return SelectorResultIndex.of(context.model()).matches(trait.getSelector(), needle);
         }
     }
 
@@ -45,6 +45,11 @@ abstract class MemberAndShapeTraitPlugin<S extends Shape, N extends Node, T exte
         }
     }
 
+    @Override
+    public final boolean appliesTo(Shape shape, Context context) {
+        return shape.getTrait(traitClass).isPresent() && isMatchingShape(shape, context.model());
+    }
+
     private boolean isMatchingShape(Shape shape, Model model) {
         // Is the shape the expected shape type?
         if (targetShapeClass.isInstance(shape)) {
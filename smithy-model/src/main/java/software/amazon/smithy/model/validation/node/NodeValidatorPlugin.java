@@ -15,15 +15,14 @@
 
 package software.amazon.smithy.model.validation.node;
 
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import software.amazon.smithy.model.FromSourceLocation;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.selector.Selector;
+import software.amazon.smithy.model.selector.SelectorResultIndex;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.utils.ListUtils;
 import software.amazon.smithy.utils.SmithyInternalApi;
@@ -46,6 +45,22 @@ public interface NodeValidatorPlugin {
      */
     void apply(Shape shape, Node value, Context context, BiConsumer<FromSourceLocation, String> emitter);
 
+    /**
+     * Checks if the plugin can emit events for any value of the given shape.
+     *
+     * <p>This is used to find the plugins that apply to a shape ahead of
+     * time when compiling a shape into a reusable validator. Plugins that
+     * return false are never applied to values of the shape, so this must
+     * only return false if {@link #apply} never emits events for the shape.
+     *
+     * @param shape Shape to check.
+     * @param context Evaluation context.
+     * @return Returns true if the plugin can emit events for the shape.
+     */
+    default boolean appliesTo(Shape shape, Context context) {
+        return true;
+    }
+
     /**
      * @return Gets the built-in Node validation plugins.
      */
@@ -69,16 +84,6 @@ public interface NodeValidatorPlugin {
     final class Context {
         private final Model model;
 
-        // Use an LRU cache to ensure the Selector cache doesn't grow too large
-        // when given bad inputs.
-        private final Map<Selector, Set<Shape>> selectorResults = new LinkedHashMap<Selector, Set<Shape>>(
-                50 + 1, .75F, true) {
-            @Override
-            public boolean removeEldestEntry(Map.Entry<Selector, Set<Shape>> eldest) {
-                return size() > 50;
-            }
-        };
-
         /**
          * @param model Model being evaluated.
          */
@@ -98,15 +103,14 @@ public interface NodeValidatorPlugin {
         /**
          * Select and memoize shapes from the model using a Selector.
          *
-         * <p>The cache used by this method is not thread-safe, though that's
-         * fine because NodeValidatorPlugins using the same Context all run
-         * within the same thread.
+         * <p>Results are memoized by the {@link SelectorResultIndex} of the
+         * model, so they're shared by every Context of the same model.
          *
          * @param selector Selector to evaluate.
          * @return Returns the matching shapes.
          */
         public Set<Shape> select(Selector selector) {
-            return selectorResults.computeIfAbsent(selector, s -> s.select(model));
+            return SelectorResultIndex.of(model).select(selector);
         }
     }
 }
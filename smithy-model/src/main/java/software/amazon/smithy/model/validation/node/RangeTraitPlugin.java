@@ -41,6 +41,11 @@ class RangeTraitPlugin implements NodeValidatorPlugin {
         }
     }
 
+    @Override
+    public final boolean appliesTo(Shape shape, Context context) {
+        return shape.hasTrait(RangeTrait.class);
+    }
+
     private void checkNonNumeric(
             Shape shape,
             RangeTrait trait,
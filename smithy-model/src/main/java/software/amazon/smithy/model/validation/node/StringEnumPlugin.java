@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.function.BiConsumer;
 import software.amazon.smithy.model.FromSourceLocation;
 import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.StringShape;
 import software.amazon.smithy.model.traits.EnumTrait;
 import software.amazon.smithy.model.validation.ValidationUtils;
@@ -32,6 +33,11 @@ final class StringEnumPlugin extends FilteredPlugin<StringShape, StringNode> {
         super(StringShape.class, StringNode.class);
     }
 
+    @Override
+    public boolean appliesTo(Shape shape, Context context) {
+        return super.appliesTo(shape, context) && shape.hasTrait(EnumTrait.class);
+    }
+
     @Override
     protected void check(
             StringShape shape,
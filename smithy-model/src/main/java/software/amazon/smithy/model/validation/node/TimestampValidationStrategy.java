@@ -38,6 +38,11 @@ public enum TimestampValidationStrategy implements NodeValidatorPlugin {
         public void apply(Shape shape, Node value, Context context, BiConsumer<FromSourceLocation, String> emitter) {
             new TimestampFormatPlugin().apply(shape, value, context, emitter);
         }
+
+        @Override
+        public boolean appliesTo(Shape shape, Context context) {
+            return new TimestampFormatPlugin().appliesTo(shape, context);
+        }
     },
 
     /**
@@ -53,6 +58,11 @@ public enum TimestampValidationStrategy implements NodeValidatorPlugin {
                                       + "seconds with optional millisecond precision");
             }
         }
+
+        @Override
+        public boolean appliesTo(Shape shape, Context context) {
+            return isTimestampMember(context.model(), shape);
+        }
     };
 
     private static boolean isTimestampMember(Model model, Shape shape) {
@@ -29,6 +29,8 @@ import software.amazon.smithy.utils.ListUtils;
  */
 final class MetadataSuppression implements Suppression {
 
+    static final String WILDCARD = "*";
+
     private static final String ID = "id";
     private static final String NAMESPACE = "namespace";
     private static final String REASON = "reason";
@@ -53,6 +55,14 @@ final class MetadataSuppression implements Suppression {
         return new MetadataSuppression(id, namespace, reason);
     }
 
+    String getId() {
+        return id;
+    }
+
+    String getNamespace() {
+        return namespace;
+    }
+
     @Override
     public boolean test(ValidationEvent event) {
         return event.getId().equals(id) && matchesNamespace(event);
@@ -64,7 +74,7 @@ final class MetadataSuppression implements Suppression {
     }
 
     private boolean matchesNamespace(ValidationEvent event) {
-        return namespace.equals("*")
+        return namespace.equals(WILDCARD)
                || event.getShapeId().filter(id -> id.getNamespace().equals(namespace)).isPresent();
     }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.validation.suppressions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.SuppressTrait;
+import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.utils.SmithyInternalApi;
+
+/**
+ * Finds the suppression that applies to a {@link ValidationEvent}.
+ *
+ * <p>The {@link SuppressTrait} of the shape an event is emitted for is
+ * checked first, followed by the given suppressions in order. The first
+ * suppression that applies to the event is used.
+ *
+ * <p>Suppressions loaded from metadata are grouped by event ID and then by
+ * namespace, so finding them doesn't require testing each suppression.
+ * Suppressions created from traits are created once for each shape with
+ * the {@code suppress} trait. Other suppressions are tested in order.
+ */
+@SmithyInternalApi
+public final class SuppressionIndex {
+
+    private final Map<ShapeId, Suppression> traitSuppressions = new HashMap<>();
+    private final Map<String, Map<String, Entry>> metadataSuppressions = new HashMap<>();
+    private final List<Entry> otherSuppressions = new ArrayList<>();
+
+    /**
+     * @param model Model to load trait suppressions from.
+     * @param suppressions Suppressions to check after trait suppressions, in order.
+     */
+    public SuppressionIndex(Model model, List<? extends Suppression> suppressions) {
+        for (Shape shape : model.getShapesWithTrait(SuppressTrait.class)) {
+            traitSuppressions.put(shape.getId(), Suppression.fromSuppressTrait(shape));
+        }
+
+        for (int i = 0; i < suppressions.size(); i++) {
+            Suppression suppression = suppressions.get(i);
+            Entry entry = new Entry(i, suppression);
+            if (suppression instanceof MetadataSuppression) {
+                MetadataSuppression metadata = (MetadataSuppression) suppression;
+                // Only the first suppression for an ID and namespace can apply.
+                metadataSuppressions.computeIfAbsent(metadata.getId(), id -> new HashMap<>())
+                        .putIfAbsent(metadata.getNamespace(), entry);
+            } else {
+                otherSuppressions.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Finds the suppression that applies to an event.
+     *
+     * <p>The severity of the event is not checked.
+     *
+     * @param event Event to find the suppression of.
+     * @return Returns the first suppression that applies to the event, if any.
+     */
+    public Optional<Suppression> findMatch(ValidationEvent event) {
+        ShapeId shapeId = event.getShapeId().orElse(null);
+
+        if (shapeId != null) {
+            Suppression traitSuppression = traitSuppressions.get(shapeId);
+            if (traitSuppression != null && traitSuppression.test(event)) {
+                return Optional.of(traitSuppression);
+            }
+        }
+
+        Entry match = null;
+        Map<String, Entry> byNamespace = metadataSuppressions.get(event.getId());
+        if (byNamespace != null) {
+            match = byNamespace.get(MetadataSuppression.WILDCARD);
+            if (shapeId != null) {
+                match = first(match, byNamespace.get(shapeId.getNamespace()));
+            }
+        }
+
+        for (Entry entry : otherSuppressions) {
+            if (match != null && entry.position > match.position) {
+                break;
+            } else if (entry.suppression.test(event)) {
+                match = entry;
+                break;
+            }
+        }
+
+        return match == null ? Optional.empty() : Optional.of(match.suppression);
+    }
+
+    private static Entry first(Entry a, Entry b) {
+        if (a == null) {
+            return b;
+        } else if (b == null) {
+            return a;
+        } else {
+            return a.position < b.position ? a : b;
+        }
+    }
+
+    private static final class Entry {
+        private final int position;
+        private final Suppression suppression;
+
+        Entry(int position, Suppression suppression) {
+            this.position = position;
+            this.suppression = suppression;
+        }
+    }
+}
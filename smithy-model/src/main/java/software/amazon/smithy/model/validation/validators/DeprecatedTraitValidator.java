@@ -18,6 +18,7 @@ package software.amazon.smithy.model.validation.validators;
 import static java.lang.String.format;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 import software.amazon.smithy.model.Model;
@@ -25,12 +26,18 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.DeprecatedTrait;
 import software.amazon.smithy.model.traits.TraitDefinition;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
  * Emits a validation event if a model contains shapes that are bound to deprecated traits.
  */
 public final class DeprecatedTraitValidator extends AbstractValidator {
+    @Override
+    public Set<Severity> getEmittedSeverities() {
+        return EnumSet.of(Severity.WARNING);
+    }
+
     @Override
     public List<ValidationEvent> validate(Model model) {
         List<ValidationEvent> events = new ArrayList<>();
@@ -17,7 +17,9 @@ package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
@@ -26,6 +28,7 @@ import software.amazon.smithy.model.traits.HttpQueryParamsTrait;
 import software.amazon.smithy.model.traits.HttpQueryTrait;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.ValidationUtils;
 
@@ -34,6 +37,11 @@ import software.amazon.smithy.model.validation.ValidationUtils;
  * applies the `httpQuery` trait which may result in a conflict within the query string.
  */
 public final class HttpQueryParamsTraitValidator extends AbstractValidator {
+    @Override
+    public Set<Severity> getEmittedSeverities() {
+        return EnumSet.of(Severity.NOTE);
+    }
+
     @Override
     public List<ValidationEvent> validate(Model model) {
         if (!model.isTraitApplied(HttpQueryParamsTrait.class)) {
@@ -61,16 +61,24 @@ public final class HttpUriConflictValidator extends AbstractValidator {
     }
 
     private List<ValidationEvent> validateService(Model model, ServiceShape service) {
+        // Operations are grouped by HTTP method and indexed by the segments
+        // of their URIs so that only operations that can conflict are compared.
         List<OperationShape> operations = new ArrayList<>();
+        Map<String, UriTrie> tries = new HashMap<>();
         for (OperationShape operation : TopDownIndex.of(model).getContainedOperations(service)) {
             if (operation.hasTrait(HttpTrait.class)) {
+                HttpTrait httpTrait = operation.expectTrait(HttpTrait.class);
                 operations.add(operation);
+                tries.computeIfAbsent(httpTrait.getMethod(), method -> new UriTrie()).add(operation, httpTrait);
             }
         }
 
         List<ValidationEvent> events = new ArrayList<>();
         for (OperationShape operation : operations) {
-            events.addAll(checkConflicts(model, operation, operation.expectTrait(HttpTrait.class), operations));
+            HttpTrait httpTrait = operation.expectTrait(HttpTrait.class);
+            List<Pair<OperationShape, HttpTrait>> candidates = new ArrayList<>();
+            tries.get(httpTrait.getMethod()).findCandidates(httpTrait.getUri(), candidates);
+            events.addAll(checkConflicts(model, operation, httpTrait, candidates));
         }
 
         return events;
@@ -80,27 +88,25 @@ public final class HttpUriConflictValidator extends AbstractValidator {
             Model model,
             OperationShape operation,
             HttpTrait httpTrait,
-            List<OperationShape> operations
+            List<Pair<OperationShape, HttpTrait>> candidates
     ) {
-        String method = httpTrait.getMethod();
         UriPattern pattern = httpTrait.getUri();
 
         // Some conflicts are potentially allowable, so we split them up into to lists.
         List<Pair<ShapeId, UriPattern>> conflicts = new ArrayList<>();
         List<Pair<ShapeId, UriPattern>> allowableConflicts = new ArrayList<>();
 
-        for (OperationShape other : operations) {
-            if (other != operation && other.hasTrait(HttpTrait.class)) {
-                HttpTrait otherHttpTrait = other.expectTrait(HttpTrait.class);
-                if (otherHttpTrait.getMethod().equals(method)
-                        && otherHttpTrait.getUri().conflictsWith(pattern)
-                        && endpointConflicts(model, operation, other)) {
-                    // Now that we know we have a conflict, determine whether it is allowable or not.
-                    if (isAllowableConflict(model, operation, other)) {
-                        allowableConflicts.add(Pair.of(other.getId(), otherHttpTrait.getUri()));
-                    } else {
-                        conflicts.add(Pair.of(other.getId(), otherHttpTrait.getUri()));
-                    }
+        for (Pair<OperationShape, HttpTrait> candidate : candidates) {
+            OperationShape other = candidate.getLeft();
+            HttpTrait otherHttpTrait = candidate.getRight();
+            if (other != operation
+                    && otherHttpTrait.getUri().conflictsWith(pattern)
+                    && endpointConflicts(model, operation, other)) {
+                // Now that we know we have a conflict, determine whether it is allowable or not.
+                if (isAllowableConflict(model, operation, other)) {
+                    allowableConflicts.add(Pair.of(other.getId(), otherHttpTrait.getUri()));
+                } else {
+                    conflicts.add(Pair.of(other.getId(), otherHttpTrait.getUri()));
                 }
             }
         }
@@ -224,4 +230,85 @@ public final class HttpUriConflictValidator extends AbstractValidator {
                 "Operation URI, `%s`, conflicts with other operation URIs in the same service: [%s]",
                 pattern, conflictString);
     }
+
+    /**
+     * A trie of the URI segments of operations that use the same HTTP method.
+     *
+     * <p>Literal segments, labels, and greedy labels each have their own
+     * branches. Two URIs conflict if a label or greedy label is found at
+     * the same position as a segment of another kind before their literal
+     * segments differ, or if their segments are all of the same kind, their
+     * literal segments are equal, and their query string literals are equal.
+     */
+    private static final class UriTrie {
+        private final Map<String, UriTrie> literals = new HashMap<>();
+        private UriTrie label;
+        private UriTrie greedyLabel;
+        private final List<Pair<OperationShape, HttpTrait>> operations = new ArrayList<>();
+
+        void add(OperationShape operation, HttpTrait httpTrait) {
+            UriTrie node = this;
+            for (Segment segment : httpTrait.getUri().getSegments()) {
+                if (segment.isGreedyLabel()) {
+                    if (node.greedyLabel == null) {
+                        node.greedyLabel = new UriTrie();
+                    }
+                    node = node.greedyLabel;
+                } else if (segment.isLabel()) {
+                    if (node.label == null) {
+                        node.label = new UriTrie();
+                    }
+                    node = node.label;
+                } else {
+                    node = node.literals.computeIfAbsent(segment.getContent(), content -> new UriTrie());
+                }
+            }
+            node.operations.add(Pair.of(operation, httpTrait));
+        }
+
+        void findCandidates(UriPattern pattern, List<Pair<OperationShape, HttpTrait>> result) {
+            UriTrie node = this;
+            for (Segment segment : pattern.getSegments()) {
+                // Every URI that has a segment of a different kind at this
+                // position conflicts, regardless of the segments that follow.
+                if (segment.isGreedyLabel()) {
+                    addLiterals(node, result);
+                    addAll(node.label, result);
+                    node = node.greedyLabel;
+                } else if (segment.isLabel()) {
+                    addLiterals(node, result);
+                    addAll(node.greedyLabel, result);
+                    node = node.label;
+                } else {
+                    addAll(node.label, result);
+                    addAll(node.greedyLabel, result);
+                    node = node.literals.get(segment.getContent());
+                }
+                if (node == null) {
+                    return;
+                }
+            }
+
+            for (Pair<OperationShape, HttpTrait> operation : node.operations) {
+                if (operation.getRight().getUri().getQueryLiterals().equals(pattern.getQueryLiterals())) {
+                    result.add(operation);
+                }
+            }
+        }
+
+        private static void addLiterals(UriTrie node, List<Pair<OperationShape, HttpTrait>> result) {
+            for (UriTrie literal : node.literals.values()) {
+                addAll(literal, result);
+            }
+        }
+
+        private static void addAll(UriTrie node, List<Pair<OperationShape, HttpTrait>> result) {
+            if (node != null) {
+                result.addAll(node.operations);
+                addLiterals(node, result);
+                addAll(node.label, result);
+                addAll(node.greedyLabel, result);
+            }
+        }
+    }
 }
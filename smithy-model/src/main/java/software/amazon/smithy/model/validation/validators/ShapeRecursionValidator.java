@@ -15,21 +15,16 @@
 
 package software.amazon.smithy.model.validation.validators;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
 import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.shapes.ListShape;
+import software.amazon.smithy.model.shapes.CollectionShape;
 import software.amazon.smithy.model.shapes.MapShape;
 import software.amazon.smithy.model.shapes.MemberShape;
-import software.amazon.smithy.model.shapes.SetShape;
 import software.amazon.smithy.model.shapes.Shape;
-import software.amazon.smithy.model.shapes.ShapeId;
-import software.amazon.smithy.model.shapes.ShapeVisitor;
 import software.amazon.smithy.model.validation.AbstractValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
@@ -47,82 +42,106 @@ public final class ShapeRecursionValidator extends AbstractValidator {
 
     @Override
     public List<ValidationEvent> validate(Model model) {
-        return model.shapes()
-                .map(shape -> validateShape(model, shape))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-    }
-
-    private ValidationEvent validateShape(Model model, Shape shape) {
-        return new RecursiveNeighborVisitor(model, shape).visit(shape);
-    }
-
-    private final class RecursiveNeighborVisitor extends ShapeVisitor.Default<ValidationEvent> {
-
-        private final Model model;
-        private final Shape root;
-        private final Set<ShapeId> visited = new HashSet<>();
-        private final Deque<String> context = new ArrayDeque<>();
-
-        RecursiveNeighborVisitor(Model model, Shape root) {
-            this.root = root;
-            this.model = model;
+        Map<Shape, Shape> cycleEntries = findCycleEntries(model);
+        if (cycleEntries.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        ValidationEvent visit(Shape shape) {
-            ValidationEvent event = hasShapeBeenVisited(shape);
-            return event != null ? event : shape.accept(this);
+        List<ValidationEvent> events = new ArrayList<>();
+        for (Shape shape : model.toSet()) {
+            Shape entry = cycleEntries.get(shape);
+            if (entry != null) {
+                events.add(error(entry, String.format(
+                        "Found invalid shape recursion: %s. A recursive list, set, or map shape is only valid if "
+                        + "an intermediate reference is through a union or structure.",
+                        createContext(model, shape, entry))));
+            }
         }
 
-        private ValidationEvent hasShapeBeenVisited(Shape shape) {
-            if (!visited.contains(shape.getId())) {
-                return null;
+        return events;
+    }
+
+    // List, set, and map shapes only have a single reference that can form
+    // invalid recursion, so each strongly connected component of these
+    // references is a single cycle, and the components can be found by
+    // following each chain of references once. Every shape on a chain that
+    // leads to a cycle is mapped to the first shape of the cycle it reaches,
+    // which is where the recursion is detected when starting from that shape.
+    private static Map<Shape, Shape> findCycleEntries(Model model) {
+        Map<Shape, Shape> cycleEntries = new HashMap<>();
+        // Tracks the chain each shape was found by and its position in that chain.
+        Map<Shape, Integer> chains = new HashMap<>();
+        Map<Shape, Integer> positions = new HashMap<>();
+        List<Shape> path = new ArrayList<>();
+        int chain = 0;
+
+        for (Shape shape : model.toSet()) {
+            if (chains.containsKey(shape)) {
+                continue;
             }
 
-            return error(shape, String.format(
-                    "Found invalid shape recursion: %s. A recursive list, set, or map shape is only valid if "
-                    + "an intermediate reference is through a union or structure.",
-                    String.join(" > ", context)));
-        }
+            chain++;
+            path.clear();
+            Shape current = shape;
+            MemberShape member = getRecursiveMember(current);
+            while (member != null && !chains.containsKey(current)) {
+                chains.put(current, chain);
+                positions.put(current, path.size());
+                path.add(current);
+                current = model.getShape(member.getTarget()).orElse(null);
+                member = current == null ? null : getRecursiveMember(current);
+            }
 
-        @Override
-        protected ValidationEvent getDefault(Shape shape) {
-            return null;
-        }
+            Shape entry = null;
+            int tailSize = path.size();
+            if (member != null) {
+                if (chains.get(current) == chain) {
+                    // Found a new cycle, and each shape in the cycle reaches itself first.
+                    tailSize = positions.get(current);
+                    for (int i = tailSize; i < path.size(); i++) {
+                        cycleEntries.put(path.get(i), path.get(i));
+                    }
+                    entry = current;
+                } else {
+                    // Reached a shape found by a previous chain, which may or may not lead to a cycle.
+                    entry = cycleEntries.get(current);
+                }
+            }
 
-        @Override
-        public ValidationEvent listShape(ListShape shape) {
-            return validateMember(shape, shape.getMember());
+            if (entry != null) {
+                for (int i = 0; i < tailSize; i++) {
+                    cycleEntries.put(path.get(i), entry);
+                }
+            }
         }
 
-        @Override
-        public ValidationEvent setShape(SetShape shape) {
-            return validateMember(shape, shape.getMember());
-        }
+        return cycleEntries;
+    }
 
-        @Override
-        public ValidationEvent mapShape(MapShape shape) {
-            return validateMember(shape, shape.getValue());
+    private static MemberShape getRecursiveMember(Shape shape) {
+        if (shape instanceof CollectionShape) {
+            return ((CollectionShape) shape).getMember();
+        } else if (shape instanceof MapShape) {
+            return ((MapShape) shape).getValue();
+        } else {
+            return null;
         }
+    }
 
-        private ValidationEvent validateMember(Shape container, MemberShape member) {
-            ValidationEvent event = null;
-            Shape target = model.getShape(member.getTarget()).orElse(null);
-
-            if (target != null) {
-                // Add to the visited set and the context deque before visiting,
-                // the remove from them after done visiting this shape.
-                visited.add(container.getId());
-                // Eventually, this would look like: member-id > shape-id[ > member-id > shape-id [ > [...]]
-                context.addLast(member.getId().toString());
-                context.addLast(member.getTarget().toString());
-                event = visit(target);
-                context.removeLast();
-                context.removeLast();
-                visited.remove(container.getId());
+    // Eventually, this would look like: member-id > shape-id[ > member-id > shape-id [ > [...]]
+    private static String createContext(Model model, Shape shape, Shape entry) {
+        StringBuilder context = new StringBuilder();
+        Shape current = shape;
+        boolean enteredCycle = false;
+        while (current != entry || !enteredCycle) {
+            enteredCycle |= current == entry;
+            MemberShape member = getRecursiveMember(current);
+            if (context.length() > 0) {
+                context.append(" > ");
             }
-
-            return event;
+            context.append(member.getId()).append(" > ").append(member.getTarget());
+            current = model.expectShape(member.getTarget());
         }
+        return context.toString();
     }
 }
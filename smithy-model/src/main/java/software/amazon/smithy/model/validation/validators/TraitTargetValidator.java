@@ -19,10 +19,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.regex.Pattern;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.selector.Selector;
+import software.amazon.smithy.model.selector.SelectorResultIndex;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.Trait;
@@ -75,14 +75,15 @@ public final class TraitTargetValidator extends AbstractValidator {
             Selector selector,
             List<ShapeId> traits
     ) {
-        selector.shapes(model);
-        Set<Shape> matches = selector.select(model);
+        // Selectors made of filters are checked against each shape with the
+        // trait rather than evaluated against the entire model.
+        SelectorResultIndex index = SelectorResultIndex.of(model);
 
         for (ShapeId traitId : traits) {
             // Find all shapes that have the used trait applied to it.
             for (Shape shape : model.getShapesWithTrait(traitId)) {
                 // Emit events when a shape is applied to something that didn't match the selector.
-                if (!matches.contains(shape)) {
+                if (!index.matches(selector, shape)) {
                     // Strip out newlines with successive spaces.
                     String sanitized = SANITIZE.matcher(selector.toString()).replaceAll(" ");
                     events.add(error(shape, shape.findTrait(traitId).get(), String.format(
@@ -16,41 +16,74 @@
 package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.Prelude;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.Trait;
-import software.amazon.smithy.model.validation.NodeValidationVisitor;
+import software.amazon.smithy.model.validation.CompiledNodeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.Validator;
 import software.amazon.smithy.utils.ListUtils;
 
 /**
  * Validates that trait values are valid for their trait definitions.
+ *
+ * <p>Each trait shape is compiled into a {@link CompiledNodeValidator}
+ * once, and shapes are validated in parallel in chunks that share the
+ * compiled validators. Trait values that are found to be
+ * valid are remembered so that equal values of the same trait, like
+ * documentation shared by many shapes, are only validated once. Values
+ * that aren't valid are always validated so that each emitted event
+ * refers to the source location of its own value.
  */
 public final class TraitValueValidator implements Validator {
 
     public static final String VALIDATE_PRELUDE = "__validatePrelude__";
     private static final String NAME = "TraitValue";
+    private static final int CHUNK_SIZE = 128;
 
     @Override
     public List<ValidationEvent> validate(Model model) {
-        // Create a reusable validation visitor so that the
-        // selector cache is shared for each trait.
-        NodeValidationVisitor validator = NodeValidationVisitor.builder()
-                .eventId(NAME)
-                .model(model)
-                .value(Node.nullNode())
-                .build();
+        List<Shape> shapes = new ArrayList<>(model.toSet());
+        boolean validatePrelude = model.getMetadataProperty(VALIDATE_PRELUDE).isPresent();
+        Set<TraitValue> validValues = ConcurrentHashMap.newKeySet();
+        Map<ShapeId, CompiledNodeValidator> validators = new ConcurrentHashMap<>();
+        int chunks = (shapes.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
 
+        // Events are collected in the same order as validating each shape in turn.
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> validateShapes(
+                        model,
+                        shapes.subList(chunk * CHUNK_SIZE, Math.min(shapes.size(), (chunk + 1) * CHUNK_SIZE)),
+                        validators,
+                        validValues,
+                        validatePrelude))
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    private List<ValidationEvent> validateShapes(
+            Model model,
+            List<Shape> shapes,
+            Map<ShapeId, CompiledNodeValidator> validators,
+            Set<TraitValue> validValues,
+            boolean validatePrelude
+    ) {
         List<ValidationEvent> events = new ArrayList<>();
-        boolean validatePrelude = model.getMetadataProperty(VALIDATE_PRELUDE).isPresent();
-        for (Shape shape : model.toSet()) {
+        for (Shape shape : shapes) {
             for (Trait trait : shape.getAllTraits().values()) {
-                events.addAll(validateTrait(model, validator, shape, trait, validatePrelude));
+                events.addAll(validateTrait(model, validators, shape, trait, validValues, validatePrelude));
             }
         }
 
@@ -59,9 +92,10 @@ public final class TraitValueValidator implements Validator {
 
     private List<ValidationEvent> validateTrait(
             Model model,
-            NodeValidationVisitor validator,
+            Map<ShapeId, CompiledNodeValidator> validators,
             Shape targetShape,
             Trait trait,
+            Set<TraitValue> validValues,
             boolean validatePrelude
     ) {
         ShapeId shape = trait.toShapeId();
@@ -78,9 +112,52 @@ public final class TraitValueValidator implements Validator {
             return ListUtils.of();
         }
 
-        validator.setValue(trait.toNode());
-        validator.setEventShapeId(targetShape.getId());
-        validator.setStartingContext("Error validating trait `" + Trait.getIdiomaticTraitName(trait) + "`");
-        return model.getShape(shape).get().accept(validator);
+        Node value = trait.toNode();
+        TraitValue key = new TraitValue(shape, value);
+        if (validValues.contains(key)) {
+            return Collections.emptyList();
+        }
+
+        CompiledNodeValidator validator = validators.computeIfAbsent(shape, id -> CompiledNodeValidator.builder()
+                .eventId(NAME)
+                .model(model)
+                .shape(model.expectShape(id))
+                .build());
+        List<ValidationEvent> events = validator.validate(
+                value,
+                targetShape.getId(),
+                "Error validating trait `" + Trait.getIdiomaticTraitName(trait) + "`");
+        if (events.isEmpty()) {
+            validValues.add(key);
+        }
+        return events;
+    }
+
+    // Node equality ignores source locations, so a value only identifies
+    // the result of validation when no events were emitted.
+    private static final class TraitValue {
+        private final ShapeId trait;
+        private final Node value;
+        private final int hash;
+
+        TraitValue(ShapeId trait, Node value) {
+            this.trait = trait;
+            this.value = value;
+            hash = Objects.hash(trait, value);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof TraitValue)) {
+                return false;
+            }
+            TraitValue otherValue = (TraitValue) other;
+            return trait.equals(otherValue.trait) && value.equals(otherValue.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
     }
 }
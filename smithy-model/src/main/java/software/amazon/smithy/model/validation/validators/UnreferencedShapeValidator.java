@@ -17,11 +17,14 @@ package software.amazon.smithy.model.validation.validators;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.neighbor.UnreferencedShapes;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.validation.AbstractValidator;
+import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidationEvent;
 
 /**
@@ -29,6 +32,11 @@ import software.amazon.smithy.model.validation.ValidationEvent;
  * connected to a service shape.
  */
 public final class UnreferencedShapeValidator extends AbstractValidator {
+    @Override
+    public Set<Severity> getEmittedSeverities() {
+        return EnumSet.of(Severity.NOTE);
+    }
+
     @Override
     public List<ValidationEvent> validate(Model model) {
         // Do not emit validation warnings if no services are present in the model.
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.loader;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Writes the prelude snapshot when building Smithy.
+ *
+ * <p>This is only used by the build and isn't included in the JAR.
+ *
+ * @see PreludeSnapshot
+ */
+public final class PreludeSnapshotGenerator {
+
+    private PreludeSnapshotGenerator() {}
+
+    /**
+     * Writes the prelude snapshot to the directory given as the only argument.
+     *
+     * @param args Command line arguments.
+     * @throws IOException if the snapshot can't be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Expected the output directory as the only argument");
+        }
+
+        PreludeSnapshot.write(Paths.get(args[0]));
+    }
+}
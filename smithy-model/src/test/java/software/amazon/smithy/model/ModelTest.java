@@ -22,14 +22,22 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -38,6 +46,8 @@ import software.amazon.smithy.model.knowledge.KnowledgeIndex;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.node.ExpectationNotMetException;
 import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.selector.Selector;
+import software.amazon.smithy.model.selector.SelectorParallelism;
 import software.amazon.smithy.model.shapes.IntegerShape;
 import software.amazon.smithy.model.shapes.ListShape;
 import software.amazon.smithy.model.shapes.Shape;
@@ -46,6 +56,7 @@ import software.amazon.smithy.model.shapes.StringShape;
 import software.amazon.smithy.model.shapes.TimestampShape;
 import software.amazon.smithy.model.traits.TraitDefinition;
 import software.amazon.smithy.model.traits.synthetic.OriginalShapeIdTrait;
+import software.amazon.smithy.utils.ListUtils;
 
 public class ModelTest {
 
@@ -188,6 +199,23 @@ public class ModelTest {
         assertNotEquals(modelA.hashCode(), modelB.hashCode());
     }
 
+    @Test
+    public void changesToDerivedModelsDoNotAffectOriginalModel() {
+        StringShape a = StringShape.builder().id("ns.foo#a").build();
+        StringShape b = StringShape.builder().id("ns.foo#b").build();
+        StringShape c = StringShape.builder().id("ns.foo#c").build();
+        Model model = Model.builder().addShapes(a, b).build();
+        Model.Builder builder = model.toBuilder().removeShape(a.getId()).addShape(c);
+        Model derived = builder.build();
+        Model derivedAgain = builder.addShape(a).build();
+
+        assertThat(model.toSet(), containsInAnyOrder(a, b));
+        assertThat(derived.toSet(), containsInAnyOrder(b, c));
+        assertThat(derivedAgain.toSet(), containsInAnyOrder(a, b, c));
+        assertEquals(model, model.toBuilder().build());
+        assertEquals(model, derived.toBuilder().removeShape(c.getId()).addShape(a).build());
+    }
+
     @Test
     public void computesHashCode() {
         StringShape a = StringShape.builder().id("ns.foo#a").build();
@@ -266,6 +294,108 @@ public class ModelTest {
         model.getKnowledge(FooFooFoo.class, FooFooFoo::new);
     }
 
+    @Test
+    public void computesKnowledgeIndexOnceWhenRequestedConcurrently() throws Exception {
+        Model model = Model.builder().build();
+        AtomicInteger computed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<Qux>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> model.getKnowledge(Qux.class, m -> {
+                    computed.incrementAndGet();
+                    return new Qux(m);
+                })));
+            }
+            Set<Qux> indexes = new HashSet<>();
+            for (Future<Qux> result : results) {
+                indexes.add(result.get());
+            }
+
+            assertThat(computed.get(), equalTo(1));
+            assertThat(indexes, hasSize(1));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void doesNotCacheFailedKnowledgeIndexes() {
+        Model model = Model.builder().build();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> model.getKnowledge(Qux.class, m -> {
+            throw new IllegalArgumentException();
+        }));
+        Qux index = model.getKnowledge(Qux.class, Qux::new);
+
+        assertThat(model.getKnowledge(Qux.class, Qux::new), sameInstance(index));
+    }
+
+    @Test
+    public void failsWhenKnowledgeIndexRequiresItself() {
+        Model model = Model.builder().build();
+
+        Assertions.assertThrows(IllegalStateException.class, () -> model.getKnowledge(Qux.class, m -> {
+            return m.getKnowledge(Qux.class, Qux::new);
+        }));
+    }
+
+    @Test
+    public void keepsKnowledgeIndexWhenRecursionIsDetected() {
+        Model model = Model.builder().build();
+        AtomicInteger computed = new AtomicInteger();
+
+        Qux index = model.getKnowledge(Qux.class, m -> {
+            computed.incrementAndGet();
+            Assertions.assertThrows(IllegalStateException.class, () -> m.getKnowledge(Qux.class, Qux::new));
+            return new Qux(m);
+        });
+
+        assertThat(model.getKnowledge(Qux.class, Qux::new), sameInstance(index));
+        assertThat(computed.get(), equalTo(1));
+    }
+
+    @Test
+    public void evaluatesSelectorsSequentiallyWhileComputingKnowledge() {
+        Model model = Model.builder()
+                .addShape(StringShape.builder().id("smithy.example#A").build())
+                .addShape(StringShape.builder().id("smithy.example#B").build())
+                .build();
+        ForkJoinPool pool = new ForkJoinPool(2);
+        Selector selector = Selector.parse("string")
+                .withParallelism(SelectorParallelism.threshold(1).withPool(pool));
+
+        try {
+            model.getKnowledge(Qux.class, m -> {
+                assertTrue(Model.isComputingKnowledge());
+                assertThat(selector.select(m), hasSize(2));
+                return new Qux(m);
+            });
+
+            assertFalse(Model.isComputingKnowledge());
+            assertThat(pool.getPoolSize(), equalTo(0));
+            assertThat(selector.select(model), hasSize(2));
+            assertThat(pool.getPoolSize(), not(equalTo(0)));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void precomputesKnowledge() {
+        Model model = Model.builder().build();
+        model.precomputeKnowledge(ListUtils.of(TopDownIndex::of, HttpBindingIndex::of));
+        AtomicInteger computed = new AtomicInteger();
+
+        model.getKnowledge(TopDownIndex.class, m -> {
+            computed.incrementAndGet();
+            return new TopDownIndex(m);
+        });
+
+        assertThat(computed.get(), equalTo(0));
+    }
+
     private static final class FooFooFoo implements KnowledgeIndex {
         public FooFooFoo(Model model) {
             model.getKnowledge(Baz.class, Baz::new);
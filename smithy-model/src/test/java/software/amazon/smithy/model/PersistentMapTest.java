@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class PersistentMapTest {
+    @Test
+    public void behavesLikeHashMap() {
+        Random random = new Random(0);
+        Map<Key, Integer> expected = new HashMap<>();
+        PersistentMap.Builder<Key, Integer> builder = PersistentMap.<Key, Integer>empty().toBuilder();
+
+        for (int i = 0; i < 20000; i++) {
+            // Use few distinct hashes so that keys collide.
+            int id = random.nextInt(2000);
+            Key key = new Key(id, id % 100);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                builder.remove(key);
+            } else {
+                expected.put(key, i);
+                builder.put(key, i);
+            }
+        }
+        PersistentMap<Key, Integer> map = builder.build();
+
+        assertThat(map, equalTo(expected));
+        assertThat(expected, equalTo(map));
+        assertThat(map.hashCode(), equalTo(expected.hashCode()));
+        assertThat(map.keySet(), equalTo(expected.keySet()));
+        assertThat(map.size(), equalTo(expected.size()));
+        for (Map.Entry<Key, Integer> entry : expected.entrySet()) {
+            assertThat(map.get(entry.getKey()), equalTo(entry.getValue()));
+        }
+    }
+
+    @Test
+    public void builtMapsAreNotChangedByBuilder() {
+        PersistentMap.Builder<Key, Integer> builder = PersistentMap.<Key, Integer>empty().toBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.put(new Key(i, i), i);
+        }
+        PersistentMap<Key, Integer> original = builder.build();
+        Map<Key, Integer> copy = new HashMap<>(original);
+
+        builder.remove(new Key(1, 1));
+        builder.put(new Key(2, 2), -1);
+        builder.put(new Key(1000, 1000), 1000);
+        PersistentMap<Key, Integer> updated = builder.build();
+
+        assertThat(original, equalTo(copy));
+        assertThat(updated.get(new Key(1, 1)), nullValue());
+        assertThat(updated.get(new Key(2, 2)), equalTo(-1));
+        assertThat(updated.get(new Key(1000, 1000)), equalTo(1000));
+        assertThat(updated.size(), equalTo(1000));
+    }
+
+    @Test
+    public void reusesMapWhenUnchanged() {
+        PersistentMap.Builder<Key, Integer> builder = PersistentMap.<Key, Integer>empty().toBuilder();
+        builder.put(new Key(1, 1), 1);
+        PersistentMap<Key, Integer> map = builder.build();
+
+        assertThat(map.toBuilder().build(), sameInstance(map));
+        assertThat(builder.build(), sameInstance(map));
+    }
+
+    @Test
+    public void isImmutable() {
+        PersistentMap<Key, Integer> map = PersistentMap.empty();
+
+        assertThrows(UnsupportedOperationException.class, () -> map.put(new Key(1, 1), 1));
+    }
+
+    private static final class Key {
+        private final int id;
+        private final int hash;
+
+        Key(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && ((Key) other).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
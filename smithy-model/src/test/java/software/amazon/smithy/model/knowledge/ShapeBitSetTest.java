@@ -0,0 +1,120 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.StringShape;
+
+public class ShapeBitSetTest {
+    @Test
+    public void addsAndRemovesShapes() {
+        Model model = Model.assembler().assemble().unwrap();
+        List<Shape> shapes = new ArrayList<>(model.toSet());
+        ShapeBitSet set = new ShapeBitSet(model);
+
+        assertThat(set.add(shapes.get(0)), is(true));
+        assertThat(set.add(shapes.get(0)), is(false));
+        assertThat(set.add(shapes.get(70)), is(true));
+        assertThat(set.size(), equalTo(2));
+        assertThat(set.contains(shapes.get(0)), is(true));
+        assertThat(set.contains(shapes.get(1)), is(false));
+        assertThat(set.contains("foo"), is(false));
+        assertThat(set, equalTo(new HashSet<>(Arrays.asList(shapes.get(0), shapes.get(70)))));
+
+        assertThat(set.remove(shapes.get(0)), is(true));
+        assertThat(set.remove(shapes.get(0)), is(false));
+        assertThat(set, contains(shapes.get(70)));
+
+        set.clear();
+        assertThat(set, empty());
+    }
+
+    @Test
+    public void onlyAcceptsShapesOfTheModel() {
+        Model model = Model.assembler().assemble().unwrap();
+        ShapeBitSet set = new ShapeBitSet(model);
+        StringShape other = StringShape.builder().id("smithy.example#Other").build();
+
+        assertThrows(IllegalArgumentException.class, () -> set.add(other));
+        assertThat(set.contains(other), is(false));
+        assertThat(set.remove(other), is(false));
+    }
+
+    @Test
+    public void iteratesInOrdinalOrder() {
+        Model model = Model.assembler().assemble().unwrap();
+        ShapeOrdinalIndex ordinals = ShapeOrdinalIndex.of(model);
+        ShapeBitSet set = new ShapeBitSet(ordinals);
+        set.add(ordinals.getShape(130));
+        set.add(ordinals.getShape(3));
+        set.addOrdinal(64);
+
+        assertThat(set, contains(ordinals.getShape(3), ordinals.getShape(64), ordinals.getShape(130)));
+        assertThat(set.nextOrdinal(0), equalTo(3));
+        assertThat(set.nextOrdinal(4), equalTo(64));
+        assertThat(set.nextOrdinal(65), equalTo(130));
+        assertThat(set.nextOrdinal(131), equalTo(-1));
+    }
+
+    @Test
+    public void removesShapesWhileIterating() {
+        Model model = Model.assembler().assemble().unwrap();
+        ShapeOrdinalIndex ordinals = ShapeOrdinalIndex.of(model);
+        ShapeBitSet set = new ShapeBitSet(ordinals);
+        set.addOrdinal(1);
+        set.addOrdinal(2);
+        set.addOrdinal(100);
+
+        Iterator<Shape> iterator = set.iterator();
+        iterator.next();
+        iterator.next();
+        iterator.remove();
+
+        assertThat(set, contains(ordinals.getShape(1), ordinals.getShape(100)));
+        assertThat(set.containsOrdinal(2), is(false));
+    }
+
+    @Test
+    public void addsAllShapesOfOtherSets() {
+        Model model = Model.assembler().assemble().unwrap();
+        ShapeOrdinalIndex ordinals = ShapeOrdinalIndex.of(model);
+        ShapeBitSet a = new ShapeBitSet(ordinals);
+        ShapeBitSet b = new ShapeBitSet(ordinals);
+        a.addOrdinal(1);
+        a.addOrdinal(2);
+        b.addOrdinal(2);
+        b.addOrdinal(80);
+
+        assertThat(a.addAll(b), is(true));
+        assertThat(a.addAll(b), is(false));
+        assertThat(a.size(), equalTo(3));
+        assertThat(a, contains(ordinals.getShape(1), ordinals.getShape(2), ordinals.getShape(80)));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.traits.SensitiveTrait;
+
+public class ShapeOrdinalIndexTest {
+    @Test
+    public void assignsDenseOrdinalsToEveryShape() {
+        Model model = Model.assembler().assemble().unwrap();
+        ShapeOrdinalIndex index = ShapeOrdinalIndex.of(model);
+        Set<Integer> ordinals = new HashSet<>();
+
+        assertThat(index.size(), equalTo(model.toSet().size()));
+        for (Shape shape : model.toSet()) {
+            int ordinal = index.getOrdinal(shape);
+            ordinals.add(ordinal);
+            assertThat(index.getOrdinal(shape.getId()), equalTo(ordinal));
+            assertThat(index.getShape(ordinal), sameInstance(shape));
+        }
+        assertThat(ordinals.size(), equalTo(index.size()));
+    }
+
+    @Test
+    public void returnsNegativeOneForShapesNotInModel() {
+        StringShape a = StringShape.builder().id("smithy.example#A").build();
+        Model model = Model.builder().addShape(a).build();
+        ShapeOrdinalIndex index = ShapeOrdinalIndex.of(model);
+
+        assertThat(index.getOrdinal(ShapeId.from("smithy.example#B")), equalTo(-1));
+        assertThat(index.getOrdinal(StringShape.builder().id("smithy.example#B").build()), equalTo(-1));
+    }
+
+    @Test
+    public void requiresShapesToBeEqualToShapesInModel() {
+        StringShape a = StringShape.builder().id("smithy.example#A").build();
+        StringShape changed = a.toBuilder().addTrait(new SensitiveTrait()).build();
+        Model model = Model.builder().addShape(a).build();
+        ShapeOrdinalIndex index = ShapeOrdinalIndex.of(model);
+
+        assertThat(index.getOrdinal(changed.getId()), equalTo(0));
+        assertThat(index.getOrdinal(changed), equalTo(-1));
+        assertThat(index.getOrdinal(a.toBuilder().build()), equalTo(0));
+    }
+}
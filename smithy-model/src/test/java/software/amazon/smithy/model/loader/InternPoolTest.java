@@ -0,0 +1,63 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.loader;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeIdSyntaxException;
+
+public class InternPoolTest {
+    @Test
+    public void internsStrings() {
+        InternPool pool = new InternPool();
+        String value = pool.intern(new String("foo"));
+
+        assertThat(pool.intern(new String("foo")), sameInstance(value));
+    }
+
+    @Test
+    public void poolsShapeIds() {
+        InternPool pool = new InternPool();
+        ShapeId id = pool.shapeId("smithy.example#Foo$bar");
+
+        assertThat(id, equalTo(ShapeId.from("smithy.example#Foo$bar")));
+        assertThat(pool.shapeId("smithy.example#Foo$bar"), sameInstance(id));
+    }
+
+    @Test
+    public void sharesShapeIdParts() {
+        InternPool pool = new InternPool();
+        ShapeId a = pool.shapeId("smithy.example#A$foo");
+        ShapeId b = pool.shapeId("smithy.example#B$foo");
+
+        assertThat(a.getNamespace(), sameInstance(b.getNamespace()));
+        assertThat(a.getMember().get(), sameInstance(b.getMember().get()));
+        assertThat(a.getNamespace(), sameInstance(pool.intern("smithy.example")));
+    }
+
+    @Test
+    public void validatesShapeIds() {
+        InternPool pool = new InternPool();
+
+        assertThrows(ShapeIdSyntaxException.class, () -> pool.shapeId("Foo"));
+        assertThrows(ShapeIdSyntaxException.class, () -> pool.shapeId("smithy.example#1Foo"));
+    }
+}
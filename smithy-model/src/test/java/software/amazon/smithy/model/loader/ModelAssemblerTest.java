@@ -26,6 +26,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -33,6 +34,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystemException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -44,16 +46,22 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.SourceException;
 import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.ShapeType;
@@ -62,6 +70,7 @@ import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.DeprecatedTrait;
 import software.amazon.smithy.model.traits.DocumentationTrait;
 import software.amazon.smithy.model.traits.DynamicTrait;
+import software.amazon.smithy.model.traits.HttpTrait;
 import software.amazon.smithy.model.traits.MediaTypeTrait;
 import software.amazon.smithy.model.traits.SensitiveTrait;
 import software.amazon.smithy.model.traits.SuppressTrait;
@@ -137,6 +146,31 @@ public class ModelAssemblerTest {
         assertTrue(result.unwrap().getShape(ShapeId.from("ns.foo#String")).isPresent());
     }
 
+    @Test
+    public void loadsJsonDocumentsThatDefineShapesBeforeVersion() {
+        String document = "{\"shapes\": {\"ns.foo#String\": {\"type\": \"string\"}}, \"smithy\": \""
+                          + Model.MODEL_VERSION + "\"}";
+        ValidatedResult<Model> result = new ModelAssembler()
+                .addUnparsedModel("foo.json", document)
+                .assemble();
+
+        assertThat(result.getValidationEvents(), empty());
+        assertThat(result.unwrap().expectShape(ShapeId.from("ns.foo#String")).getSourceLocation(),
+                   equalTo(new SourceLocation("foo.json", 1, 30)));
+    }
+
+    @Test
+    public void reportsUnsupportedVersionBeforeInvalidShapesInJsonDocuments() {
+        String document = "{\"shapes\": {\"ns.foo#String\": []}, \"smithy\": \"99.0\"}";
+        ValidatedResult<Model> result = new ModelAssembler()
+                .addUnparsedModel("foo.json", document)
+                .assemble();
+
+        assertThat(result.getValidationEvents(), hasSize(1));
+        assertThat(result.getValidationEvents().get(0).getMessage(),
+                   containsString("Unsupported Smithy version number: 99.0"));
+    }
+
     @Test
     public void addsExplicitValidators() {
         ValidationEvent event = ValidationEvent.builder()
@@ -401,6 +435,359 @@ public class ModelAssemblerTest {
         assertImportPathsWereLoaded(model);
     }
 
+    @Test
+    public void parallelLoadingProducesSameModelAsSerialLoading() throws Exception {
+        ValidatedResult<Model> serial = new ModelAssembler()
+                .addImport(getClass().getResource("main.json"))
+                .addImport(Paths.get(getClass().getResource("nested").toURI()))
+                .addUnparsedModel("invalid.smithy", "namespace foo\nstring")
+                .assemble();
+        ValidatedResult<Model> parallel = new ModelAssembler()
+                .putProperty(ModelAssembler.PARALLEL_LOADING, true)
+                .addImport(getClass().getResource("main.json"))
+                .addImport(Paths.get(getClass().getResource("nested").toURI()))
+                .addUnparsedModel("invalid.smithy", "namespace foo\nstring")
+                .assemble();
+
+        assertThat(parallel.getResult(), equalTo(serial.getResult()));
+        assertThat(parallel.getValidationEvents(), equalTo(serial.getValidationEvents()));
+        assertThat(parallel.getValidationEvents(Severity.ERROR), not(empty()));
+    }
+
+    @Test
+    public void loadsModelFilesFromCache() throws Exception {
+        Model expected = new ModelAssembler()
+                .addImport(getClass().getResource("main.json"))
+                .addImport(Paths.get(getClass().getResource("nested").toURI()))
+                .assemble()
+                .unwrap();
+        Model cold = new ModelAssembler()
+                .putProperty(ModelAssembler.MODEL_CACHE_DIRECTORY, outputDirectory)
+                .addImport(getClass().getResource("main.json"))
+                .addImport(Paths.get(getClass().getResource("nested").toURI()))
+                .assemble()
+                .unwrap();
+        Model warm = new ModelAssembler()
+                .putProperty(ModelAssembler.MODEL_CACHE_DIRECTORY, outputDirectory.toString())
+                .addImport(getClass().getResource("main.json"))
+                .addImport(Paths.get(getClass().getResource("nested").toURI()))
+                .assemble()
+                .unwrap();
+
+        assertThat(Files.list(outputDirectory).count(), not(equalTo(0L)));
+        assertThat(cold, equalTo(expected));
+        assertThat(warm, equalTo(expected));
+        for (Shape shape : expected.toSet()) {
+            assertThat(warm.expectShape(shape.getId()).getSourceLocation(), equalTo(shape.getSourceLocation()));
+        }
+    }
+
+    @Test
+    public void ignoresCacheEntriesThatResolveDifferently() {
+        String model = "namespace smithy.example\nstructure Foo { bar: String }\n";
+        Model first = new ModelAssembler()
+                .putProperty(ModelAssembler.MODEL_CACHE_DIRECTORY, outputDirectory)
+                .addUnparsedModel("foo.smithy", model)
+                .assemble()
+                .unwrap();
+        Model second = new ModelAssembler()
+                .putProperty(ModelAssembler.MODEL_CACHE_DIRECTORY, outputDirectory)
+                .addUnparsedModel("foo.smithy", model)
+                .addUnparsedModel("string.smithy", "namespace smithy.example\nstring String\n")
+                .assemble()
+                .unwrap();
+
+        ShapeId member = ShapeId.from("smithy.example#Foo$bar");
+        assertThat(first.expectShape(member, MemberShape.class).getTarget(),
+                   equalTo(ShapeId.from("smithy.api#String")));
+        assertThat(second.expectShape(member, MemberShape.class).getTarget(),
+                   equalTo(ShapeId.from("smithy.example#String")));
+    }
+
+    @Test
+    public void reassemblesChangedAndRemovedFiles() throws Exception {
+        Path foo = outputDirectory.resolve("foo.smithy");
+        Path baz = outputDirectory.resolve("baz.smithy");
+        Files.write(foo, "namespace smithy.example\nstructure Foo { bar: String }\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(baz, "namespace smithy.example\nstring Baz\n".getBytes(StandardCharsets.UTF_8));
+        ModelAssembler assembler = new ModelAssembler().enableParseCache().addImport(outputDirectory);
+        Model initial = assembler.assemble().unwrap();
+
+        Files.write(baz, "namespace smithy.example\nstring String\n".getBytes(StandardCharsets.UTF_8));
+        ValidatedResult<Model> changed = assembler.reassemble(ListUtils.of(baz));
+        ValidatedResult<Model> fullChanged = new ModelAssembler().addImport(outputDirectory).assemble();
+
+        Files.delete(baz);
+        ValidatedResult<Model> removed = assembler.reassemble(ListUtils.of(baz));
+        ValidatedResult<Model> fullRemoved = new ModelAssembler().addImport(outputDirectory).assemble();
+
+        ShapeId member = ShapeId.from("smithy.example#Foo$bar");
+        assertTrue(initial.getShape(ShapeId.from("smithy.example#Baz")).isPresent());
+        assertThat(changed.getResult(), equalTo(fullChanged.getResult()));
+        assertThat(changed.unwrap().expectShape(member, MemberShape.class).getTarget(),
+                   equalTo(ShapeId.from("smithy.example#String")));
+        assertThat(removed.getResult(), equalTo(fullRemoved.getResult()));
+        assertThat(removed.getValidationEvents(), equalTo(fullRemoved.getValidationEvents()));
+        assertThat(removed.unwrap().expectShape(member, MemberShape.class).getTarget(),
+                   equalTo(ShapeId.from("smithy.api#String")));
+    }
+
+    @Test
+    public void parseCacheDetectsChangedFilesWithoutBeingTold() throws Exception {
+        Path foo = outputDirectory.resolve("foo.smithy");
+        Files.write(foo, "namespace smithy.example\nstring Foo\n".getBytes(StandardCharsets.UTF_8));
+        ModelAssembler assembler = new ModelAssembler().enableParseCache().addImport(foo);
+        Model initial = assembler.assemble().unwrap();
+
+        Files.write(foo, "namespace smithy.example\ninteger Foo\n".getBytes(StandardCharsets.UTF_8));
+        Model changed = assembler.assemble().unwrap();
+
+        assertTrue(initial.getShape(ShapeId.from("smithy.example#Foo")).get().isStringShape());
+        assertTrue(changed.getShape(ShapeId.from("smithy.example#Foo")).get().isIntegerShape());
+    }
+
+    @Test
+    public void parseCacheRetainsModelsImportedFromJars() {
+        Logger logger = Logger.getLogger(ModelFileCache.class.getName());
+        Level level = logger.getLevel();
+        List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                messages.add(record.getMessage());
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        };
+        ModelAssembler assembler = new ModelAssembler()
+                .enableParseCache()
+                .addImport(getClass().getResource("jar-import.jar"));
+        Model initial = assembler.assemble().unwrap();
+
+        try {
+            logger.setLevel(Level.FINEST);
+            logger.addHandler(handler);
+            assertThat(assembler.assemble().unwrap(), equalTo(initial));
+        } finally {
+            logger.removeHandler(handler);
+            logger.setLevel(level);
+        }
+
+        assertTrue(messages.stream()
+                .anyMatch(m -> m.startsWith("Loading jar:file:") && m.endsWith("from model cache")));
+    }
+
+    @Test
+    public void lazyTraitsProduceSameModelAsEagerTraits() throws Exception {
+        ValidatedResult<Model> eager = new ModelAssembler()
+                .addImport(getClass().getResource("main.json"))
+                .addImport(Paths.get(getClass().getResource("nested").toURI()))
+                .assemble();
+        ValidatedResult<Model> lazy = new ModelAssembler()
+                .putProperty(ModelAssembler.LAZY_TRAITS, true)
+                .addImport(getClass().getResource("main.json"))
+                .addImport(Paths.get(getClass().getResource("nested").toURI()))
+                .assemble();
+
+        assertThat(lazy.getResult(), equalTo(eager.getResult()));
+        assertThat(lazy.getValidationEvents(), equalTo(eager.getValidationEvents()));
+        assertImportPathsWereLoaded(lazy.unwrap());
+    }
+
+    @Test
+    public void reportsInvalidLazyTraits() {
+        String model = "namespace smithy.example\n@http(method: \"GET\")\noperation Foo {}\n";
+        ValidatedResult<Model> eager = new ModelAssembler()
+                .addUnparsedModel("foo.smithy", model)
+                .assemble();
+        ValidatedResult<Model> lazy = new ModelAssembler()
+                .putProperty(ModelAssembler.LAZY_TRAITS, true)
+                .addUnparsedModel("foo.smithy", model)
+                .assemble();
+
+        assertThat(lazy.getValidationEvents(), equalTo(eager.getValidationEvents()));
+        assertThat(lazy.getValidationEvents(Severity.ERROR).get(0).getMessage(),
+                   startsWith("Error creating trait `http`"));
+        assertFalse(lazy.getResult().get().expectShape(ShapeId.from("smithy.example#Foo")).hasTrait("http"));
+    }
+
+    @Test
+    public void createsLazyTraitsWhenFirstAccessedWithValidationDisabled() {
+        String model = "namespace smithy.example\n@http(method: \"GET\")\noperation Foo {}\n";
+        Model result = new ModelAssembler()
+                .putProperty(ModelAssembler.LAZY_TRAITS, true)
+                .disableValidation()
+                .addUnparsedModel("foo.smithy", model)
+                .assemble()
+                .unwrap();
+        Shape foo = result.expectShape(ShapeId.from("smithy.example#Foo"));
+
+        assertTrue(foo.hasTrait("http"));
+        Assertions.assertThrows(SourceException.class, () -> foo.getTrait(HttpTrait.class));
+    }
+
+    @Test
+    public void sharesParsedValuesAcrossModelFiles() {
+        String idl = "namespace smithy.example\nstructure A { @documentation(\"hi\")\nfoo: String }\n";
+        String json = "{\"smithy\": \"1.0\", \"shapes\": {\"smithy.example#B\": {\"type\": \"structure\", "
+                      + "\"members\": {\"foo\": {\"target\": \"smithy.api#String\", "
+                      + "\"traits\": {\"smithy.api#documentation\": \"hi\"}}}}}}";
+        Model model = new ModelAssembler()
+                .addUnparsedModel("a.smithy", idl)
+                .addUnparsedModel("b.json", json)
+                .assemble()
+                .unwrap();
+        MemberShape a = model.expectShape(ShapeId.from("smithy.example#A$foo"), MemberShape.class);
+        MemberShape b = model.expectShape(ShapeId.from("smithy.example#B$foo"), MemberShape.class);
+
+        assertThat(a.getId().getNamespace(), sameInstance(b.getId().getNamespace()));
+        assertThat(a.getMemberName(), sameInstance(b.getMemberName()));
+        assertThat(a.getTarget(), sameInstance(b.getTarget()));
+        assertThat(a.expectTrait(DocumentationTrait.class).getValue(),
+                   sameInstance(b.expectTrait(DocumentationTrait.class).getValue()));
+    }
+
+    @Test
+    public void reportsAssemblyStats() {
+        List<AssemblyStats> stats = new ArrayList<>();
+        ValidatedResult<Model> result = new ModelAssembler()
+                .addUnparsedModel("a.smithy", "namespace smithy.example\n@sensitive\nstring A\n")
+                .addUnparsedModel("b.smithy", "metadata validators = [{name: \"EmitEachSelector\", id: \"Foo\", "
+                                              + "severity: \"NOTE\", "
+                                              + "configuration: {selector: \"[id = smithy.example#A]\"}}]\n")
+                .statsListener(stats::add)
+                .assemble();
+
+        assertThat(stats, hasSize(1));
+        AssemblyStats assemblyStats = stats.get(0);
+        assertThat(assemblyStats.getFileTimes().keySet(), contains("a.smithy", "b.smithy"));
+        assertThat(assemblyStats.getPhaseTimes().keySet(), contains(AssemblyStats.Phase.values()));
+        assertThat(assemblyStats.getValidatorTimes(), hasKey("Foo"));
+        assertThat(assemblyStats.getValidatorTimes(), hasKey("Target"));
+        assertThat(assemblyStats.getValidatorTimes(), hasKey("TraitTarget"));
+        assertThat(assemblyStats.getShapeCount(), equalTo(result.unwrap().toSet().size()));
+        assertThat(assemblyStats.getTraitCount(), equalTo(result.unwrap().shapes()
+                .mapToInt(shape -> shape.getAllTraits().size())
+                .sum()));
+        assertThat(assemblyStats.getEventCount(), equalTo(result.getValidationEvents().size()));
+    }
+
+    @Test
+    public void reportsTimesOfEachBatchedSelectorValidator() {
+        List<AssemblyStats> stats = new ArrayList<>();
+        ValidatedResult<Model> result = new ModelAssembler()
+                .addUnparsedModel("a.smithy", "namespace smithy.example\nstring A\n")
+                .addUnparsedModel("b.smithy", "metadata validators = [\n"
+                                              + "{name: \"EmitEachSelector\", id: \"Foo\", severity: \"NOTE\", "
+                                              + "configuration: {selector: \"[id = smithy.example#A]\"}},\n"
+                                              + "{name: \"EmitEachSelector\", id: \"Bar\", severity: \"NOTE\", "
+                                              + "configuration: {selector: \"$a(*)\", messageTemplate: \"Hi\"}},\n"
+                                              + "{name: \"EmitEachSelector\", id: \"Unused\", severity: \"NOTE\", "
+                                              + "configuration: {selector: \"*\", "
+                                              + "bindToTrait: \"smithy.api#eventHeader\"}}]\n")
+                .statsListener(stats::add)
+                .assemble();
+
+        assertThat(result.getValidationEvents(), not(empty()));
+        assertThat(stats.get(0).getValidatorTimes(), hasKey("BatchedSelector"));
+        assertThat(stats.get(0).getValidatorTimes(), hasKey("Foo"));
+        assertThat(stats.get(0).getValidatorTimes(), hasKey("Bar"));
+        assertThat(stats.get(0).getValidatorTimes(), not(hasKey("Unused")));
+    }
+
+    @Test
+    public void reportsAssemblyStatsWhenValidationIsDisabled() {
+        List<AssemblyStats> stats = new ArrayList<>();
+        new ModelAssembler()
+                .addUnparsedModel("a.smithy", "namespace smithy.example\nstring A\n")
+                .disableValidation()
+                .statsListener(stats::add)
+                .assemble();
+
+        assertThat(stats.get(0).getPhaseTimes(), not(hasKey(AssemblyStats.Phase.VALIDATE)));
+        assertThat(stats.get(0).getValidatorTimes().entrySet(), empty());
+    }
+
+    @Test
+    public void failingFastReportsErrors() {
+        String model = "namespace smithy.example\n@deprecated\nstring A\nstructure B { a: A }\n";
+        Validator failing = m -> ListUtils.of(ValidationEvent.builder()
+                .id("Failing")
+                .severity(Severity.ERROR)
+                .message("failed")
+                .build());
+        ValidatedResult<Model> valid = new ModelAssembler()
+                .addUnparsedModel("a.smithy", model)
+                .assemble();
+        ValidatedResult<Model> validFailFast = new ModelAssembler()
+                .putProperty(ModelAssembler.FAIL_FAST, true)
+                .addUnparsedModel("a.smithy", model)
+                .assemble();
+        ValidatedResult<Model> invalidFailFast = new ModelAssembler()
+                .putProperty(ModelAssembler.FAIL_FAST, true)
+                .addUnparsedModel("a.smithy", model)
+                .addValidator(failing)
+                .assemble();
+
+        assertThat(validFailFast.getValidationEvents(), containsInAnyOrder(valid.getValidationEvents().toArray()));
+        assertTrue(invalidFailFast.isBroken());
+        assertThat(invalidFailFast.getValidationEvents(Severity.ERROR).get(0).getId(), equalTo("Failing"));
+    }
+
+    @Test
+    public void skipsValidatorsBelowMinimumSeverity() {
+        List<AssemblyStats> stats = new ArrayList<>();
+        ValidatedResult<Model> result = new ModelAssembler()
+                .putProperty(ModelAssembler.MINIMUM_SEVERITY, "DANGER")
+                .addUnparsedModel("a.smithy", "namespace smithy.example\n@deprecated\nstring A\n")
+                .addUnparsedModel("b.smithy", "metadata validators = [\n"
+                                              + "{name: \"EmitEachSelector\", id: \"Note\", severity: \"NOTE\", "
+                                              + "configuration: {selector: \"[id = smithy.example#A]\"}},\n"
+                                              + "{name: \"EmitEachSelector\", id: \"Danger\", "
+                                              + "configuration: {selector: \"[id = smithy.example#A]\"}}]\n")
+                .statsListener(stats::add)
+                .assemble();
+
+        assertThat(result.getValidationEvents(), hasSize(1));
+        assertThat(result.getValidationEvents().get(0).getId(), equalTo("Danger"));
+        assertThat(stats.get(0).getValidatorTimes(), hasKey("Target"));
+        assertThat(stats.get(0).getValidatorTimes(), not(hasKey("UnreferencedShape")));
+        assertThat(stats.get(0).getValidatorTimes(), not(hasKey("Note")));
+    }
+
+    @Test
+    public void reportsSuppressedEventsUsingTheirOriginalSeverity() {
+        ValidatedResult<Model> result = new ModelAssembler()
+                .putProperty(ModelAssembler.MINIMUM_SEVERITY, Severity.DANGER)
+                .addUnparsedModel("a.smithy", "namespace smithy.example\nstring A\n")
+                .addUnparsedModel("b.smithy", "metadata validators = [\n"
+                                              + "{name: \"EmitEachSelector\", id: \"Warning\", severity: \"WARNING\", "
+                                              + "configuration: {selector: \"[id = smithy.example#A]\"}},\n"
+                                              + "{name: \"EmitEachSelector\", id: \"Danger\", "
+                                              + "configuration: {selector: \"[id = smithy.example#A]\"}}]\n"
+                                              + "metadata suppressions = [\n"
+                                              + "{id: \"Warning\", namespace: \"*\"},\n"
+                                              + "{id: \"Danger\", namespace: \"*\"}]\n")
+                .assemble();
+
+        assertThat(result.getValidationEvents(), hasSize(1));
+        assertThat(result.getValidationEvents().get(0).getId(), equalTo("Danger"));
+        assertThat(result.getValidationEvents().get(0).getSeverity(), equalTo(Severity.SUPPRESSED));
+    }
+
+    @Test
+    public void validatesMinimumSeverity() {
+        ModelAssembler assembler = new ModelAssembler()
+                .putProperty(ModelAssembler.MINIMUM_SEVERITY, "SEVERE")
+                .addUnparsedModel("a.smithy", "namespace smithy.example\nstring A\n");
+
+        Assertions.assertThrows(IllegalArgumentException.class, assembler::assemble);
+    }
+
     private void assertImportPathsWereLoaded(Model model) {
         assertTrue(model.getShape(ShapeId.from("example.namespace#String"))
                            .flatMap(shape -> shape.getTrait(DocumentationTrait.class))
@@ -17,6 +17,8 @@ package software.amazon.smithy.model.loader;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.emptyCollectionOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -28,6 +30,7 @@ import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.PrivateTrait;
+import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.transform.ModelTransformer;
 import software.amazon.smithy.model.validation.validators.TraitValueValidator;
 
@@ -80,4 +83,22 @@ public class PreludeTest {
                 // If the prelude is invalid, then this will throw an exception.
                 .unwrap();
     }
+
+    @Test
+    public void snapshotLoadsSamePreludeAsParsing() {
+        Model snapshot = PreludeSnapshot.load();
+        Model parsed = Prelude.parsePrelude();
+
+        assertThat(snapshot, notNullValue());
+        assertThat(snapshot, equalTo(parsed));
+
+        for (Shape shape : parsed.toSet()) {
+            Shape loaded = snapshot.expectShape(shape.getId());
+            assertThat(loaded.getSourceLocation(), equalTo(shape.getSourceLocation()));
+            for (Trait trait : shape.getAllTraits().values()) {
+                assertThat(loaded.findTrait(trait.toShapeId()).get().getSourceLocation(),
+                           equalTo(trait.getSourceLocation()));
+            }
+        }
+    }
 }
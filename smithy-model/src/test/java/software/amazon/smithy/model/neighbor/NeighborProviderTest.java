@@ -1,13 +1,18 @@
 package software.amazon.smithy.model.neighbor;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StringShape;
 import software.amazon.smithy.model.traits.SensitiveTrait;
@@ -42,4 +47,102 @@ public class NeighborProviderTest {
 
         assertThat(relationships, empty());
     }
+
+    @Test
+    public void precomputedProviderMatchesDelegate() {
+        Model model = createModel();
+        NeighborProvider delegate = NeighborProvider.of(model);
+        NeighborProvider provider = NeighborProvider.precomputed(model, delegate);
+
+        for (Shape shape : model.toSet()) {
+            assertThat(provider.getNeighbors(shape), equalTo(delegate.getNeighbors(shape)));
+        }
+    }
+
+    @Test
+    public void precomputedProviderReturnsNothingForUnknownShapes() {
+        Model model = createModel();
+        NeighborProvider provider = NeighborProvider.precomputed(model);
+        StringShape other = StringShape.builder().id("smithy.example#Other").build();
+
+        assertThat(provider.getNeighbors(other), empty());
+    }
+
+    @Test
+    public void precomputedProviderReturnsUnmodifiableLists() {
+        Model model = createModel();
+        NeighborProvider provider = NeighborProvider.precomputed(model);
+        List<Relationship> relationships = provider.getNeighbors(model.expectShape(ShapeId.from("smithy.example#A")));
+
+        assertThrows(UnsupportedOperationException.class, () -> relationships.remove(0));
+    }
+
+    @Test
+    public void reverseProviderFindsShapesThatTargetShape() {
+        Model model = createModel();
+        Shape a = model.expectShape(ShapeId.from("smithy.example#A"));
+        Shape b = model.expectShape(ShapeId.from("smithy.example#B"));
+        Shape c = model.expectShape(ShapeId.from("smithy.example#C"));
+        NeighborProvider forward = NeighborProvider.precomputed(model);
+
+        for (NeighborProvider reverse : Arrays.asList(
+                NeighborProvider.reverse(model),
+                NeighborProvider.reverse(model, forward))) {
+            assertThat(reverse.getNeighbors(c), containsInAnyOrder(
+                    Relationship.create(model.expectShape(ShapeId.from("smithy.example#A$foo")),
+                                        RelationshipType.MEMBER_TARGET, c),
+                    Relationship.create(model.expectShape(ShapeId.from("smithy.example#B$bar")),
+                                        RelationshipType.MEMBER_TARGET, c)));
+            assertThat(reverse.getNeighbors(b), containsInAnyOrder(
+                    Relationship.create(model.expectShape(ShapeId.from("smithy.example#A$b")),
+                                        RelationshipType.MEMBER_TARGET, b),
+                    Relationship.create(model.expectShape(ShapeId.from("smithy.example#B$bar")),
+                                        RelationshipType.MEMBER_CONTAINER, b)));
+            assertThat(reverse.getNeighbors(a), containsInAnyOrder(
+                    Relationship.create(model.expectShape(ShapeId.from("smithy.example#A$foo")),
+                                        RelationshipType.MEMBER_CONTAINER, a),
+                    Relationship.create(model.expectShape(ShapeId.from("smithy.example#A$b")),
+                                        RelationshipType.MEMBER_CONTAINER, a)));
+        }
+    }
+
+    @Test
+    public void reverseProviderOnlyReturnsEqualRelationshipsOnce() {
+        Model model = createModel();
+        Shape a = model.expectShape(ShapeId.from("smithy.example#A"));
+        Shape b = model.expectShape(ShapeId.from("smithy.example#B"));
+        Relationship relationship = Relationship.create(a, RelationshipType.MEMBER_TARGET, b);
+        NeighborProvider duplicates = shape -> shape.equals(a)
+                ? Arrays.asList(relationship, relationship, relationship)
+                : Collections.emptyList();
+        NeighborProvider reverse = NeighborProvider.reverse(model, duplicates);
+
+        assertThat(reverse.getNeighbors(b), equalTo(Collections.singletonList(relationship)));
+    }
+
+    @Test
+    public void reverseProviderFindsRelationshipsThatTargetMissingShapes() {
+        Model model = createModel();
+        Shape a = model.expectShape(ShapeId.from("smithy.example#A"));
+        StringShape missing = StringShape.builder().id("smithy.example#Missing").build();
+        Relationship relationship = Relationship.createInvalid(a, RelationshipType.MEMBER_TARGET, missing.getId());
+        NeighborProvider forward = shape -> shape.equals(a)
+                ? Collections.singletonList(relationship)
+                : Collections.emptyList();
+        NeighborProvider reverse = NeighborProvider.reverse(model, forward);
+
+        assertThat(reverse.getNeighbors(missing), equalTo(Collections.singletonList(relationship)));
+        assertThat(reverse.getNeighbors(a), empty());
+    }
+
+    private Model createModel() {
+        return Model.assembler()
+                .addUnparsedModel("test.smithy", "$version: \"1.0\"\n"
+                                                 + "namespace smithy.example\n"
+                                                 + "structure A { foo: C, b: B }\n"
+                                                 + "structure B { bar: C }\n"
+                                                 + "string C\n")
+                .assemble()
+                .unwrap();
+    }
 }
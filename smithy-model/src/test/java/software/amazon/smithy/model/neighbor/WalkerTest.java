@@ -16,13 +16,18 @@
 package software.amazon.smithy.model.neighbor;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.ShapeBitSet;
 import software.amazon.smithy.model.shapes.ListShape;
 import software.amazon.smithy.model.shapes.MapShape;
 import software.amazon.smithy.model.shapes.MemberShape;
@@ -30,6 +35,7 @@ import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ResourceShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.utils.FunctionalUtils;
 
 public class WalkerTest {
 
@@ -130,4 +136,48 @@ public class WalkerTest {
 
         assertThat(shapes, containsInAnyOrder(readOperation, resource));
     }
+
+    @Test
+    public void walksShapesIntoBitSet() {
+        StringShape string = StringShape.builder().id("ns.foo#String").build();
+        MemberShape listMember = MemberShape.builder().id("ns.foo#List$member").target(string).build();
+        ListShape list = ListShape.builder().id("ns.foo#List").member(listMember).build();
+        StringShape other = StringShape.builder().id("ns.foo#Other").build();
+        Model model = Model.builder().addShapes(list, listMember, string, other).build();
+
+        // Walk using both the precomputed provider of the model and a provider that isn't precomputed.
+        for (Walker walker : Arrays.asList(new Walker(model), new Walker(model, NeighborProvider.of(model)))) {
+            ShapeBitSet connected = walker.walkShapeSet(list);
+
+            assertThat(connected, containsInAnyOrder(list, listMember, string));
+            assertThat(connected, equalTo(walker.walkShapes(list)));
+            assertThat(walker.walkShapeSet(list, rel -> false), contains(list));
+        }
+    }
+
+    @Test
+    public void doesNotWalkShapesThatWereAlreadyVisited() {
+        StringShape string = StringShape.builder().id("ns.foo#String").build();
+        MemberShape listMember = MemberShape.builder().id("ns.foo#List$member").target(string).build();
+        ListShape list = ListShape.builder().id("ns.foo#List").member(listMember).build();
+        Model model = Model.builder().addShapes(list, listMember, string).build();
+        Walker walker = new Walker(model);
+        ShapeBitSet visited = new ShapeBitSet(model);
+        visited.add(listMember);
+
+        walker.walkShapeSet(list, FunctionalUtils.alwaysTrue(), visited);
+
+        assertThat(visited, containsInAnyOrder(list, listMember));
+    }
+
+    @Test
+    public void requiresModelToWalkShapesIntoBitSet() {
+        StringShape string = StringShape.builder().id("ns.foo#String").build();
+        Model model = Model.builder().addShape(string).build();
+        Walker walker = new Walker(NeighborProvider.of(model));
+
+        assertThrows(IllegalStateException.class, () -> walker.walkShapeSet(string));
+        assertThat(walker.walkShapeSet(string, FunctionalUtils.alwaysTrue(), new ShapeBitSet(model)),
+                   contains(string));
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.selector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.utils.ListUtils;
+
+public class AttributeSelectorTest {
+
+    private static final List<String> PATHS = ListUtils.of(
+            "id", "id|namespace", "id|name", "id|member",
+            "trait|documentation", "trait|smithy.api#documentation", "trait|documentation|foo",
+            "trait|smithy.example#meta", "trait|smithy.example#meta|num", "trait|smithy.example#meta|big",
+            "trait|smithy.example#meta|dbl", "trait|smithy.example#meta|str", "trait|smithy.example#meta|flag",
+            "trait|smithy.example#meta|nested", "trait|smithy.example#meta|nested|value",
+            "trait|smithy.example#meta|nested|count", "trait|smithy.example#meta|list",
+            "trait|smithy.example#meta|missing|foo", "trait|smithy.example#anything",
+            "trait|range|min", "trait|length|max", "trait|deprecated|message", "trait|required", "trait|tags");
+
+    private static final List<List<String>> VALUES = ListUtils.of(
+            ListUtils.of("Hello"), ListUtils.of("hello"), ListUtils.of("kelvin"), ListUtils.of("n i"),
+            ListUtils.of(""), ListUtils.of("k"), ListUtils.of("i"),
+            ListUtils.of("İ"), ListUtils.of("ı"), ListUtils.of("true"), ListUtils.of("false"),
+            ListUtils.of("10"), ListUtils.of("-3"), ListUtils.of("1.5"), ListUtils.of("1e3"), ListUtils.of("12.5"),
+            ListUtils.of("9223372036854775807"), ListUtils.of("9223372036854775808"), ListUtils.of("nope"),
+            ListUtils.of("smithy.example"), ListUtils.of("B$foo"), ListUtils.of("foo", "10", "true"));
+
+    private static final List<AttributeComparator> COMPARATORS = ListUtils.of(
+            AttributeComparator.EQUALS, AttributeComparator.NOT_EQUALS, AttributeComparator.STARTS_WITH,
+            AttributeComparator.ENDS_WITH, AttributeComparator.CONTAINS, AttributeComparator.GT,
+            AttributeComparator.GTE, AttributeComparator.LT, AttributeComparator.LTE, AttributeComparator.EXISTS);
+
+    private static Model model;
+
+    @BeforeAll
+    public static void before() {
+        model = Model.assembler()
+                .addImport(AttributeSelectorTest.class.getResource("attribute-values.smithy"))
+                .assemble()
+                .unwrap();
+    }
+
+    public static List<String> paths() {
+        return PATHS;
+    }
+
+    @ParameterizedTest
+    @MethodSource("paths")
+    public void comparesAttributesLikeAttributeValues(String expression) {
+        List<String> path = Arrays.asList(expression.split("\\|"));
+        checkMatches(path, null, null, false);
+        for (AttributeComparator comparator : COMPARATORS) {
+            for (List<String> values : VALUES) {
+                checkMatches(path, comparator, values, false);
+                checkMatches(path, comparator, values, true);
+            }
+        }
+    }
+
+    private void checkMatches(List<String> path, AttributeComparator comparator, List<String> values, boolean i) {
+        AttributeSelector selector = new AttributeSelector(path, values, comparator, i);
+        Set<String> expected = new TreeSet<>();
+        Set<String> actual = new TreeSet<>();
+
+        for (Shape shape : model.toSet()) {
+            if (matchesAttributeValue(shape, path, comparator, values, i)) {
+                expected.add(shape.getId().toString());
+            }
+            selector.push(new Context(null), shape, (ctx, s) -> {
+                actual.add(s.getId().toString());
+                return true;
+            });
+        }
+
+        assertThat(path + " " + values + " " + i, actual, equalTo(expected));
+    }
+
+    private static boolean matchesAttributeValue(
+            Shape shape,
+            List<String> path,
+            AttributeComparator comparator,
+            List<String> values,
+            boolean caseInsensitive
+    ) {
+        AttributeValue lhs = AttributeValue.shape(shape, Collections.emptyMap()).getPath(path);
+        if (comparator == null) {
+            return lhs.isPresent();
+        }
+        for (String value : values) {
+            if (comparator.compare(lhs, AttributeValue.literal(value), caseInsensitive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void comparesNonAsciiStringsCaseInsensitively() {
+        assertThat(ids("[trait|smithy.example#meta|nested|value ^= 'i' i]"), containsInAnyOrder("smithy.example#A"));
+        assertThat(ids("[trait|documentation *= 'k world' i]"), containsInAnyOrder("smithy.example#A"));
+        assertThat(ids("[trait|documentation = 'ıi' i]"), containsInAnyOrder("smithy.example#C"));
+        assertThat(ids("[trait|documentation = 'ii' i]").isEmpty(), equalTo(true));
+        assertThat(ids("[trait|documentation ^= 'kelvin' i]"), containsInAnyOrder("smithy.example#E"));
+    }
+
+    @Test
+    public void comparesNumbersOfDifferentScales() {
+        assertThat(ids("[trait|smithy.example#meta|big <= 12.50]"), containsInAnyOrder("smithy.example#A"));
+        assertThat(ids("[trait|smithy.example#meta|big >= 12.5]"),
+                   containsInAnyOrder("smithy.example#A", "smithy.example#B"));
+        assertThat(ids("[trait|smithy.example#meta|nested|count > 9223372036854775806.5]"),
+                   containsInAnyOrder("smithy.example#A"));
+        assertThat(ids("[trait|smithy.example#anything <= 1000]"),
+                   containsInAnyOrder("smithy.example#C", "smithy.example#D"));
+    }
+
+    @Test
+    public void treatsNullTraitValuesAsMissing() {
+        assertThat(ids("[trait|smithy.example#anything ?= false]"), containsInAnyOrder(
+                "smithy.example#A", "smithy.example#B$foo", "smithy.example#B$bar", "smithy.example#Nested",
+                "smithy.example#Nested$value", "smithy.example#Nested$count", "smithy.example#StringList",
+                "smithy.example#StringList$member", "smithy.example#meta", "smithy.example#meta$num",
+                "smithy.example#meta$big", "smithy.example#meta$dbl", "smithy.example#meta$str",
+                "smithy.example#meta$flag", "smithy.example#meta$nested", "smithy.example#meta$list",
+                "smithy.example#anything"));
+    }
+
+    private static List<String> ids(String expression) {
+        List<String> result = new ArrayList<>();
+        for (Shape shape : Selector.parse(expression).select(model)) {
+            if (shape.getId().getNamespace().equals("smithy.example")) {
+                result.add(shape.getId().toString());
+            }
+        }
+        return result;
+    }
+}
@@ -24,9 +24,11 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.ListShape;
@@ -170,4 +172,83 @@ public class PathFinderTest {
         assertThat(paths.get(0).getStartShape(), equalTo(struct));
         assertThat(paths.get(0).getEndShape(), equalTo(struct));
     }
+
+    @Test
+    public void limitsNumberOfPaths() {
+        Model model = createRecursiveModel();
+        PathFinder finder = PathFinder.create(model);
+        List<PathFinder.Path> all = finder.search(ShapeId.from("a.b#Struct"), "string");
+        List<PathFinder.Path> limited = finder.withMaxPaths(1).search(ShapeId.from("a.b#Struct"), "string");
+
+        assertThat(all, hasSize(2));
+        assertThat(limited, contains(all.get(0)));
+    }
+
+    @Test
+    public void limitsDepthOfPaths() {
+        Model model = createRecursiveModel();
+        PathFinder finder = PathFinder.create(model);
+
+        assertThat(finder.withMaxDepth(3).search(ShapeId.from("a.b#List"), "string"), empty());
+        assertThat(finder.withMaxDepth(4).search(ShapeId.from("a.b#List"), "string"), hasSize(2));
+        assertThat(finder.withMaxDepth(2).search(ShapeId.from("a.b#List"), "structure"), hasSize(1));
+    }
+
+    @Test
+    public void iteratesPathsLazily() {
+        Model model = createRecursiveModel();
+        Iterator<PathFinder.Path> paths = PathFinder.create(model)
+                .iteratePaths(ShapeId.from("a.b#List"), "[trait|sensitive]");
+        List<PathFinder.Path> all = PathFinder.create(model).search(ShapeId.from("a.b#List"), "[trait|sensitive]");
+
+        assertThat(all, hasSize(3));
+        for (PathFinder.Path path : all) {
+            assertThat(paths.hasNext(), is(true));
+            assertThat(paths.next(), equalTo(path));
+        }
+        assertThat(paths.hasNext(), is(false));
+    }
+
+    @Test
+    public void skipsShapesThatCannotReachStartingShape() {
+        Model model = createRecursiveModel();
+        List<PathFinder.Path> result = PathFinder.create(model).search(ShapeId.from("a.b#List"), "string");
+
+        assertThat(formatPaths(result), containsInAnyOrder(
+                "[id|a.b#List] -[member]-> [id|a.b#List$member] > [id|a.b#Struct] -[member]-> [id|a.b#Struct$baz] "
+                + "> [id|a.b#String]",
+                "[id|a.b#List] -[member]-> [id|a.b#List$member] > [id|a.b#Struct] -[member]-> [id|a.b#Struct$bam] "
+                + "> [id|a.b#String]"));
+    }
+
+    @Test
+    public void requiresPositiveLimits() {
+        PathFinder finder = PathFinder.create(Model.builder().build());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> finder.withMaxPaths(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> finder.withMaxDepth(0));
+    }
+
+    private static Model createRecursiveModel() {
+        StringShape string = StringShape.builder().id("a.b#String").addTrait(new SensitiveTrait()).build();
+        MemberShape listMember = MemberShape.builder().id("a.b#List$member").target("a.b#Struct").build();
+        ListShape list = ListShape.builder().id("a.b#List").member(listMember).build();
+        MemberShape structMemberFoo = MemberShape.builder().id("a.b#Struct$foo").target(list).build();
+        MemberShape structMemberBaz = MemberShape.builder().id("a.b#Struct$baz").target(string).build();
+        MemberShape structMemberBam = MemberShape.builder().id("a.b#Struct$bam").target(string).build();
+        StructureShape struct = StructureShape.builder()
+                .id("a.b#Struct")
+                .addTrait(new SensitiveTrait())
+                .addMember(structMemberFoo)
+                .addMember(structMemberBaz)
+                .addMember(structMemberBam)
+                .build();
+        // Other is connected to String but can't be reached from Struct.
+        MemberShape otherMember = MemberShape.builder().id("a.b#Other$value").target(string).build();
+        StructureShape other = StructureShape.builder().id("a.b#Other").addMember(otherMember).build();
+        return Model.builder()
+                .addShapes(struct, structMemberFoo, structMemberBaz, structMemberBam, list, listMember, string)
+                .addShapes(other, otherMember)
+                .build();
+    }
 }
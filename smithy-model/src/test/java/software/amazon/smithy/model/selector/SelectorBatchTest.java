@@ -0,0 +1,103 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.selector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.utils.ListUtils;
+
+public class SelectorBatchTest {
+
+    private static Model model;
+    private static List<Selector> selectors;
+
+    @BeforeAll
+    public static void before() {
+        model = Model.assembler()
+                .addImport(SelectorBatchTest.class.getResource("planner.smithy"))
+                .assemble()
+                .unwrap();
+
+        selectors = new ArrayList<>();
+        for (String expression : SelectorPlannerTest.selectors()) {
+            selectors.add(Selector.parse(expression));
+        }
+        for (String expression : ListUtils.of(
+                "*",
+                "structure > member",
+                "structure > member",
+                "structure > member [trait|required]",
+                "operation -[input]-> structure > member",
+                "operation -[input]-> $input(*) > member",
+                "operation $op(*) -[input]-> structure > member :test(${op})",
+                "service ~> :is(${previous}, operation) $previous(*)",
+                ":not(structure)")) {
+            selectors.add(Selector.parse(expression));
+        }
+        selectors.add(Selector.IDENTITY);
+    }
+
+    @Test
+    public void selectsSameShapesAsEachSelector() {
+        List<Set<Shape>> result = SelectorBatch.of(selectors).select(model);
+
+        assertThat(result.size(), equalTo(selectors.size()));
+        for (int i = 0; i < selectors.size(); i++) {
+            assertThat(selectors.get(i).toString(), result.get(i), equalTo(selectors.get(i).select(model)));
+        }
+    }
+
+    @Test
+    public void consumesSameMatchesAsEachSelector() {
+        List<List<Selector.ShapeMatch>> result = new ArrayList<>();
+        for (int i = 0; i < selectors.size(); i++) {
+            result.add(new ArrayList<>());
+        }
+        SelectorBatch.of(selectors).consumeMatches(model, (match, i) -> result.get(i).add(match));
+
+        for (int i = 0; i < selectors.size(); i++) {
+            List<Selector.ShapeMatch> expected = new ArrayList<>();
+            selectors.get(i).consumeMatches(model, expected::add);
+            assertThat(selectors.get(i).toString(), result.get(i), equalTo(expected));
+            for (int j = 0; j < expected.size(); j++) {
+                assertThat(result.get(i).get(j).getShape(), equalTo(expected.get(j).getShape()));
+            }
+        }
+    }
+
+    @Test
+    public void keepsSelectorsInOrder() {
+        Selector a = Selector.parse("string");
+        Selector b = Selector.parse("list");
+
+        assertThat(SelectorBatch.of(ListUtils.of(a, b)).getSelectors(), contains(a, b));
+    }
+
+    @Test
+    public void evaluatesEmptyBatch() {
+        assertThat(SelectorBatch.of(ListUtils.of()).select(model), empty());
+    }
+}
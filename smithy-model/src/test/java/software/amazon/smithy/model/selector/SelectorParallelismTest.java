@@ -0,0 +1,143 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.selector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.traits.DocumentationTrait;
+import software.amazon.smithy.model.traits.RequiredTrait;
+import software.amazon.smithy.utils.ListUtils;
+
+public class SelectorParallelismTest {
+
+    private static final List<String> SELECTORS = ListUtils.of(
+            "structure > member",
+            "structure > member [trait|required]",
+            "$s(structure) > member :test(> string) :not([trait|documentation])",
+            ":not(member)");
+
+    private static Model model;
+    private static ForkJoinPool pool;
+    private static SelectorParallelism parallel;
+
+    @BeforeAll
+    public static void before() {
+        ShapeId string = ShapeId.from("smithy.example#String");
+        Model.Builder builder = Model.builder().addShape(StringShape.builder().id(string).build());
+        for (int i = 0; i < 1000; i++) {
+            StructureShape.Builder structure = StructureShape.builder().id("smithy.example#Struct" + i);
+            for (int j = 0; j < 3; j++) {
+                MemberShape.Builder member = MemberShape.builder()
+                        .id("smithy.example#Struct" + i + "$member" + j)
+                        .target(string);
+                if ((i + j) % 3 == 0) {
+                    member.addTrait(new RequiredTrait());
+                }
+                if ((i * j) % 7 == 0) {
+                    member.addTrait(new DocumentationTrait("docs"));
+                }
+                structure.addMember(member.build());
+            }
+            builder.addShape(structure.build());
+        }
+        model = builder.build();
+        pool = new ForkJoinPool(4);
+        parallel = SelectorParallelism.threshold(1).withPool(pool);
+    }
+
+    @AfterAll
+    public static void after() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void selectsSameShapesInParallel() {
+        for (String expression : SELECTORS) {
+            Selector sequential = Selector.parse(expression).withParallelism(SelectorParallelism.SEQUENTIAL);
+            Selector selector = Selector.parse(expression).withParallelism(parallel);
+
+            assertThat(expression, selector.select(model), equalTo(sequential.select(model)));
+        }
+    }
+
+    @Test
+    public void consumesSameMatchesInSameOrderInParallel() {
+        for (String expression : SELECTORS) {
+            Selector sequential = Selector.parse(expression).withParallelism(SelectorParallelism.SEQUENTIAL);
+            Selector selector = Selector.parse(expression).withParallelism(parallel);
+
+            assertThat(expression, consumeShapes(selector), equalTo(consumeShapes(sequential)));
+        }
+    }
+
+    @Test
+    public void evaluatesSelectorsConcurrently() {
+        Selector selector = Selector.parse("structure > member :test(> string)").withParallelism(parallel);
+        Set<Shape> expected = selector.withParallelism(SelectorParallelism.SEQUENTIAL).select(model);
+        List<ForkJoinTask<Set<Shape>>> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tasks.add(pool.submit(() -> selector.select(model)));
+        }
+
+        for (ForkJoinTask<Set<Shape>> task : tasks) {
+            assertThat(task.join(), equalTo(expected));
+        }
+    }
+
+    @Test
+    public void onlyEvaluatesInParallelAboveThreshold() {
+        SelectorParallelism policy = SelectorParallelism.threshold(100).withPool(pool);
+
+        assertThat(policy.isParallel(99), is(false));
+        assertThat(policy.isParallel(100), is(true));
+        assertThat(SelectorParallelism.SEQUENTIAL.isParallel(Integer.MAX_VALUE - 1), is(false));
+    }
+
+    @Test
+    public void requiresPositiveThreshold() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SelectorParallelism.threshold(0));
+    }
+
+    @Test
+    public void identitySelectorIgnoresPolicy() {
+        assertThat(Selector.IDENTITY.withParallelism(parallel), sameInstance(Selector.IDENTITY));
+    }
+
+    private static List<ShapeId> consumeShapes(Selector selector) {
+        List<Selector.ShapeMatch> matches = new ArrayList<>();
+        selector.consumeMatches(model, matches::add);
+        return matches.stream().map(match -> match.getShape().getId()).collect(Collectors.toList());
+    }
+}
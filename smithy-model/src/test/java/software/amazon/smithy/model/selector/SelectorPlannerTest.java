@@ -0,0 +1,137 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.selector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.utils.ListUtils;
+
+public class SelectorPlannerTest {
+
+    private static Model model;
+
+    @BeforeAll
+    public static void before() {
+        model = Model.assembler()
+                .addImport(SelectorPlannerTest.class.getResource("planner.smithy"))
+                .assemble()
+                .unwrap();
+    }
+
+    public static List<String> selectors() {
+        return ListUtils.of(
+                "[trait|http] -[input]-> structure > member [trait|httpLabel]",
+                "structure > member [trait|httpLabel]",
+                "structure > member [trait|required] :not([trait|httpLabel])",
+                "member [trait|required] < structure",
+                "structure <-[input]- operation [trait|readonly]",
+                "structure <-[input, output]- operation [trait|http|method = GET]",
+                "service -[bound]-> *",
+                "service -[bound]-> service",
+                "-[bound, operation]-> [trait|readonly]",
+                "> [trait|required]",
+                "> > [trait|httpLabel]",
+                "[trait|required] structure",
+                "structure [trait|error = client]",
+                "[trait|documentation ?= false] structure",
+                "[id|namespace = smithy.example] string",
+                "[id|namespace = smithy.example, smithy.api] list",
+                "[id = smithy.example#GetFooInput, smithy.example#Tag] > member",
+                "[id = smithy.example#Missing, 'not a shape id']",
+                "[trait|error] -[trait]-> [id = smithy.api#error]",
+                "operation -[input, output]-> structure > member :test(> list)",
+                ":is(structure, list) > member [trait|required]",
+                "$input(structure) > member [trait|httpLabel]",
+                "service $ops(~> operation) ${ops} [trait|readonly]");
+    }
+
+    // Prefixing a selector with "*" prevents it from being planned since
+    // the leading selector isn't a filter.
+    @ParameterizedTest
+    @MethodSource("selectors")
+    public void plannedSelectorsMatchUnplannedSelectors(String expression) {
+        Selector planned = Selector.parse(expression);
+        Selector unplanned = Selector.parse("* " + expression);
+
+        assertThat(planned.select(model), equalTo(unplanned.select(model)));
+        assertThat(matches(planned), equalTo(matches(unplanned)));
+    }
+
+    private static List<String> matches(Selector selector) {
+        List<String> result = new ArrayList<>();
+        selector.consumeMatches(model, match -> result.add(match.getShape().getId() + " " + match));
+        Collections.sort(result);
+        return result;
+    }
+
+    @Test
+    public void startsFromTheSmallestIndexedSet() {
+        String plan = Selector.parse("structure [trait|error]").explain(model);
+
+        assertThat(plan, containsString("Direction: forward"));
+        assertThat(plan, containsString("Start: [trait|error] (1 of "));
+    }
+
+    @Test
+    public void startsFromEveryShapeWhenNothingIsIndexed() {
+        String plan = Selector.parse("* > member").explain(model);
+
+        assertThat(plan, containsString("Start: all shapes ("));
+    }
+
+    @Test
+    public void runsCheaperFiltersFirst() {
+        String plan = Selector.parse("[trait|required] :not([trait|httpLabel]) member").explain(model);
+
+        assertThat(plan, containsString("Steps:\n  member\n  [trait|required]\n  :not([trait|httpLabel])"));
+    }
+
+    @Test
+    public void evaluatesTraversalsInReverseWhenCheaper() {
+        Selector selector = Selector.parse("structure > member [trait|httpLabel]");
+        String plan = selector.explain(model);
+        Set<String> ids = SelectorTest.ids(model, selector.toString());
+
+        assertThat(plan, containsString("Direction: reverse"));
+        assertThat(plan, containsString("Start: [trait|httpLabel] (2 of "));
+        assertThat(ids, equalTo(SelectorTest.ids(model, "* " + selector)));
+    }
+
+    @Test
+    public void doesNotEvaluateSelectorsWithVariablesInReverse() {
+        String plan = Selector.parse("$input(structure) > member [trait|httpLabel]").explain(model);
+
+        assertThat(plan, containsString("Direction: forward"));
+    }
+
+    @Test
+    public void doesNotEvaluateReverseBoundTraversalsInReverse() {
+        String plan = Selector.parse("operation <-[bound]- [trait|readonly]").explain(model);
+
+        assertThat(plan, containsString("Direction: forward"));
+    }
+}
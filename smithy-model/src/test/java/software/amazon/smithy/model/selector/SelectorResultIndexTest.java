@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.selector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StringShape;
+
+public class SelectorResultIndexTest {
+
+    private static Model model;
+
+    @BeforeAll
+    public static void before() {
+        model = Model.assembler()
+                .addImport(SelectorResultIndexTest.class.getResource("planner.smithy"))
+                .assemble()
+                .unwrap();
+    }
+
+    @Test
+    public void memoizesResultsByExpression() {
+        SelectorResultIndex index = SelectorResultIndex.of(model);
+        Set<Shape> result = index.select(Selector.parse("structure > member"));
+
+        assertThat(index.select("structure > member"), sameInstance(result));
+        assertThat(result, equalTo(Selector.parse("structure > member").select(model)));
+    }
+
+    @Test
+    public void returnsUnmodifiableResults() {
+        Set<Shape> result = SelectorResultIndex.of(model).select("string");
+
+        Assertions.assertThrows(UnsupportedOperationException.class, result::clear);
+    }
+
+    @Test
+    public void doesNotMemoizeSelectorsThatWereNotParsed() {
+        Selector custom = new Selector() {
+            @Override
+            public Stream<Shape> shapes(Model model) {
+                return model.shapes(StringShape.class).map(shape -> (Shape) shape);
+            }
+
+            @Override
+            public Stream<ShapeMatch> matches(Model model) {
+                return Selector.IDENTITY.matches(model);
+            }
+
+            @Override
+            public String toString() {
+                return "structure";
+            }
+        };
+        SelectorResultIndex index = SelectorResultIndex.of(model);
+
+        assertThat(index.select(custom), equalTo(Selector.parse("string").select(model)));
+        assertThat(index.select(custom), not(equalTo(index.select("structure"))));
+    }
+
+    @ParameterizedTest
+    @MethodSource("software.amazon.smithy.model.selector.SelectorPlannerTest#selectors")
+    public void matchesShapesThatAreSelected(String expression) {
+        SelectorResultIndex index = SelectorResultIndex.of(model);
+        Selector selector = Selector.parse(expression);
+        Set<Shape> expected = selector.select(model);
+
+        for (Shape shape : model.toSet()) {
+            assertThat(expression + " " + shape.getId(), index.matches(selector, shape), is(expected.contains(shape)));
+        }
+    }
+
+    @Test
+    public void doesNotMatchShapesOutsideOfModel() {
+        Shape shape = StringShape.builder().id(ShapeId.from("smithy.example#NotInModel")).build();
+
+        assertThat(SelectorResultIndex.of(model).matches(Selector.parse("string"), shape), is(false));
+    }
+
+    @Test
+    public void reusesParsedSelectors() {
+        assertThat(Selector.parse("structure > member :test(> string)"),
+                   sameInstance(Selector.parse("structure > member :test(> string)")));
+    }
+}
@@ -108,4 +108,31 @@ public class ScrubTraitDefinitionsTest {
         // Make sure public prelude trait definition shapes were removed.
         assertThat(result.getShape(ShapeId.from("smithy.api#length")), Matchers.is(Optional.empty()));
     }
+
+    @Test
+    public void removesLongChainsOfShapesOnlyConnectedToTraitDefinitions() {
+        StringBuilder contents = new StringBuilder("namespace ns.foo\n\n")
+                .append("@trait\nstructure chain { first: Link0, second: Link0 }\n")
+                .append("structure Keep { shared: Shared }\n");
+        for (int i = 0; i < 100; i++) {
+            contents.append("structure Link").append(i).append(" {\n")
+                    .append("    next: Link").append(i + 1).append(",\n")
+                    .append("    other: Link").append(i + 1).append(",\n")
+                    .append("    shared: Shared\n")
+                    .append("}\n");
+        }
+        contents.append("structure Link100 {}\nstring Shared\n");
+        Model model = Model.assembler()
+                .addUnparsedModel("chain.smithy", contents.toString())
+                .assemble()
+                .unwrap();
+
+        Model result = ModelTransformer.create().scrubTraitDefinitions(model);
+
+        assertThat(result.getShape(ShapeId.from("ns.foo#chain")), Matchers.is(Optional.empty()));
+        assertThat(result.getShape(ShapeId.from("ns.foo#Link0")), Matchers.is(Optional.empty()));
+        assertThat(result.getShape(ShapeId.from("ns.foo#Link100")), Matchers.is(Optional.empty()));
+        assertThat(result.getShape(ShapeId.from("ns.foo#Keep")), Matchers.not(Optional.empty()));
+        assertThat(result.getShape(ShapeId.from("ns.foo#Shared")), Matchers.not(Optional.empty()));
+    }
 }
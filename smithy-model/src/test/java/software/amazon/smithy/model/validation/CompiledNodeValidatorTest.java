@@ -0,0 +1,173 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.validation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.validation.node.TimestampValidationStrategy;
+
+public class CompiledNodeValidatorTest {
+    private static Model MODEL;
+
+    @BeforeAll
+    public static void onlyOnce() {
+        MODEL = Model.assembler()
+                .addImport(CompiledNodeValidatorTest.class.getResource("node-validator.json"))
+                .assemble()
+                .unwrap();
+    }
+
+    @AfterAll
+    public static void after() {
+        MODEL = null;
+    }
+
+    public static Stream<Arguments> parityData() {
+        return NodeValidationVisitorTest.data().stream().flatMap(row -> Stream.of(
+                Arguments.of(row[0], row[1], row[2], TimestampValidationStrategy.FORMAT, false),
+                Arguments.of(row[0], row[1], row[2], TimestampValidationStrategy.FORMAT, true),
+                Arguments.of(row[0], row[1], row[2], TimestampValidationStrategy.EPOCH_SECONDS, false),
+                Arguments.of(row[0], row[1], row[2], TimestampValidationStrategy.EPOCH_SECONDS, true)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("parityData")
+    public void emitsSameEventsAsNodeValidationVisitor(
+            String target,
+            String value,
+            String[] errors,
+            TimestampValidationStrategy timestampValidationStrategy,
+            boolean allowBoxedNull
+    ) {
+        Shape shape = MODEL.expectShape(ShapeId.from(target));
+        Node nodeValue = Node.parse(value);
+        List<ValidationEvent> expected = shape.accept(NodeValidationVisitor.builder()
+                .value(nodeValue)
+                .model(MODEL)
+                .eventShapeId(ShapeId.from("smithy.example#Foo"))
+                .startingContext("context")
+                .timestampValidationStrategy(timestampValidationStrategy)
+                .allowBoxedNull(allowBoxedNull)
+                .build());
+        CompiledNodeValidator validator = CompiledNodeValidator.builder()
+                .model(MODEL)
+                .shape(shape)
+                .timestampValidationStrategy(timestampValidationStrategy)
+                .allowBoxedNull(allowBoxedNull)
+                .build();
+        List<ValidationEvent> actual = validator.validate(nodeValue, ShapeId.from("smithy.example#Foo"), "context");
+
+        assertThat(actual, equalTo(expected));
+        // Validating again uses the shapes compiled by the first validation.
+        assertThat(validator.validate(nodeValue, ShapeId.from("smithy.example#Foo"), "context"), equalTo(expected));
+
+        if (timestampValidationStrategy == TimestampValidationStrategy.FORMAT && !allowBoxedNull) {
+            List<String> messages = validator.validate(nodeValue).stream()
+                    .map(ValidationEvent::getMessage)
+                    .collect(Collectors.toList());
+            assertThat(messages, errors == null ? empty() : containsInAnyOrder(errors));
+        }
+    }
+
+    @Test
+    public void validatesValuesFromMultipleThreads() {
+        CompiledNodeValidator validator = CompiledNodeValidator.builder()
+                .model(MODEL)
+                .shape(MODEL.expectShape(ShapeId.from("ns.foo#Structure")))
+                .build();
+        Node value = Node.parse("{\"foo\": \"a\", \"baz\": \"b\"}");
+        List<ValidationEvent> expected = NodeValidationVisitor.builder()
+                .model(MODEL)
+                .value(value)
+                .build()
+                .structureShape(MODEL.expectShape(ShapeId.from("ns.foo#Structure"), StructureShape.class));
+
+        IntStream.range(0, 100).parallel().forEach(i -> {
+            assertThat(validator.validate(value), equalTo(expected));
+        });
+    }
+
+    @Test
+    public void validatesRecursiveShapes() {
+        Model model = Model.assembler()
+                .addUnparsedModel("a.smithy", "namespace smithy.example\n"
+                                              + "structure Node { children: Nodes, @range(max: 10) value: Integer }\n"
+                                              + "list Nodes { member: Node }\n")
+                .assemble()
+                .unwrap();
+        CompiledNodeValidator validator = CompiledNodeValidator.builder()
+                .model(model)
+                .shape(model.expectShape(ShapeId.from("smithy.example#Node")))
+                .startingContext("root")
+                .build();
+        List<ValidationEvent> events = validator.validate(Node.parse(
+                "{\"value\": 1, \"children\": [{\"value\": 2}, {\"children\": [{\"value\": 11}]}]}"));
+
+        assertThat(events, hasSize(1));
+        assertThat(events.get(0).getMessage(), equalTo(
+                "root.children.1.children.0.value: Value provided for `smithy.example#Node$value` must be less "
+                + "than or equal to 10, but found 11"));
+    }
+
+    @Test
+    public void validatesManyValuesWithTheSameValidator() {
+        CompiledNodeValidator validator = CompiledNodeValidator.builder()
+                .model(MODEL)
+                .shape(MODEL.expectShape(ShapeId.from("ns.foo#TimestampList")))
+                .timestampValidationStrategy(TimestampValidationStrategy.EPOCH_SECONDS)
+                .build();
+
+        assertThat(validator.validate(Node.parse("[1234]")), empty());
+        assertThat(validator.validate(Node.parse("[\"foo\"]"), ShapeId.from("smithy.example#A"), "a"), hasSize(1));
+        assertThat(validator.validate(Node.parse("[1, 2]")), empty());
+    }
+
+    @Test
+    public void canConfigureToSupportNull() {
+        CompiledNodeValidator validator = CompiledNodeValidator.builder()
+                .model(MODEL)
+                .shape(MODEL.expectShape(ShapeId.from("smithy.api#String")))
+                .allowBoxedNull(true)
+                .build();
+
+        assertThat(validator.validate(Node.nullNode()), empty());
+        assertThat(validator.validate(Node.from(1)), contains(ValidationEvent.builder()
+                .id(Validator.MODEL_ERROR)
+                .severity(Severity.ERROR)
+                .message("Expected string value for string shape, `smithy.api#String`; found number value, `1`")
+                .build()));
+    }
+}
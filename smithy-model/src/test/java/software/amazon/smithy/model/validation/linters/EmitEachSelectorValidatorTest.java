@@ -1,22 +1,27 @@
 package software.amazon.smithy.model.validation.linters;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.selector.Selector;
+import software.amazon.smithy.model.selector.SelectorBatch;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StringShape;
 import software.amazon.smithy.model.traits.DocumentationTrait;
 import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.utils.ListUtils;
 
 public class EmitEachSelectorValidatorTest {
 
@@ -101,6 +106,28 @@ public class EmitEachSelectorValidatorTest {
         assertThat(validator.validate(model), empty());
     }
 
+    @Test
+    public void createsSameEventsFromBatchedMatches() {
+        EmitEachSelectorValidator.Config config = new EmitEachSelectorValidator.Config();
+        Model model = Model.builder()
+                .addShape(StringShape.builder()
+                                  .id(ShapeId.from("foo.bar#A"))
+                                  .addTrait(new DocumentationTrait("hello"))
+                                  .build())
+                .addShape(StringShape.builder().id(ShapeId.from("foo.bar#B")).build())
+                .build();
+        config.setSelector(Selector.parse("$foo(*)"));
+        config.setMessageTemplate("Var: @{var|foo|id}");
+        EmitEachSelectorValidator validator = new EmitEachSelectorValidator(config);
+        List<Selector.ShapeMatch> matches = new ArrayList<>();
+        SelectorBatch.of(ListUtils.of(validator.getSelector()))
+                .consumeMatches(model, (match, i) -> matches.add(match));
+
+        assertThat(validator.usesVariables(), is(true));
+        assertThat(validator.validateMatches(model, matches), containsInAnyOrder(
+                validator.validate(model).toArray(new ValidationEvent[0])));
+    }
+
     @Test
     public void handlesEscapesAtSymbols() {
         EmitEachSelectorValidator.Config config = new EmitEachSelectorValidator.Config();
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.validation.suppressions;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.traits.SuppressTrait;
+import software.amazon.smithy.model.validation.Severity;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+public class SuppressionIndexTest {
+
+    private static final Model MODEL = Model.builder()
+            .addShape(StringShape.builder()
+                    .id("smithy.example#Suppressed")
+                    .addTrait(SuppressTrait.builder().values(Collections.singletonList("Foo")).build())
+                    .build())
+            .addShape(StringShape.builder().id("smithy.example#Other").build())
+            .build();
+
+    private static ValidationEvent event(String id, String shapeId) {
+        ValidationEvent.Builder builder = ValidationEvent.builder()
+                .id(id)
+                .severity(Severity.WARNING)
+                .message("test");
+        if (shapeId != null) {
+            builder.shapeId(ShapeId.from(shapeId));
+        }
+        return builder.build();
+    }
+
+    private static Suppression metadata(String id, String namespace, String reason) {
+        return Suppression.fromMetadata(Node.objectNode()
+                .withMember("id", id)
+                .withMember("namespace", namespace)
+                .withMember("reason", reason));
+    }
+
+    @Test
+    public void checksTraitSuppressionsFirst() {
+        SuppressionIndex index = new SuppressionIndex(MODEL, Arrays.asList(
+                metadata("Foo", "*", "metadata")));
+
+        assertThat(index.findMatch(event("Foo", "smithy.example#Suppressed")).get().getReason(),
+                   equalTo(Optional.empty()));
+        assertThat(index.findMatch(event("Foo", "smithy.example#Other")).get().getReason(),
+                   equalTo(Optional.of("metadata")));
+    }
+
+    @Test
+    public void findsFirstMatchingSuppression() {
+        Suppression custom = event -> event.getId().equals("Bar");
+        SuppressionIndex index = new SuppressionIndex(MODEL, Arrays.asList(
+                metadata("Foo", "smithy.example", "namespace"),
+                custom,
+                metadata("Foo", "*", "wildcard"),
+                metadata("Bar", "*", "after custom"),
+                metadata("Foo", "smithy.example", "duplicate")));
+
+        assertThat(index.findMatch(event("Foo", "smithy.example#Other")).get().getReason(),
+                   equalTo(Optional.of("namespace")));
+        assertThat(index.findMatch(event("Foo", "other.example#Other")).get().getReason(),
+                   equalTo(Optional.of("wildcard")));
+        assertThat(index.findMatch(event("Bar", "smithy.example#Other")).get(), sameInstance(custom));
+    }
+
+    @Test
+    public void onlyWildcardsMatchEventsWithoutShapes() {
+        SuppressionIndex index = new SuppressionIndex(MODEL, Arrays.asList(
+                metadata("Foo", "smithy.example", "namespace"),
+                metadata("Baz", "*", "wildcard")));
+
+        assertThat(index.findMatch(event("Foo", null)), equalTo(Optional.empty()));
+        assertThat(index.findMatch(event("Baz", null)).get().getReason(), equalTo(Optional.of("wildcard")));
+        assertThat(index.findMatch(event("Qux", "smithy.example#Other")), equalTo(Optional.empty()));
+    }
+}
@@ -19,7 +19,9 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -37,7 +39,7 @@ import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.validation.AbstractValidator;
-import software.amazon.smithy.model.validation.NodeValidationVisitor;
+import software.amazon.smithy.model.validation.CompiledNodeValidator;
 import software.amazon.smithy.model.validation.ValidationEvent;
 import software.amazon.smithy.model.validation.node.TimestampValidationStrategy;
 import software.amazon.smithy.utils.MediaType;
@@ -82,10 +84,12 @@ abstract class ProtocolTestCaseValidator<T extends Trait> extends AbstractValida
     @Override
     public List<ValidationEvent> validate(Model model) {
         OperationIndex operationIndex = OperationIndex.of(model);
+        // Shapes are compiled once since they're often used by many test cases.
+        Map<ShapeId, CompiledNodeValidator> validators = new HashMap<>();
 
         List<ValidationEvent> events = new ArrayList<>();
         for (Shape shape : model.getShapesWithTrait(traitClass)) {
-            events.addAll(validateShape(model, operationIndex, shape, shape.expectTrait(traitClass)));
+            events.addAll(validateShape(model, operationIndex, validators, shape, shape.expectTrait(traitClass)));
         }
 
         return events;
@@ -102,6 +106,7 @@ abstract class ProtocolTestCaseValidator<T extends Trait> extends AbstractValida
     private List<ValidationEvent> validateShape(
             Model model,
             OperationIndex operationIndex,
+            Map<ShapeId, CompiledNodeValidator> validators,
             Shape shape,
             T trait
     ) {
@@ -125,17 +130,16 @@ abstract class ProtocolTestCaseValidator<T extends Trait> extends AbstractValida
                 } else {
                     // Otherwise, validate the params against the shape.
                     Shape vendorParamsShape = model.expectShape(vendorParamsShapeOptional.get());
-                    NodeValidationVisitor vendorParamsValidator = createVisitor(vendorParams, model, shape, i,
-                            ".vendorParams");
-                    events.addAll(vendorParamsShape.accept(vendorParamsValidator));
+                    events.addAll(getValidator(validators, model, vendorParamsShape)
+                            .validate(vendorParams, shape.getId(), traitId + "." + i + ".vendorParams"));
                 }
             }
 
             StructureShape struct = getStructure(shape, operationIndex);
             if (struct != null) {
                 // Validate the params for the test case.
-                NodeValidationVisitor validator = createVisitor(testCase.getParams(), model, shape, i, ".params");
-                events.addAll(struct.accept(validator));
+                events.addAll(getValidator(validators, model, struct)
+                        .validate(testCase.getParams(), shape.getId(), traitId + "." + i + ".params"));
             } else if (!testCase.getParams().isEmpty() && isValidatedBy(shape)) {
                 events.add(error(shape, trait, String.format(
                         "Protocol test %s parameters provided for operation with no %s: `%s`",
@@ -146,22 +150,18 @@ abstract class ProtocolTestCaseValidator<T extends Trait> extends AbstractValida
         return events;
     }
 
-    private NodeValidationVisitor createVisitor(
-            ObjectNode value,
+    private CompiledNodeValidator getValidator(
+            Map<ShapeId, CompiledNodeValidator> validators,
             Model model,
-            Shape shape,
-            int position,
-            String contextSuffix
+            Shape shape
     ) {
-        return NodeValidationVisitor.builder()
+        return validators.computeIfAbsent(shape.getId(), id -> CompiledNodeValidator.builder()
                 .model(model)
-                .eventShapeId(shape.getId())
-                .value(value)
-                .startingContext(traitId + "." + position + contextSuffix)
+                .shape(shape)
                 .eventId(getName())
                 .timestampValidationStrategy(TimestampValidationStrategy.EPOCH_SECONDS)
                 .allowBoxedNull(true)
-                .build();
+                .build());
     }
 
     private List<ValidationEvent> validateMediaType(Shape shape, Trait trait, HttpMessageTestCase test) {